@@ -0,0 +1,34 @@
+package com.peerisland.orderManagement.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Archival of terminal orders to the *_archive tables ({@code orders.archive.*}).
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "orders.archive")
+public class ArchiveProperties {
+
+    /** Cron for the archive job; "-" disables it. Read directly by the @Scheduled annotation. */
+    private String cron = "0 15 3 * * *";
+
+    /** DELIVERED and CANCELLED orders created and last changed longer ago than this are archived. */
+    private Duration minAge = Duration.ofDays(90);
+
+    /** Orders moved per chunk, with their items and history; every chunk runs in its own transaction. */
+    private int chunkSize = 500;
+
+    /** Pause between chunks, so the job never takes more than a slice of the database from API traffic. */
+    private Duration chunkPause = Duration.ofMillis(100);
+
+    /** Upper bound on a single run; the next run continues where it stopped. */
+    private Duration timeBudget = Duration.ofMinutes(30);
+
+    /** Archive lock lease; renewed by a heartbeat, so it only bounds failover time. */
+    private Duration lockLease = Duration.ofSeconds(30);
+}
@@ -0,0 +1,20 @@
+package com.peerisland.orderManagement.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Limits for POST /api/orders/batch ({@code orders.bulk.*}).
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "orders.bulk")
+public class BulkCreateProperties {
+
+    /** Orders inserted per transaction; inserts inside a chunk are JDBC-batched. */
+    private int chunkSize = 500;
+
+    /** Largest batch accepted in one request. */
+    private int maxEntries = 10_000;
+}
@@ -0,0 +1,34 @@
+package com.peerisland.orderManagement.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Optional write-behind pipeline for status history ({@code orders.history.*}).
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "orders.history")
+public class HistoryPipelineProperties {
+
+    /** Write history rows from a background flusher instead of inside the status-change transaction. */
+    private boolean writeBehind = false;
+
+    /** Bounded queue between committed status changes and the flusher; when full, callers wait for the flusher. */
+    private int queueCapacity = 10_000;
+
+    /** Rows per batched insert; a full batch is flushed without waiting for the interval. */
+    private int batchSize = 500;
+
+    /** Longest time a record waits in the queue. */
+    private Duration flushInterval = Duration.ofMillis(200);
+
+    /** Directory of the append-only spill segments replayed on startup. */
+    private String spillDir = "./data/history-spill";
+
+    /** fsync every spill append: survives power loss, at the cost of a disk flush per status change. */
+    private boolean fsync = false;
+}
@@ -0,0 +1,31 @@
+package com.peerisland.orderManagement.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * clientRequestId retention and caching ({@code orders.idempotency.*}).
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "orders.idempotency")
+public class IdempotencyProperties {
+
+    /** How long a key keeps deduplicating retries; it is purged some time after that. */
+    private Duration ttl = Duration.ofHours(24);
+
+    /** Keys kept in memory so a retry is answered without touching the key table. */
+    private long cacheSize = 100_000;
+
+    /** In-memory lifetime of a key; never longer than {@link #ttl}. */
+    private Duration cacheTtl = Duration.ofMinutes(30);
+
+    /** Interval of the expired-key purge. Read directly by the @Scheduled annotation. */
+    private Duration purgeInterval = Duration.ofHours(1);
+
+    /** Keys deleted per purge statement. */
+    private int purgeChunk = 1_000;
+}
@@ -0,0 +1,145 @@
+package com.peerisland.orderManagement.config;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.protobuf.ProtobufFactory;
+import com.fasterxml.jackson.dataformat.protobuf.schema.ProtobufSchema;
+import com.fasterxml.jackson.dataformat.protobuf.schemagen.ProtobufSchemaGenerator;
+import org.springframework.core.GenericTypeResolver;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.lang.Nullable;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Protocol Buffers ({@code application/x-protobuf}) for the API's DTOs, without generated classes: the schema
+ * of each body type is derived from its Jackson properties once and cached. Field numbers follow property
+ * declaration order, so new DTO fields go at the end to stay wire compatible. {@link #schemaSource(Type)}
+ * prints the .proto for clients in other languages.
+ *
+ * A protobuf message cannot be a bare list, so collections travel as {@code ListEnvelope { repeated T items }}.
+ * Maps and untyped bodies have no schema; endpoints returning them answer 406 to protobuf-only clients.
+ */
+public class JacksonProtobufHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+
+    public static final MediaType APPLICATION_PROTOBUF = new MediaType("application", "x-protobuf");
+
+    private final ObjectMapper mapper;
+    private final Map<JavaType, Optional<ProtobufSchema>> schemas = new ConcurrentHashMap<>();
+
+    /**
+     * @param mapper an ObjectMapper built on a {@link ProtobufFactory}
+     */
+    public JacksonProtobufHttpMessageConverter(ObjectMapper mapper) {
+        super(APPLICATION_PROTOBUF);
+        if (!(mapper.getFactory() instanceof ProtobufFactory)) {
+            throw new IllegalArgumentException("ObjectMapper must use a ProtobufFactory");
+        }
+        this.mapper = mapper;
+    }
+
+    /** Lists wrapped for the wire; one schema per element type. */
+    public record ListEnvelope<T>(List<T> items) {}
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return schemaFor(mapper.constructType(clazz)).isPresent();
+    }
+
+    /**
+     * A raw collection class carries no element type; whether a list is writable is decided by
+     * {@link #canWrite(Type, Class, MediaType)} with the full generic type.
+     */
+    @Override
+    public List<MediaType> getSupportedMediaTypes(Class<?> clazz) {
+        return Collection.class.isAssignableFrom(clazz) ? getSupportedMediaTypes() : super.getSupportedMediaTypes(clazz);
+    }
+
+    @Override
+    public boolean canRead(Type type, @Nullable Class<?> contextClass, @Nullable MediaType mediaType) {
+        return canRead(mediaType) && schemaFor(javaType(type, contextClass)).isPresent();
+    }
+
+    @Override
+    public boolean canWrite(@Nullable Type type, Class<?> clazz, @Nullable MediaType mediaType) {
+        return canWrite(mediaType) && schemaFor(javaType(type != null ? type : clazz, null)).isPresent();
+    }
+
+    /**
+     * The .proto text for {@code type}; empty if it has none.
+     */
+    public Optional<String> schemaSource(Type type) {
+        return schemaFor(javaType(type, null)).map(schema -> schema.getSource().toString());
+    }
+
+    @Override
+    public Object read(Type type, @Nullable Class<?> contextClass, HttpInputMessage inputMessage)
+        throws IOException, HttpMessageNotReadableException {
+        return readJavaType(javaType(type, contextClass), inputMessage);
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage)
+        throws IOException, HttpMessageNotReadableException {
+        return readJavaType(mapper.constructType(clazz), inputMessage);
+    }
+
+    private Object readJavaType(JavaType type, HttpInputMessage inputMessage) throws IOException {
+        ProtobufSchema schema = schemaFor(type).orElseThrow(
+            () -> new HttpMessageNotReadableException("No protobuf schema for " + type, inputMessage));
+        try {
+            Object value = mapper.readerFor(wireType(type)).with(schema).readValue(inputMessage.getBody());
+            return type.isCollectionLikeType() ? ((ListEnvelope<?>) value).items() : value;
+        } catch (IOException e) {
+            throw new HttpMessageNotReadableException("Invalid protobuf body: " + e.getMessage(), e, inputMessage);
+        }
+    }
+
+    @Override
+    protected void writeInternal(Object value, @Nullable Type type, HttpOutputMessage outputMessage)
+        throws IOException, HttpMessageNotWritableException {
+        JavaType javaType = javaType(type != null ? type : value.getClass(), null);
+        ProtobufSchema schema = schemaFor(javaType).orElseThrow(
+            () -> new HttpMessageNotWritableException("No protobuf schema for " + javaType));
+        Object wire = javaType.isCollectionLikeType() ? new ListEnvelope<>(List.copyOf((Collection<?>) value)) : value;
+        mapper.writerFor(wireType(javaType)).with(schema).writeValue(outputMessage.getBody(), wire);
+    }
+
+    private Optional<ProtobufSchema> schemaFor(JavaType type) {
+        return schemas.computeIfAbsent(type, t -> {
+            JavaType body = t.isCollectionLikeType() ? t.getContentType() : t;
+            if (body.getRawClass() == Object.class || body.isMapLikeType()) {
+                return Optional.empty();
+            }
+            try {
+                ProtobufSchemaGenerator generator = new ProtobufSchemaGenerator();
+                mapper.acceptJsonFormatVisitor(wireType(t), generator);
+                return Optional.of(generator.getGeneratedSchema());
+            } catch (Exception e) {
+                logger.debug("No protobuf schema for " + t + ": " + e.getMessage());
+                return Optional.empty();
+            }
+        });
+    }
+
+    private JavaType wireType(JavaType type) {
+        return type.isCollectionLikeType()
+            ? mapper.getTypeFactory().constructParametricType(ListEnvelope.class, type.getContentType())
+            : type;
+    }
+
+    private JavaType javaType(Type type, @Nullable Class<?> contextClass) {
+        return mapper.getTypeFactory().constructType(GenericTypeResolver.resolveType(type, contextClass));
+    }
+}
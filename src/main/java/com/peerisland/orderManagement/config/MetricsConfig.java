@@ -0,0 +1,25 @@
+package com.peerisland.orderManagement.config;
+
+import com.peerisland.orderManagement.model.OrderStatus;
+import com.peerisland.orderManagement.repository.OrderRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Gauges read at scrape time. The event-driven meters are recorded through
+ * {@link com.peerisland.orderManagement.service.OrderMetrics}.
+ */
+@Configuration(proxyBeanMethods = false)
+public class MetricsConfig {
+
+    /** One count per scrape, answered from the (status, created_at, id) index. */
+    @Bean
+    MeterBinder pendingBacklogGauge(OrderRepository orderRepository) {
+        return registry -> Gauge.builder("orders.pending", orderRepository, repo -> repo.countByStatus(OrderStatus.PENDING))
+                                .description("Orders waiting for the scheduler")
+                                .baseUnit("orders")
+                                .register(registry);
+    }
+}
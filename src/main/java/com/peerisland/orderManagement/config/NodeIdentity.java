@@ -0,0 +1,32 @@
+package com.peerisland.orderManagement.config;
+
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.util.UUID;
+
+/**
+ * Stable identity of this JVM, used as the lock owner and as the prefix of work-queue claim ids.
+ * Taken from {@code orders.scheduler.node-id} or derived from the host name plus a random suffix.
+ */
+@Component
+public class NodeIdentity {
+
+    private final String id;
+
+    public NodeIdentity(SchedulerProperties properties) {
+        this.id = properties.getNodeId() != null ? properties.getNodeId() : hostName() + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            return "node";
+        }
+    }
+}
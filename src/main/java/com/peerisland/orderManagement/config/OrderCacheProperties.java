@@ -0,0 +1,27 @@
+package com.peerisland.orderManagement.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Sizing for the in-process OrderResponse cache behind GET /api/orders/{id} ({@code orders.cache.*}).
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "orders.cache")
+public class OrderCacheProperties {
+
+    private boolean enabled = true;
+
+    /** Maximum number of cached orders; admission and eviction are frequency-aware (W-TinyLFU). */
+    private long maxSize = 10_000;
+
+    /** Entries are dropped this long after they were loaded, even without a write. */
+    private Duration ttl = Duration.ofMinutes(10);
+
+    /** How often hit/miss/eviction statistics are logged. */
+    private Duration statsLogInterval = Duration.ofMinutes(5);
+}
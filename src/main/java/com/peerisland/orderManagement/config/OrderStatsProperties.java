@@ -0,0 +1,23 @@
+package com.peerisland.orderManagement.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Per-status order totals behind GET /api/orders/stats ({@code orders.stats.*}). The flush runs on its own thread
+ * in OrderStatsService; the reconcile interval is read directly by the @Scheduled annotation.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "orders.stats")
+public class OrderStatsProperties {
+
+    /** How often this node's accumulated changes are written to order_status_stats and other nodes' read back. */
+    private Duration flushInterval = Duration.ofSeconds(1);
+
+    /** How often order_status_stats is recomputed from the orders table to correct any drift. */
+    private Duration reconcileInterval = Duration.ofHours(1);
+}
@@ -0,0 +1,31 @@
+package com.peerisland.orderManagement.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Per-order serialisation and conflict retry of status writes ({@code orders.writes.*}), see OrderWriteGate.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "orders.writes")
+public class OrderWriteProperties {
+
+    /** Lock stripes (rounded up to a power of two); orders on the same stripe are serialised together. */
+    private int stripes = 256;
+
+    /** Longest a write waits for its stripe before it is answered with 409. */
+    private Duration lockTimeout = Duration.ofSeconds(5);
+
+    /** Attempts per write, including the first, when it fails on a concurrent modification. */
+    private int maxAttempts = 3;
+
+    /** Backoff before the first retry; doubles per retry, with full jitter. */
+    private Duration retryBackoff = Duration.ofMillis(10);
+
+    /** Upper bound of the backoff. */
+    private Duration maxBackoff = Duration.ofMillis(200);
+}
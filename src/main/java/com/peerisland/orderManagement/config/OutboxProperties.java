@@ -0,0 +1,52 @@
+package com.peerisland.orderManagement.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Order event outbox relay and its reference sinks ({@code orders.outbox.*}).
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "orders.outbox")
+public class OutboxProperties {
+
+    /** Run the relay on this node; events are still written to the outbox when it is off. */
+    private boolean relayEnabled = true;
+
+    /** How long the relay waits after a short batch before polling the outbox again. */
+    private Duration pollInterval = Duration.ofMillis(200);
+
+    /** Events read, published and checkpointed together. */
+    private int batchSize = 500;
+
+    /** Lease the relaying node holds while it runs; a standby node takes over once it lapses. */
+    private Duration lease = Duration.ofSeconds(30);
+
+    /** How long published events are kept before the purge deletes them. */
+    private Duration retention = Duration.ofDays(7);
+
+    /** Interval of the retention purge (which also logs relay stats). Read directly by the @Scheduled annotation. */
+    private Duration purgeInterval = Duration.ofHours(1);
+
+    /** Events deleted per purge statement. */
+    private int purgeChunk = 1_000;
+
+    private final FileSink fileSink = new FileSink();
+
+    @Getter
+    @Setter
+    public static class FileSink {
+
+        /** Append every published event as one JSON line to {@link #path}. */
+        private boolean enabled = false;
+
+        private String path = "./data/order-events.ndjson";
+
+        /** fsync after every batch. */
+        private boolean fsync = false;
+    }
+}
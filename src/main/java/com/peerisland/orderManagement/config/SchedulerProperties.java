@@ -0,0 +1,51 @@
+package com.peerisland.orderManagement.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Tuning for the PENDING -> PROCESSING background job ({@code orders.scheduler.*}).
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "orders.scheduler")
+public class SchedulerProperties {
+
+    /** Cron for the job; "-" disables it. Read directly by the @Scheduled annotation. */
+    private String cron = "0 */5 * * * *";
+
+    /** Keep processing chunks until the backlog is empty or the time budget runs out. */
+    private boolean drain = true;
+
+    /** Orders moved per chunk; every chunk runs in its own transaction. */
+    private int chunkSize = 200;
+
+    /** Upper bound on a single run. */
+    private Duration timeBudget = Duration.ofMinutes(4);
+
+    /** Scheduler lock lease in LOCK mode; renewed by a heartbeat, so it only bounds failover time. */
+    private Duration lockLease = Duration.ofSeconds(30);
+
+    /** Pause between chunks to leave headroom for API traffic. */
+    private Duration chunkPause = Duration.ZERO;
+
+    /** LOCK: one node drains under the scheduler lock. CLAIM: every node runs workers that claim disjoint chunks. */
+    private Mode mode = Mode.LOCK;
+
+    /** Worker threads per node in CLAIM mode. */
+    private int workers = 4;
+
+    /** How long a claimed chunk stays reserved before other workers may take it over. */
+    private Duration claimTtl = Duration.ofMinutes(2);
+
+    /** Identifies this node in claim ids; defaults to host name plus a random suffix. */
+    private String nodeId;
+
+    public enum Mode {
+        LOCK,
+        CLAIM
+    }
+}
@@ -0,0 +1,34 @@
+package com.peerisland.orderManagement.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Server-Sent Events push for order tracking ({@code orders.tracking.*}).
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "orders.tracking")
+public class TrackingProperties {
+
+    /** Open streams per node; further subscribers get 503 and should fall back to polling. */
+    private int maxSubscribers = 10_000;
+
+    /** A stream is closed after this long; EventSource clients reconnect on their own. */
+    private Duration streamTimeout = Duration.ofMinutes(30);
+
+    /** Comment line sent on idle streams so proxies and load balancers keep them open. */
+    private Duration heartbeatInterval = Duration.ofSeconds(15);
+
+    /** How often the hub reads newly published outbox events while it has subscribers. */
+    private Duration pollInterval = Duration.ofMillis(200);
+
+    /** Threads that write to subscriber connections; the relay and poll threads never block on a client. */
+    private int pushThreads = 4;
+
+    /** Events queued for one subscriber before it is considered too slow and disconnected. */
+    private int maxPendingPerSubscriber = 64;
+}
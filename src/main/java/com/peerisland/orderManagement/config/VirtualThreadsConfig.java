@@ -0,0 +1,59 @@
+package com.peerisland.orderManagement.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+
+/**
+ * Virtual-thread execution mode: the {@code virtual} profile on a Java 21 build ({@code -Pjava21}).
+ *
+ * Boot itself moves Tomcat request handling, {@code @Scheduled} jobs (OrderStatusScheduler) and the MVC async
+ * executor onto virtual threads, and {@link WorkerThreads} does the same for the app's worker pools. What
+ * this adds is the connection limit: the pool is wrapped in a {@link ConcurrencyLimitedDataSource} with one
+ * permit per pooled connection, waiting at most the pool's connection timeout.
+ *
+ * On Java 21 a virtual thread that blocks while holding a monitor ({@code synchronized}) pins its carrier
+ * thread, and once every carrier is pinned the threads holding permits cannot run to release them. Code on
+ * request or worker threads therefore does not wait for the database inside {@code synchronized}:
+ * OrderResponseCache loads outside Caffeine's compute lock, and OrderTrackingHub uses a ReentrantLock.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadsConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadsConfig.class);
+
+    @Bean
+    static BeanPostProcessor connectionPermits() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                // unwrap rather than instanceof: the pool may already be wrapped (tracing, metrics)
+                HikariDataSource pool = bean instanceof DataSource ds ? unwrapPool(ds) : null;
+                if (pool == null) {
+                    return bean;
+                }
+                log.info("Virtual threads: limiting JDBC to {} concurrent connections", pool.getMaximumPoolSize());
+                return new ConcurrencyLimitedDataSource((DataSource) bean, pool.getMaximumPoolSize(),
+                                                        Duration.ofMillis(pool.getConnectionTimeout()));
+            }
+        };
+    }
+
+    private static HikariDataSource unwrapPool(DataSource dataSource) {
+        try {
+            return dataSource.isWrapperFor(HikariDataSource.class) ? dataSource.unwrap(HikariDataSource.class) : null;
+        } catch (SQLException e) {
+            return null;
+        }
+    }
+}
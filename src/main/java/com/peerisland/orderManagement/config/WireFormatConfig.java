@@ -0,0 +1,48 @@
+package com.peerisland.orderManagement.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.protobuf.ProtobufFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Binary encodings next to JSON, chosen per request by content negotiation (Accept / Content-Type):
+ * CBOR ({@code application/cbor}), Smile ({@code application/x-jackson-smile}) and Protocol Buffers
+ * ({@code application/x-protobuf}). All three are built from Boot's Jackson builder, so they serialise the DTOs
+ * exactly like the JSON converter (same modules, ISO-8601 dates, same property names). Boot puts the CBOR and
+ * Smile beans in place of Spring MVC's defaults, after JSON. Protobuf is appended last rather than declared as a
+ * bean, which Boot would put first and so make it the answer to {@code Accept: *}{@code /*}.
+ */
+@Configuration
+public class WireFormatConfig implements WebMvcConfigurer {
+
+    private final ObjectProvider<Jackson2ObjectMapperBuilder> builder;
+
+    public WireFormatConfig(ObjectProvider<Jackson2ObjectMapperBuilder> builder) {
+        this.builder = builder;
+    }
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter() {
+        return new MappingJackson2CborHttpMessageConverter(builder.getObject().factory(new CBORFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter() {
+        return new MappingJackson2SmileHttpMessageConverter(builder.getObject().factory(new SmileFactory()).build());
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(new JacksonProtobufHttpMessageConverter(builder.getObject().factory(new ProtobufFactory()).build()));
+    }
+}
@@ -0,0 +1,40 @@
+package com.peerisland.orderManagement.config;
+
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Threads for the app's own worker pools (claim-mode drain workers, SSE push). Virtual when
+ * {@code spring.threads.virtual.enabled=true} on Java 21+, like Boot's request and scheduler threads;
+ * daemon platform threads otherwise.
+ */
+@Component
+public class WorkerThreads {
+
+    private final boolean virtual;
+
+    public WorkerThreads(Environment environment) {
+        this.virtual = Threading.VIRTUAL.isActive(environment);
+    }
+
+    public boolean isVirtual() {
+        return virtual;
+    }
+
+    public ThreadFactory factory(String namePrefix) {
+        if (virtual) {
+            return new VirtualThreadTaskExecutor(namePrefix).getVirtualThreadFactory();
+        }
+        AtomicInteger index = new AtomicInteger();
+        return r -> {
+            Thread t = new Thread(r, namePrefix + index.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+    }
+}
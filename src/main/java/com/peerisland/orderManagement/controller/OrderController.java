@@ -1,11 +1,24 @@
 package com.peerisland.orderManagement.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.peerisland.orderManagement.dto.BatchCreateResponse;
 import com.peerisland.orderManagement.dto.CreateOrderRequest;
+import com.peerisland.orderManagement.dto.CursorPage;
 import com.peerisland.orderManagement.dto.OrderResponse;
+import com.peerisland.orderManagement.dto.OrderStatsResponse;
 import com.peerisland.orderManagement.dto.OrderStatusHistoryDto;
+import com.peerisland.orderManagement.dto.OrderSummary;
 import com.peerisland.orderManagement.dto.UpdateStatusRequest;
+import com.peerisland.orderManagement.exception.NotFoundException;
+import com.peerisland.orderManagement.exception.PreconditionFailedException;
 import com.peerisland.orderManagement.model.OrderStatus;
+import com.peerisland.orderManagement.service.BulkOrderService;
+import com.peerisland.orderManagement.service.OrderMetrics;
 import com.peerisland.orderManagement.service.OrderService;
+import com.peerisland.orderManagement.service.OrderTrackingHub;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -16,11 +29,25 @@ import jakarta.persistence.EntityNotFoundException;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
+import org.springframework.web.HttpMediaTypeNotSupportedException;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.time.Instant;
+import java.time.OffsetDateTime;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -31,10 +58,21 @@ import java.util.Map;
 public class OrderController {
 
     private static final Logger log = LoggerFactory.getLogger(OrderController.class);
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
     private final OrderService orderService;
+    private final BulkOrderService bulkOrderService;
+    private final OrderTrackingHub trackingHub;
+    private final ObjectMapper objectMapper;
+    private final OrderMetrics metrics;
 
-    public OrderController(OrderService orderService) {
+    public OrderController(OrderService orderService, BulkOrderService bulkOrderService, OrderTrackingHub trackingHub,
+                           ObjectMapper objectMapper, OrderMetrics metrics) {
         this.orderService = orderService;
+        this.bulkOrderService = bulkOrderService;
+        this.trackingHub = trackingHub;
+        this.objectMapper = objectMapper;
+        this.metrics = metrics;
     }
 
     @Operation(summary = "Create a new order",
@@ -52,14 +90,38 @@ public class OrderController {
         return ResponseEntity.ok(resp);
     }
 
-    @Operation(summary = "Get order by ID", description = "Fetch order details using its ID.")
+    @Operation(summary = "Create orders in bulk",
+               description = "Creates many orders in one call. Each entry is validated and de-duplicated by "
+                   + "`clientRequestId` on its own; the response lists CREATED, DUPLICATE or REJECTED per entry.",
+               responses = {
+                   @ApiResponse(responseCode = "200", description = "Batch processed (see per-entry outcomes)",
+                                content = @Content(schema = @Schema(implementation = BatchCreateResponse.class))),
+                   @ApiResponse(responseCode = "400", description = "Batch exceeds the size limit")
+               })
+    @PostMapping("/batch")
+    public ResponseEntity<BatchCreateResponse> createBatch(@RequestBody List<CreateOrderRequest> requests) {
+        log.info("📦 Received bulk create request with {} orders", requests.size());
+        BatchCreateResponse resp = bulkOrderService.createOrders(requests);
+        log.info("✅ Bulk create done: {} created, {} duplicate, {} rejected",
+                 resp.created(), resp.duplicates(), resp.rejected());
+        return ResponseEntity.ok(resp);
+    }
+
+    @Operation(summary = "Get order by ID",
+               description = "Fetch order details using its ID. The ETag is the order version; send it back as "
+                   + "`If-None-Match` to get 304 while the order is unchanged, or as `If-Match` on updates.")
     @GetMapping("/{id}")
     public ResponseEntity<OrderResponse> get(
-        @Parameter(description = "Order ID", example = "101") @PathVariable Long id) {
+        @Parameter(description = "Order ID", example = "101") @PathVariable Long id, WebRequest request) {
         log.info("🔍 Fetching order by ID: {}", id);
-        OrderResponse response = orderService.getById(id);
+        // revalidation only needs the version: no mapping or serialising when it still matches
+        long version = orderService.getVersion(id);
+        if (request.checkNotModified(etag(version))) {
+            return null;
+        }
+        OrderResponse response = orderService.getById(id, version);
         log.info("✅ Found order: ID={}, Status={}", response.getId(), response.getStatus());
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok().eTag(etag(response.getVersion())).body(response);
     }
 
     @Operation(summary = "List all orders",
@@ -75,36 +137,133 @@ public class OrderController {
         return ResponseEntity.ok(responses);
     }
 
+    @Operation(summary = "List orders by cursor",
+               description = "Keyset pagination ordered by creation time. Send an empty `cursor` for the first page, "
+                   + "then the returned `nextCursor` until it is null. Deep pages cost the same as the first.")
+    @GetMapping(params = {"cursor", "!customer"})
+    public ResponseEntity<CursorPage<OrderResponse>> listByCursor(
+        @Parameter(description = "Opaque cursor from the previous page (empty for the first page)") @RequestParam String cursor,
+        @Parameter(description = "Page size, 1 to 200 (optional, default 50)") @RequestParam(required = false) Integer size,
+        @Parameter(description = "Filter by order status (optional)") @RequestParam(required = false) OrderStatus status) {
+        log.info("📜 Listing orders by cursor (size={}, status={})", size, status);
+        CursorPage<OrderResponse> page = orderService.listAfter(cursor, size, status);
+        log.info("✅ Found {} orders, more={}", page.items().size(), page.nextCursor() != null);
+        return ResponseEntity.ok(page);
+    }
+
+    @Operation(summary = "List a customer's orders",
+               description = "Keyset pagination over one customer's orders, oldest first, served from the "
+                   + "(customer_name, created_at, id) index. Rows carry id, status, total and creation time; "
+                   + "`items=true` adds the items. Send the returned `nextCursor` as `cursor` until it is null.")
+    @GetMapping(params = "customer")
+    public ResponseEntity<CursorPage<OrderSummary>> listByCustomer(
+        @Parameter(description = "Exact customer name") @RequestParam String customer,
+        @Parameter(description = "Opaque cursor from the previous page (optional)") @RequestParam(required = false) String cursor,
+        @Parameter(description = "Page size, 1 to 200 (optional, default 50)") @RequestParam(required = false) Integer size,
+        @Parameter(description = "Include the items of each order") @RequestParam(defaultValue = "false") boolean items) {
+        log.info("📜 Listing orders of customer {} (size={}, items={})", customer, size, items);
+        CursorPage<OrderSummary> page = orderService.listByCustomer(customer, cursor, size, items);
+        log.info("✅ Found {} orders, more={}", page.items().size(), page.nextCursor() != null);
+        return ResponseEntity.ok(page);
+    }
+
+    @Operation(summary = "Search orders by SKU",
+               description = "Orders containing any of the given SKUs (repeat `sku` or separate with commas, up to "
+                   + "100), optionally with one status, oldest first and with their items. Paged like the cursor "
+                   + "listing: send the returned `nextCursor` as `cursor` until it is null.")
+    @GetMapping("/search")
+    public ResponseEntity<CursorPage<OrderResponse>> searchBySku(
+        @Parameter(description = "SKU(s) to look for") @RequestParam List<String> sku,
+        @Parameter(description = "Filter by order status (optional)") @RequestParam(required = false) OrderStatus status,
+        @Parameter(description = "Opaque cursor from the previous page (optional)") @RequestParam(required = false) String cursor,
+        @Parameter(description = "Page size, 1 to 200 (optional, default 50)") @RequestParam(required = false) Integer size) {
+        log.info("🔎 Searching orders by sku {} (status={}, size={})", sku, status, size);
+        CursorPage<OrderResponse> page = orderService.searchBySku(sku, status, cursor, size);
+        log.info("✅ Found {} orders, more={}", page.items().size(), page.nextCursor() != null);
+        return ResponseEntity.ok(page);
+    }
+
+    @Operation(summary = "Export orders as NDJSON",
+               description = "Streams every matching order as one JSON object per line. Filters are optional; "
+                   + "`to` is exclusive. Memory use is constant regardless of the number of orders.")
+    @GetMapping(value = "/export", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> export(
+        @Parameter(description = "Filter by order status (optional)") @RequestParam(required = false) OrderStatus status,
+        @Parameter(description = "Created at or after (ISO-8601, optional)")
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime from,
+        @Parameter(description = "Created before (ISO-8601, optional)")
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime to) {
+        log.info("📤 Exporting orders (status={}, from={}, to={})", status, from, to);
+        // let the generator's buffer decide when to flush instead of flushing after every order
+        ObjectWriter writer = objectMapper.writerFor(OrderResponse.class)
+                                          .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator gen = objectMapper.getFactory().createGenerator(out)) {
+                gen.setRootValueSeparator(null); // lines are separated by the explicit '\n' below
+                orderService.exportOrders(status, from, to, order -> {
+                    try {
+                        writer.writeValue(gen, order);
+                        gen.writeRaw('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+        return ResponseEntity.ok().contentType(NDJSON).body(body);
+    }
+
+    @Operation(summary = "Order statistics",
+               description = "Order count and total amount per status, plus overall totals. Served from "
+                   + "incrementally maintained counters: constant cost however many orders there are. Changes made "
+                   + "on other nodes show up within `orders.stats.flush-interval`.")
+    @GetMapping("/stats")
+    public ResponseEntity<OrderStatsResponse> stats() {
+        return ResponseEntity.ok(orderService.getStats());
+    }
+
     @Operation(summary = "Cancel order (DELETE)",
-               description = "Cancels an order — allowed only when status is PENDING.")
+               description = "Cancels an order — allowed only when status is PENDING. With `If-Match`, only if the "
+                   + "order is still at that version (412 otherwise).")
     @DeleteMapping("/{id}")
-    public ResponseEntity<OrderResponse> cancel(@PathVariable Long id) {
+    public ResponseEntity<OrderResponse> cancel(@PathVariable Long id,
+                                                @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         log.info("❌ Cancel order request received for ID: {}", id);
-        OrderResponse response = orderService.cancelOrder(id);
+        OrderResponse response = orderService.cancelOrder(id, expectedVersion(ifMatch));
         log.info("✅ Order {} cancelled successfully", id);
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok().eTag(etag(response.getVersion())).body(response);
     }
 
     @Operation(summary = "Update order status",
-               description = "Updates order status (e.g., from PENDING to SHIPPED). State machine enforced in service.")
+               description = "Updates order status (e.g., from PENDING to SHIPPED). State machine enforced in service. "
+                   + "With `If-Match`, only if the order is still at that version (412 otherwise).")
     @PutMapping("/{id}/status")
     public ResponseEntity<OrderResponse> updateStatus(@PathVariable Long id,
+                                                      @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
                                                       @Valid @RequestBody UpdateStatusRequest req) {
         log.info("🔄 Updating order {} status to {}", id, req.getStatus());
-        OrderResponse response = orderService.updateStatus(id, req.getStatus());
+        OrderResponse response = orderService.updateStatus(id, req.getStatus(), expectedVersion(ifMatch));
         log.info("✅ Order {} status updated to {}", id, response.getStatus());
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok().eTag(etag(response.getVersion())).body(response);
     }
 
     @Operation(summary = "Cancel order (POST alternative)",
                description = "Alternate endpoint for cancelling orders (via POST). Returns structured response for errors.")
     @PostMapping("/{orderId}/cancel")
-    public ResponseEntity<?> cancelOrder(@PathVariable Long orderId) {
+    public ResponseEntity<?> cancelOrder(@PathVariable Long orderId,
+                                         @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         log.info("🚫 Received cancel request (POST) for order {}", orderId);
         try {
-            orderService.cancelOrder(orderId);
+            orderService.cancelOrder(orderId, expectedVersion(ifMatch));
             log.info("✅ Order {} cancelled successfully", orderId);
             return ResponseEntity.ok(Map.of("message", "Order " + orderId + " cancelled successfully"));
+        } catch (PreconditionFailedException e) {
+            log.warn("⚠️ Precondition failed cancelling order {}: {}", orderId, e.getMessage());
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(Map.of("error", e.getMessage()));
+        } catch (ConcurrencyFailureException e) {
+            log.warn("⚠️ Order {} was modified while cancelling: {}", orderId, e.getMessage());
+            metrics.conflict(conflictType(e));
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", "Order was modified concurrently. Please retry."));
         } catch (IllegalStateException e) {
             log.warn("⚠️ Conflict cancelling order {}: {}", orderId, e.getMessage());
             return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", e.getMessage()));
@@ -118,24 +277,160 @@ public class OrderController {
     }
 
     @Operation(summary = "Track order (status + history)",
-               description = "Fetches both current order status and its complete status history.")
+               description = "Fetches both current order status and its complete status history. Supports "
+                   + "`If-None-Match` like GET /{id}.")
     @GetMapping("/{id}/track")
-    public ResponseEntity<Map<String, Object>> track(@PathVariable Long id) {
+    public ResponseEntity<Map<String, Object>> track(@PathVariable Long id, WebRequest request) {
         log.info("📦 Tracking order {}", id);
-        OrderResponse order = orderService.getById(id);
+        long version = orderService.getVersion(id);
+        String etag = historyEtag(id, version);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        OrderResponse order = orderService.getById(id, version);
         List<OrderStatusHistoryDto> history = orderService.getStatusHistory(id);
         Map<String, Object> out = new HashMap<>();
         out.put("order", order);
         out.put("history", history);
-        return ResponseEntity.ok(out);
+        return ResponseEntity.ok().eTag(etag).body(out);
+    }
+
+    @Operation(summary = "Track order as a live stream (SSE)",
+               description = "Server-Sent Events: one `snapshot` event (same body as /track), then a `status` event "
+                   + "per status change. The stream ends after DELIVERED or CANCELLED. 503 when the node is at its "
+                   + "stream limit; fall back to polling /track.")
+    @GetMapping(value = "/{id}/track/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> trackStream(@PathVariable Long id) {
+        log.info("📡 Streaming tracking for order {}", id);
+        try {
+            return trackingHub.subscribe(id)
+                              .map(ResponseEntity::ok)
+                              .orElseGet(() -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build());
+        } catch (NotFoundException e) {
+            // no JSON error body: the client only accepts text/event-stream
+            return ResponseEntity.notFound().build();
+        }
     }
 
     @Operation(summary = "Get order status history",
                description = "Returns only the status history of a given order.")
     @GetMapping("/{id}/history")
-    public ResponseEntity<List<OrderStatusHistoryDto>> history(@PathVariable Long id) {
+    public ResponseEntity<List<OrderStatusHistoryDto>> history(@PathVariable Long id, WebRequest request) {
         log.info("📜 Fetching status history for order {}", id);
-        return ResponseEntity.ok(orderService.getStatusHistory(id));
+        String etag = historyEtag(id, orderService.getVersion(id));
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(etag).body(orderService.getStatusHistory(id));
+    }
+
+    private static String etag(long version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * Version plus number of history rows: with the write-behind history pipeline, rows can land after the
+     * version bump of their status change, and the tag must change when they do. Read before the body, so a
+     * change in between only makes the tag older than the body (the next request revalidates).
+     */
+    private String historyEtag(Long id, long version) {
+        return "\"" + version + "-" + orderService.countStatusHistory(id) + "\"";
+    }
+
+    /**
+     * Version from an If-Match header: null when absent or {@code *} (unconditional). Anything but a single
+     * strong tag of this API cannot match the current version, so it fails the precondition.
+     */
+    private static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.length() > 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+            try {
+                return Long.parseLong(tag.substring(1, tag.length() - 1));
+            } catch (NumberFormatException ignored) {
+                // fall through
+            }
+        }
+        throw new PreconditionFailedException("If-Match must be a single ETag of this order, got: " + ifMatch);
+    }
+
+    private static String conflictType(ConcurrencyFailureException ex) {
+        return ex instanceof ObjectOptimisticLockingFailureException ? "optimistic_lock" : "concurrency";
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Map<String, Object>> handleBadArgument(IllegalArgumentException ex) {
+        log.warn("⚠️ Bad request: {}", ex.getMessage());
+        Map<String, Object> error = new HashMap<>();
+        error.put("error", ex.getClass().getSimpleName());
+        error.put("message", ex.getMessage());
+        error.put("timestamp", Instant.now());
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+    }
+
+    /**
+     * Malformed bodies, such as a price with more than two decimal places.
+     */
+    @ExceptionHandler(HttpMessageNotReadableException.class)
+    public ResponseEntity<Map<String, Object>> handleUnreadable(HttpMessageNotReadableException ex) {
+        log.warn("⚠️ Unreadable request body: {}", ex.getMostSpecificCause().getMessage());
+        Map<String, Object> error = new HashMap<>();
+        error.put("error", ex.getClass().getSimpleName());
+        error.put("message", ex.getMostSpecificCause().getMessage());
+        error.put("timestamp", Instant.now());
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+    }
+
+    /**
+     * No converter writes the response in a type the client accepts, e.g. protobuf for a Map body. A client
+     * error, so no stack trace; no body either, since none could be rendered in an accepted type.
+     */
+    @ExceptionHandler(HttpMediaTypeNotAcceptableException.class)
+    public ResponseEntity<Void> handleNotAcceptable(HttpMediaTypeNotAcceptableException ex) {
+        log.warn("⚠️ Not acceptable: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.NOT_ACCEPTABLE).build();
+    }
+
+    /**
+     * Request body in a content type no converter reads; the supported ones are listed in {@code Accept}.
+     */
+    @ExceptionHandler(HttpMediaTypeNotSupportedException.class)
+    public ResponseEntity<Map<String, Object>> handleUnsupportedMediaType(HttpMediaTypeNotSupportedException ex) {
+        log.warn("⚠️ Unsupported media type: {}", ex.getMessage());
+        Map<String, Object> error = new HashMap<>();
+        error.put("error", ex.getClass().getSimpleName());
+        error.put("message", ex.getMessage());
+        error.put("timestamp", Instant.now());
+        return ResponseEntity.status(HttpStatus.UNSUPPORTED_MEDIA_TYPE)
+                             .header(HttpHeaders.ACCEPT, MediaType.toString(ex.getSupportedMediaTypes()))
+                             .body(error);
+    }
+
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<Map<String, Object>> handlePreconditionFailed(PreconditionFailedException ex) {
+        log.warn("⚠️ Precondition failed: {}", ex.getMessage());
+        Map<String, Object> error = new HashMap<>();
+        error.put("error", ex.getClass().getSimpleName());
+        error.put("message", ex.getMessage());
+        error.put("timestamp", Instant.now());
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(error);
+    }
+
+    /**
+     * The order changed between read and write (e.g. the scheduler moved it): the request is safe to retry
+     * after re-reading. Local, because the catch-all below would otherwise take it over GlobalExceptionHandler's.
+     */
+    @ExceptionHandler(ConcurrencyFailureException.class)
+    public ResponseEntity<Map<String, Object>> handleConflict(ConcurrencyFailureException ex) {
+        log.warn("⚠️ Concurrent modification: {}", ex.getMessage());
+        metrics.conflict(conflictType(ex));
+        Map<String, Object> error = new HashMap<>();
+        error.put("error", ex.getClass().getSimpleName());
+        error.put("message", "Order was modified concurrently. Please retry.");
+        error.put("timestamp", Instant.now());
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
     }
 
     @ExceptionHandler(Exception.class)
@@ -0,0 +1,28 @@
+package com.peerisland.orderManagement.dto;
+
+import java.util.List;
+
+/**
+ * Response of POST /api/orders/batch: totals plus one result per submitted entry.
+ */
+public record BatchCreateResponse(
+    int created,
+    int duplicates,
+    int rejected,
+    List<BatchOrderResult> results
+) {
+
+    public static BatchCreateResponse of(List<BatchOrderResult> results) {
+        int created = 0;
+        int duplicates = 0;
+        int rejected = 0;
+        for (BatchOrderResult r : results) {
+            switch (r.outcome()) {
+                case CREATED -> created++;
+                case DUPLICATE -> duplicates++;
+                case REJECTED -> rejected++;
+            }
+        }
+        return new BatchCreateResponse(created, duplicates, rejected, results);
+    }
+}
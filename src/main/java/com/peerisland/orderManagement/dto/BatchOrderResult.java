@@ -0,0 +1,30 @@
+package com.peerisland.orderManagement.dto;
+
+import java.util.List;
+
+/**
+ * Outcome of one entry of a bulk create, in request order.
+ * {@code orderId} is set for CREATED and DUPLICATE, {@code errors} for REJECTED.
+ */
+public record BatchOrderResult(
+    int index,
+    String clientRequestId,
+    Outcome outcome,
+    Long orderId,
+    List<String> errors
+) {
+
+    public enum Outcome { CREATED, DUPLICATE, REJECTED }
+
+    public static BatchOrderResult created(int index, String clientRequestId, Long orderId) {
+        return new BatchOrderResult(index, clientRequestId, Outcome.CREATED, orderId, List.of());
+    }
+
+    public static BatchOrderResult duplicate(int index, String clientRequestId, Long orderId) {
+        return new BatchOrderResult(index, clientRequestId, Outcome.DUPLICATE, orderId, List.of());
+    }
+
+    public static BatchOrderResult rejected(int index, String clientRequestId, List<String> errors) {
+        return new BatchOrderResult(index, clientRequestId, Outcome.REJECTED, null, errors);
+    }
+}
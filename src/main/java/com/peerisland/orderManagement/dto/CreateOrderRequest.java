@@ -1,8 +1,12 @@
 package com.peerisland.orderManagement.dto;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -39,11 +43,17 @@ public class CreateOrderRequest {
         @NotBlank(message = "name is required")
         private String name;
 
+        @NotNull(message = "quantity is required")
         @Positive(message = "quantity must be > 0")
         private Integer quantity;
 
+        /** Minor units; exact decimal {@code price} in JSON. */
+        @JsonProperty("price")
+        @JsonDeserialize(using = MoneyJson.Deserializer.class)
+        @JsonSerialize(using = MoneyJson.Serializer.class)
+        @NotNull(message = "price is required")
         @Positive(message = "price must be > 0")
-        private Double price;
+        private Long priceMinor;
 
         public String getSku() {
             return sku;
@@ -69,12 +79,12 @@ public class CreateOrderRequest {
             this.quantity = quantity;
         }
 
-        public Double getPrice() {
-            return price;
+        public Long getPriceMinor() {
+            return priceMinor;
         }
 
-        public void setPrice(Double price) {
-            this.price = price;
+        public void setPriceMinor(Long priceMinor) {
+            this.priceMinor = priceMinor;
         }
     }
 
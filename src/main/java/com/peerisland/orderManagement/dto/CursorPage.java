@@ -0,0 +1,12 @@
+package com.peerisland.orderManagement.dto;
+
+import java.util.List;
+
+/**
+ * One page of a keyset listing. {@code nextCursor} is opaque; pass it back as {@code cursor}
+ * to get the following page. It is null on the last page.
+ */
+public record CursorPage<T>(
+    List<T> items,
+    String nextCursor
+) {}
@@ -0,0 +1,76 @@
+package com.peerisland.orderManagement.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.deser.std.StdScalarDeserializer;
+import com.fasterxml.jackson.databind.ser.std.StdScalarSerializer;
+import com.peerisland.orderManagement.model.Money;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+
+/**
+ * Minor-unit amounts on the wire as exact decimals with two places ({@code 1050} is written as {@code 10.50}),
+ * so the API reads like money without going through double. Schema-based formats (protobuf) declare the field
+ * as int64 and carry the minor units as they are.
+ */
+public final class MoneyJson {
+
+    private MoneyJson() {
+    }
+
+    public static class Serializer extends StdScalarSerializer<Long> {
+
+        public Serializer() {
+            super(Long.class);
+        }
+
+        @Override
+        public void serialize(Long minor, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            if (gen.getSchema() != null) {
+                gen.writeNumber(minor);
+            } else {
+                gen.writeNumber(Money.toDecimal(minor));
+            }
+        }
+    }
+
+    /**
+     * Accepts numbers (and numeric strings) with at most two decimal places; anything finer is rejected rather
+     * than rounded.
+     */
+    public static class Deserializer extends StdScalarDeserializer<Long> {
+
+        public Deserializer() {
+            super(Long.class);
+        }
+
+        @Override
+        public Long deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            if (p.getSchema() != null && p.hasToken(JsonToken.VALUE_NUMBER_INT)) {
+                return p.getLongValue();
+            }
+            BigDecimal amount;
+            if (p.hasToken(JsonToken.VALUE_NUMBER_INT) || p.hasToken(JsonToken.VALUE_NUMBER_FLOAT)) {
+                amount = p.getDecimalValue();
+            } else if (p.hasToken(JsonToken.VALUE_STRING)) {
+                try {
+                    amount = new BigDecimal(p.getText().trim());
+                } catch (NumberFormatException e) {
+                    return (Long) ctxt.handleWeirdStringValue(Long.class, p.getText(), "not a decimal amount");
+                }
+            } else {
+                return (Long) ctxt.handleUnexpectedToken(Long.class, p);
+            }
+            try {
+                return Money.toMinor(amount);
+            } catch (ArithmeticException e) {
+                return (Long) ctxt.handleWeirdNumberValue(Long.class, amount,
+                                                          "amounts take at most " + Money.SCALE + " decimal places");
+            }
+        }
+    }
+}
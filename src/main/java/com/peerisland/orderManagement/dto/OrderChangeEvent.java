@@ -0,0 +1,27 @@
+package com.peerisland.orderManagement.dto;
+
+import com.peerisland.orderManagement.model.OrderEventEntity;
+import com.peerisland.orderManagement.model.OrderEventType;
+
+import java.time.Instant;
+
+/**
+ * An order change as delivered to outbox sinks and in-JVM listeners. Delivery is at-least-once:
+ * {@code eventId} is unique per change, so consumers drop events they have already seen. The events of one
+ * order have increasing {@code eventId}s, so a redelivered batch can be put back in order by it.
+ */
+public record OrderChangeEvent(
+    Long eventId,
+    Long orderId,
+    OrderEventType type,
+    String previousStatus,
+    String newStatus,
+    String changedBy,
+    Instant occurredAt
+) {
+
+    public static OrderChangeEvent fromEntity(OrderEventEntity e) {
+        return new OrderChangeEvent(e.getId(), e.getOrderId(), e.getEventType(), e.getPreviousStatus(),
+                                    e.getNewStatus(), e.getChangedBy(), e.getOccurredAt());
+    }
+}
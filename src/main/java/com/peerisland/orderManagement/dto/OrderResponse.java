@@ -1,5 +1,8 @@
 package com.peerisland.orderManagement.dto;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import com.peerisland.orderManagement.model.OrderEntity;
 import com.peerisland.orderManagement.model.OrderItemEntity;
 import com.peerisland.orderManagement.model.OrderStatus;
@@ -19,9 +22,13 @@ public class OrderResponse {
     private String clientRequestId;
     private String customerName;
     private OrderStatus status;
-    private Double totalAmount;
+    @JsonProperty("totalAmount")
+    @JsonSerialize(using = MoneyJson.Serializer.class)
+    @JsonDeserialize(using = MoneyJson.Deserializer.class)
+    private long totalAmountMinor;
     private OffsetDateTime createdAt;
     private OffsetDateTime updatedAt;
+    private Long version;
     private List<Item> items;
 
     @Getter
@@ -31,8 +38,11 @@ public class OrderResponse {
         private Long id;
         private String sku;
         private String name;
-        private Integer quantity;
-        private Double price;
+        private int quantity;
+        @JsonProperty("price")
+        @JsonSerialize(using = MoneyJson.Serializer.class)
+        @JsonDeserialize(using = MoneyJson.Deserializer.class)
+        private long priceMinor;
 
         public Long getId() {
             return id;
@@ -50,11 +60,11 @@ public class OrderResponse {
             this.sku = sku;
         }
 
-        public Integer getQuantity() {
+        public int getQuantity() {
             return quantity;
         }
 
-        public void setQuantity(Integer quantity) {
+        public void setQuantity(int quantity) {
             this.quantity = quantity;
         }
 
@@ -66,12 +76,22 @@ public class OrderResponse {
             this.name = name;
         }
 
-        public Double getPrice() {
-            return price;
+        public long getPriceMinor() {
+            return priceMinor;
         }
 
-        public void setPrice(Double price) {
-            this.price = price;
+        public void setPriceMinor(long priceMinor) {
+            this.priceMinor = priceMinor;
+        }
+
+        public static Item fromEntity(OrderItemEntity it) {
+            Item i = new Item();
+            i.setId(it.getId());
+            i.setSku(it.getSku());
+            i.setName(it.getName());
+            i.setQuantity(it.getQuantity());
+            i.setPriceMinor(it.getPriceMinor());
+            return i;
         }
     }
 
@@ -107,12 +127,12 @@ public class OrderResponse {
         this.status = status;
     }
 
-    public Double getTotalAmount() {
-        return totalAmount;
+    public long getTotalAmountMinor() {
+        return totalAmountMinor;
     }
 
-    public void setTotalAmount(Double totalAmount) {
-        this.totalAmount = totalAmount;
+    public void setTotalAmountMinor(long totalAmountMinor) {
+        this.totalAmountMinor = totalAmountMinor;
     }
 
     public OffsetDateTime getCreatedAt() {
@@ -131,6 +151,14 @@ public class OrderResponse {
         this.updatedAt = updatedAt;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public List<Item> getItems() {
         return items;
     }
@@ -145,18 +173,11 @@ public class OrderResponse {
         r.setClientRequestId(e.getClientRequestId());
         r.setCustomerName(e.getCustomerName());
         r.setStatus(e.getStatus());
-        r.setTotalAmount(e.getTotalAmount());
+        r.setTotalAmountMinor(e.getTotalAmountMinor());
         r.setCreatedAt(e.getCreatedAt());
         r.setUpdatedAt(e.getUpdatedAt());
-        r.setItems(e.getItems().stream().map(it -> {
-            Item i = new Item();
-            i.setId(it.getId());
-            i.setSku(it.getSku());
-            i.setName(it.getName());
-            i.setQuantity(it.getQuantity());
-            i.setPrice(it.getPrice());
-            return i;
-        }).collect(Collectors.toList()));
+        r.setVersion(e.getVersion());
+        r.setItems(e.getItems().stream().map(Item::fromEntity).collect(Collectors.toList()));
         return r;
     }
 }
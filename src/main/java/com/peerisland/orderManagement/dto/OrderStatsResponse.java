@@ -0,0 +1,20 @@
+package com.peerisland.orderManagement.dto;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Order count and total amount per status, plus the overall totals. {@code asOf} is when the persisted totals
+ * were last read; this node's own changes are included immediately, other nodes' after their next flush.
+ */
+public record OrderStatsResponse(
+    Map<String, StatusTotals> byStatus,
+    long totalOrders,
+    BigDecimal totalAmount,
+    Instant asOf,
+    Instant reconciledAt
+) {
+
+    public record StatusTotals(long count, BigDecimal totalAmount) {}
+}
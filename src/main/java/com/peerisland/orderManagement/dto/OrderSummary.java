@@ -0,0 +1,25 @@
+package com.peerisland.orderManagement.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.peerisland.orderManagement.model.OrderStatus;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+/**
+ * One order of a customer listing. {@code items} is only present when the caller asked for them.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record OrderSummary(
+    Long id,
+    OrderStatus status,
+    @JsonProperty("totalAmount")
+    @JsonSerialize(using = MoneyJson.Serializer.class)
+    @JsonDeserialize(using = MoneyJson.Deserializer.class)
+    long totalAmountMinor,
+    OffsetDateTime createdAt,
+    List<OrderResponse.Item> items
+) {}
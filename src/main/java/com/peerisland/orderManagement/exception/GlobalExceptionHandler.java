@@ -1,5 +1,6 @@
 package com.peerisland.orderManagement.exception;
 
+import com.peerisland.orderManagement.service.OrderMetrics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.dao.ConcurrencyFailureException;
@@ -18,6 +19,12 @@ import java.util.stream.Collectors;
 public class GlobalExceptionHandler {
     private static final Logger log = LoggerFactory.getLogger(GlobalExceptionHandler.class);
 
+    private final OrderMetrics metrics;
+
+    public GlobalExceptionHandler(OrderMetrics metrics) {
+        this.metrics = metrics;
+    }
+
     @ExceptionHandler(NotFoundException.class)
     public ResponseEntity<ApiError> handleNotFound(NotFoundException ex, WebRequest req) {
         ApiError err = new ApiError(HttpStatus.NOT_FOUND.value(), "Not Found", ex.getMessage(), req.getDescription(false));
@@ -27,6 +34,7 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
     public ResponseEntity<ApiError> handleOptimisticLock(ObjectOptimisticLockingFailureException ex, WebRequest req) {
         log.warn("Optimistic lock failure: {}", ex.getMessage());
+        metrics.conflict("optimistic_lock");
         ApiError err = new ApiError(HttpStatus.CONFLICT.value(), "Conflict", "Resource was modified concurrently. Please retry.", req.getDescription(false));
         return new ResponseEntity<>(err, HttpStatus.CONFLICT);
     }
@@ -34,6 +42,7 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(ConcurrencyFailureException.class)
     public ResponseEntity<ApiError> handleConcurrencyFailure(ConcurrencyFailureException ex, WebRequest req) {
         log.warn("Concurrency failure: {}", ex.getMessage());
+        metrics.conflict("concurrency");
         ApiError err = new ApiError(HttpStatus.CONFLICT.value(), "Conflict", "Concurrent operation failed. Please retry.", req.getDescription(false));
         return new ResponseEntity<>(err, HttpStatus.CONFLICT);
     }
@@ -0,0 +1,12 @@
+package com.peerisland.orderManagement.exception;
+
+/**
+ * Thrown when a write is fenced off because the caller's lock lease was taken over
+ * (its fencing token is no longer the current one) or has expired.
+ */
+public class LockLostException extends RuntimeException {
+
+    public LockLostException(String message) {
+        super(message);
+    }
+}
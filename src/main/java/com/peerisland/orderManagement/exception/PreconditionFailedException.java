@@ -0,0 +1,11 @@
+package com.peerisland.orderManagement.exception;
+
+/**
+ * Thrown when a conditional write (If-Match) targets a version of the order that is no longer current.
+ */
+public class PreconditionFailedException extends RuntimeException {
+
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,57 @@
+package com.peerisland.orderManagement.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A terminal order moved to orders_archive. Read-only: rows are written by the archive statements in
+ * {@link com.peerisland.orderManagement.repository.OrderArchiveRepository} and never change afterwards.
+ */
+@Entity
+@Immutable
+@Table(name = "orders_archive")
+@Getter
+@NoArgsConstructor
+public class ArchivedOrderEntity {
+
+    @Id
+    private Long id;
+
+    @Column(name = "client_request_id")
+    private String clientRequestId;
+
+    @Column(name = "customer_name", nullable = false)
+    private String customerName;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private OrderStatus status;
+
+    // minor units
+    @Column(name = "total_amount", nullable = false)
+    @Convert(converter = Money.Converter.class)
+    private long totalAmountMinor;
+
+    @Column(name = "created_at")
+    private OffsetDateTime createdAt;
+
+    @Column(name = "updated_at")
+    private OffsetDateTime updatedAt;
+
+    @Column(nullable = false)
+    private Long version;
+
+    @Column(name = "archived_at", nullable = false)
+    private OffsetDateTime archivedAt;
+
+    @OneToMany
+    @JoinColumn(name = "order_id")
+    @OrderBy("id")
+    private List<ArchivedOrderItemEntity> items = new ArrayList<>();
+}
@@ -0,0 +1,35 @@
+package com.peerisland.orderManagement.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+/**
+ * An item of an {@link ArchivedOrderEntity} (order_items_archive).
+ */
+@Entity
+@Immutable
+@Table(name = "order_items_archive")
+@Getter
+@NoArgsConstructor
+public class ArchivedOrderItemEntity {
+
+    @Id
+    private Long id;
+
+    @Column(name = "order_id", nullable = false)
+    private Long orderId;
+
+    private String sku;
+
+    private String name;
+
+    @Column(nullable = false)
+    private int quantity;
+
+    // minor units
+    @Column(name = "price", nullable = false)
+    @Convert(converter = Money.Converter.class)
+    private long priceMinor;
+}
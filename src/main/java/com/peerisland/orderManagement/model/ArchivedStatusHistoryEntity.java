@@ -0,0 +1,37 @@
+package com.peerisland.orderManagement.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.time.OffsetDateTime;
+
+/**
+ * A status history row of an archived order (order_status_history_archive).
+ */
+@Entity
+@Immutable
+@Table(name = "order_status_history_archive")
+@Getter
+@NoArgsConstructor
+public class ArchivedStatusHistoryEntity {
+
+    @Id
+    private Long id;
+
+    @Column(name = "order_id", nullable = false)
+    private Long orderId;
+
+    @Column(name = "previous_status")
+    private String previousStatus;
+
+    @Column(name = "new_status", nullable = false)
+    private String newStatus;
+
+    @Column(name = "changed_by")
+    private String changedBy;
+
+    @Column(name = "changed_at", nullable = false)
+    private OffsetDateTime changedAt;
+}
@@ -0,0 +1,46 @@
+package com.peerisland.orderManagement.model;
+
+import jakarta.persistence.AttributeConverter;
+
+import java.math.BigDecimal;
+
+/**
+ * Amounts are carried as {@code long} minor units (cents): exact, and summed without boxing. The database keeps
+ * DECIMAL(10,2) columns, so SQL aggregates over them are exact too.
+ */
+public final class Money {
+
+    /** Decimal places of a minor unit. */
+    public static final int SCALE = 2;
+
+    private Money() {
+    }
+
+    public static BigDecimal toDecimal(long minor) {
+        return BigDecimal.valueOf(minor, SCALE);
+    }
+
+    /**
+     * @throws ArithmeticException if {@code amount} has more than two decimal places or does not fit a long
+     */
+    public static long toMinor(BigDecimal amount) {
+        return amount.movePointRight(SCALE).longValueExact();
+    }
+
+    /**
+     * Maps a minor-unit attribute to its DECIMAL(10,2) column.
+     */
+    @jakarta.persistence.Converter
+    public static class Converter implements AttributeConverter<Long, BigDecimal> {
+
+        @Override
+        public BigDecimal convertToDatabaseColumn(Long minor) {
+            return minor == null ? null : toDecimal(minor);
+        }
+
+        @Override
+        public Long convertToEntityAttribute(BigDecimal amount) {
+            return amount == null ? null : toMinor(amount);
+        }
+    }
+}
@@ -2,6 +2,8 @@ package com.peerisland.orderManagement.model;
 
 import jakarta.persistence.*;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.BatchSize;
+import java.time.LocalDateTime;
 import java.time.OffsetDateTime;
 import java.util.ArrayList;
 import java.util.List;
@@ -9,18 +11,21 @@ import java.util.List;
 
 @Entity
 @Table(name = "orders", indexes = {
-    @Index(name = "idx_orders_status_created", columnList = "status, created_at"),
-    @Index(name = "idx_orders_client_request_id", columnList = "client_request_id")
+    @Index(name = "idx_orders_status_created", columnList = "status, created_at, id"),
+    @Index(name = "idx_orders_created_id", columnList = "created_at, id"),
+    @Index(name = "idx_orders_client_request_id", columnList = "client_request_id"),
+    @Index(name = "idx_orders_customer_created", columnList = "customer_name, created_at, id, status, total_amount")
 })
 @NoArgsConstructor
 public class OrderEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "orders_seq")
+    @SequenceGenerator(name = "orders_seq", sequenceName = "orders_seq", allocationSize = 50)
     private Long id;
 
-    /** Optional idempotency key from client */
-    @Column(name = "client_request_id", unique = true)
+    /** Optional idempotency key from client; uniqueness is enforced by the idempotency_keys table */
+    @Column(name = "client_request_id")
     private String clientRequestId;
 
     @Column(name = "customer_name", nullable = false)
@@ -30,34 +35,62 @@ public class OrderEntity {
     @Column(nullable = false)
     private OrderStatus status = OrderStatus.PENDING;
 
+    // minor units; kept equal to the sum of the items by addItem
     @Column(name = "total_amount", nullable = false)
-    private Double totalAmount = 0.0;
+    @Convert(converter = Money.Converter.class)
+    private long totalAmountMinor;
 
     @Column(name = "created_at", nullable = false)
     private OffsetDateTime createdAt = OffsetDateTime.now();
 
+    // set once when the order is built (not per added item); changes touch it
     @Column(name = "updated_at", nullable = false)
-    private OffsetDateTime updatedAt = OffsetDateTime.now();
+    private OffsetDateTime updatedAt = createdAt;
 
+    // Work-queue claim (CLAIM mode), stamped and completed by native statements in OrderRepository
+    @Column(name = "claimed_by")
+    private String claimedBy;
 
+    @Column(name = "claim_expires_at")
+    private LocalDateTime claimExpiresAt;
 
+    // Null until persisted, so Spring Data still treats new orders as new (persist, not merge)
+    @Version
+    private Long version;
+
+
+
+    // Touching one order's items loads the items of every order in the page (up to 500) in one statement
     @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, orphanRemoval = true)
+    @BatchSize(size = 500)
     private List<OrderItemEntity> items = new ArrayList<>();
 
     public void addItem(OrderItemEntity item) {
         item.setOrder(this);
         this.items.add(item);
-        recalcTotal();
+        this.totalAmountMinor = Math.addExact(totalAmountMinor, item.lineTotalMinor());
     }
 
+    /**
+     * Recomputes the total from the items, for when they were changed other than through {@link #addItem}.
+     */
     public void recalcTotal() {
-        this.totalAmount = items.stream()
-                                .mapToDouble(it -> (it.getPrice() == null ? 0.0 : it.getPrice())
-                                    * (it.getQuantity() == null ? 0 : it.getQuantity()))
-                                .sum();
+        long total = 0;
+        for (OrderItemEntity item : items) {
+            total = Math.addExact(total, item.lineTotalMinor());
+        }
+        this.totalAmountMinor = total;
         touchUpdatedAt();
     }
 
+    /**
+     * Drops a work-queue claim, for status changes: only PENDING orders can be claimed.
+     */
+    public void releaseClaim() {
+        this.claimedBy = null;
+        this.claimExpiresAt = null;
+    }
+
     public void touchUpdatedAt() {
         this.updatedAt = OffsetDateTime.now();
     }
@@ -94,12 +127,12 @@ public class OrderEntity {
         this.status = status;
     }
 
-    public Double getTotalAmount() {
-        return totalAmount;
+    public long getTotalAmountMinor() {
+        return totalAmountMinor;
     }
 
-    public void setTotalAmount(Double totalAmount) {
-        this.totalAmount = totalAmount;
+    public void setTotalAmountMinor(long totalAmountMinor) {
+        this.totalAmountMinor = totalAmountMinor;
     }
 
     public OffsetDateTime getCreatedAt() {
@@ -120,6 +153,10 @@ public class OrderEntity {
 
 
 
+    public Long getVersion() {
+        return version;
+    }
+
     public List<OrderItemEntity> getItems() {
         return items;
     }
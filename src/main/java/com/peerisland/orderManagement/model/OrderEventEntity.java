@@ -0,0 +1,58 @@
+package com.peerisland.orderManagement.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * Outbox row for one order change, written in the transaction that made the change and stamped
+ * with publishedAt once the relay has handed it to every sink.
+ */
+@Entity
+@Table(name = "order_events")
+@Getter
+@Setter
+@NoArgsConstructor
+public class OrderEventEntity {
+
+    // one value per event rather than a pooled block per node, so ids follow write order (V17)
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_events_seq")
+    @SequenceGenerator(name = "order_events_seq", sequenceName = "order_events_seq", allocationSize = 1)
+    private Long id;
+
+    @Column(name = "order_id", nullable = false)
+    private Long orderId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", nullable = false, length = 32)
+    private OrderEventType eventType;
+
+    @Column(name = "previous_status")
+    private String previousStatus;
+
+    @Column(name = "new_status", nullable = false)
+    private String newStatus;
+
+    @Column(name = "changed_by")
+    private String changedBy;
+
+    @Column(name = "occurred_at", nullable = false)
+    private Instant occurredAt;
+
+    @Column(name = "published_at")
+    private Instant publishedAt;
+
+    public OrderEventEntity(Long orderId, OrderEventType eventType, String previousStatus, String newStatus,
+                            String changedBy) {
+        this.orderId = orderId;
+        this.eventType = eventType;
+        this.previousStatus = previousStatus;
+        this.newStatus = newStatus;
+        this.changedBy = changedBy;
+        this.occurredAt = Instant.now();
+    }
+}
@@ -0,0 +1,6 @@
+package com.peerisland.orderManagement.model;
+
+public enum OrderEventType {
+    ORDER_CREATED,
+    STATUS_CHANGED
+}
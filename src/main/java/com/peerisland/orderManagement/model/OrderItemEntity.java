@@ -7,7 +7,8 @@ import lombok.Setter;
 
 @Entity
 @Table(name = "order_items", indexes = {
-    @Index(name = "idx_order_items_order_id", columnList = "order_id")
+    @Index(name = "idx_order_items_order_id", columnList = "order_id"),
+    @Index(name = "idx_order_items_sku_order", columnList = "sku, order_id")
 })
 @Getter
 @Setter
@@ -15,7 +16,8 @@ import lombok.Setter;
 public class OrderItemEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_items_seq")
+    @SequenceGenerator(name = "order_items_seq", sequenceName = "order_items_seq", allocationSize = 50)
     private Long id;
 
     private String sku;
@@ -24,10 +26,12 @@ public class OrderItemEntity {
     private String name;
 
     @Column(nullable = false)
-    private Integer quantity;
+    private int quantity;
 
-    @Column(nullable = false)
-    private Double price;
+    // minor units
+    @Column(name = "price", nullable = false)
+    @Convert(converter = Money.Converter.class)
+    private long priceMinor;
 
     public Long getId() {
         return id;
@@ -53,20 +57,25 @@ public class OrderItemEntity {
         this.name = name;
     }
 
-    public Integer getQuantity() {
+    public int getQuantity() {
         return quantity;
     }
 
-    public void setQuantity(Integer quantity) {
+    public void setQuantity(int quantity) {
         this.quantity = quantity;
     }
 
-    public Double getPrice() {
-        return price;
+    public long getPriceMinor() {
+        return priceMinor;
+    }
+
+    public void setPriceMinor(long priceMinor) {
+        this.priceMinor = priceMinor;
     }
 
-    public void setPrice(Double price) {
-        this.price = price;
+    /** Price times quantity, in minor units. */
+    public long lineTotalMinor() {
+        return Math.multiplyExact(priceMinor, quantity);
     }
 
     public OrderEntity getOrder() {
@@ -16,7 +16,8 @@ import java.time.OffsetDateTime;
 public class OrderStatusHistoryEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_status_history_seq")
+    @SequenceGenerator(name = "order_status_history_seq", sequenceName = "order_status_history_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "order_id", insertable = false, updatable = false)
@@ -0,0 +1,32 @@
+package com.peerisland.orderManagement.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Persisted per-status totals (order_status_stats). Written only by set-based delta and reconcile statements.
+ */
+@Entity
+@Table(name = "order_status_stats")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderStatusStats {
+
+    @Id
+    @Column(name = "status", nullable = false, updatable = false)
+    private String status;
+
+    @Column(name = "order_count", nullable = false)
+    private long orderCount;
+
+    @Column(name = "total_amount", nullable = false)
+    private BigDecimal totalAmount;
+
+    @Column(name = "reconciled_at")
+    private Instant reconciledAt;
+}
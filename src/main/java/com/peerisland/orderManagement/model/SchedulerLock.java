@@ -24,6 +24,12 @@ public class SchedulerLock {
     @Column(name = "expires_at", nullable = false)
     private Instant expiresAt;
 
+    @Column(name = "owner")
+    private String owner;
+
+    @Column(name = "fencing_token", nullable = false)
+    private long fencingToken;
+
     public boolean isExpired() {
         return Instant.now().isAfter(expiresAt);
     }
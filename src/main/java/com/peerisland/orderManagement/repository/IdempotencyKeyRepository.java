@@ -0,0 +1,50 @@
+package com.peerisland.orderManagement.repository;
+
+import com.peerisland.orderManagement.model.IdempotencyKey;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface IdempotencyKeyRepository extends JpaRepository<IdempotencyKey, String> {
+
+    // Insert-first claim of a key inside the create transaction; a second claim fails on the primary key.
+    @Modifying
+    @Query(value = "insert into idempotency_keys (idempotency_key, order_id, created_at, expires_at) "
+        + "values (:key, :orderId, :now, :expiresAt)", nativeQuery = true)
+    int insertKey(@Param("key") String key,
+                  @Param("orderId") Long orderId,
+                  @Param("now") Instant now,
+                  @Param("expiresAt") Instant expiresAt);
+
+    // Set-based claim for a chunk of bulk-created orders: one INSERT ... SELECT over their keys (blank is no key).
+    @Modifying
+    @Query(value = "insert into idempotency_keys (idempotency_key, order_id, created_at, expires_at) "
+        + "select client_request_id, id, :now, :expiresAt from orders "
+        + "where id in :orderIds and client_request_id is not null and trim(client_request_id) <> ''",
+        nativeQuery = true)
+    int insertKeysForOrders(@Param("orderIds") Collection<Long> orderIds,
+                            @Param("now") Instant now,
+                            @Param("expiresAt") Instant expiresAt);
+
+    @Query("select k.orderId from IdempotencyKey k where k.key = :key")
+    Optional<Long> findOrderId(@Param("key") String key);
+
+    @Query("select k from IdempotencyKey k where k.key in :keys")
+    List<IdempotencyKey> findByKeyIn(@Param("keys") Collection<String> keys);
+
+    // TTL purge, a bounded chunk per statement so the job never holds long locks.
+    @Transactional
+    @Modifying
+    @Query(value = "delete from idempotency_keys where idempotency_key in (select k.idempotency_key "
+        + "from idempotency_keys k where k.expires_at < :now fetch first :limit rows only)", nativeQuery = true)
+    int deleteExpired(@Param("now") Instant now, @Param("limit") int limit);
+}
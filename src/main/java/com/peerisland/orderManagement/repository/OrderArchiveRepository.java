@@ -0,0 +1,75 @@
+package com.peerisland.orderManagement.repository;
+
+import com.peerisland.orderManagement.model.ArchivedOrderEntity;
+import com.peerisland.orderManagement.model.ArchivedStatusHistoryEntity;
+import com.peerisland.orderManagement.model.OrderStatus;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Reads of archived orders, and the set-based statements that move a chunk of terminal orders from the hot
+ * tables into the archive. No save/delete: archive rows are only written by the moves below.
+ */
+public interface OrderArchiveRepository extends Repository<ArchivedOrderEntity, Long> {
+
+    Optional<ArchivedOrderEntity> findById(Long id);
+
+    @Query("select o.version from ArchivedOrderEntity o where o.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    @Query("select o.status from ArchivedOrderEntity o where o.id = :id")
+    Optional<OrderStatus> findStatusById(@Param("id") Long id);
+
+    @Query("select h from ArchivedStatusHistoryEntity h where h.orderId = :orderId order by h.changedAt asc")
+    List<ArchivedStatusHistoryEntity> findHistory(@Param("orderId") Long orderId);
+
+    @Query("select count(h) from ArchivedStatusHistoryEntity h where h.orderId = :orderId")
+    long countHistory(@Param("orderId") Long orderId);
+
+    // Oldest terminal orders created and last changed before the cutoff. created_at bounds the range scan on
+    // idx_orders_status_created; updated_at keeps recently finished orders hot. Locked, so the copies and
+    // deletes that follow see exactly this set.
+    @Query(value = "select id from orders where status in ('DELIVERED', 'CANCELLED') "
+        + "and created_at < :cutoff and updated_at < :cutoff "
+        + "order by created_at, id fetch first :limit rows only for update", nativeQuery = true)
+    List<Long> lockArchivable(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
+
+    @Modifying
+    @Query(value = "insert into orders_archive (id, client_request_id, customer_name, status, total_amount, "
+        + "created_at, updated_at, version, archived_at) "
+        + "select id, client_request_id, customer_name, status, total_amount, created_at, updated_at, version, :now "
+        + "from orders where id in (:ids)", nativeQuery = true)
+    int copyOrders(@Param("ids") List<Long> ids, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query(value = "insert into order_items_archive (id, order_id, sku, name, quantity, price) "
+        + "select id, order_id, sku, name, quantity, price from order_items where order_id in (:ids)",
+        nativeQuery = true)
+    int copyItems(@Param("ids") List<Long> ids);
+
+    @Modifying
+    @Query(value = "insert into order_status_history_archive (id, order_id, previous_status, new_status, changed_by, "
+        + "changed_at, record_id) "
+        + "select id, order_id, previous_status, new_status, changed_by, changed_at, record_id "
+        + "from order_status_history where order_id in (:ids)", nativeQuery = true)
+    int copyHistory(@Param("ids") List<Long> ids);
+
+    // Children first: order_items and order_status_history reference orders.
+    @Modifying
+    @Query(value = "delete from order_status_history where order_id in (:ids)", nativeQuery = true)
+    int deleteHistory(@Param("ids") List<Long> ids);
+
+    @Modifying
+    @Query(value = "delete from order_items where order_id in (:ids)", nativeQuery = true)
+    int deleteItems(@Param("ids") List<Long> ids);
+
+    @Modifying
+    @Query(value = "delete from orders where id in (:ids)", nativeQuery = true)
+    int deleteOrders(@Param("ids") List<Long> ids);
+}
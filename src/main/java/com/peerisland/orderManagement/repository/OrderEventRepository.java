@@ -0,0 +1,82 @@
+package com.peerisland.orderManagement.repository;
+
+import com.peerisland.orderManagement.model.OrderEventEntity;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface OrderEventRepository extends JpaRepository<OrderEventEntity, Long> {
+
+    // Next relay batch, oldest first; served by idx_order_events_published (published_at, id).
+    @Query("select e from OrderEventEntity e where e.publishedAt is null order by e.id")
+    List<OrderEventEntity> findUnpublished(Limit limit);
+
+    boolean existsByPublishedAtIsNull();
+
+    long countByPublishedAtIsNull();
+
+    @Query("select min(e.occurredAt) from OrderEventEntity e where e.publishedAt is null")
+    Optional<Instant> findOldestUnpublishedOccurredAt();
+
+    @Query("select max(e.publishedAt) from OrderEventEntity e")
+    Optional<Instant> findLastPublishedAt();
+
+    // Events published after position (:since, :afterId), in publish order; how every node follows what the
+    // relay published. Keyset on both columns, so a page boundary inside one stamp does not repeat or lose rows.
+    @Query("select e from OrderEventEntity e where e.publishedAt > :since "
+        + "or (e.publishedAt = :since and e.id > :afterId) order by e.publishedAt, e.id")
+    List<OrderEventEntity> findPublishedAfter(@Param("since") Instant since, @Param("afterId") long afterId, Limit limit);
+
+    // Checkpoint of a published batch; the guard keeps a second relay from re-stamping rows.
+    @Modifying
+    @Query("update OrderEventEntity e set e.publishedAt = :publishedAt where e.id in :ids and e.publishedAt is null")
+    int markPublished(@Param("ids") Collection<Long> ids, @Param("publishedAt") Instant publishedAt);
+
+    // One event per order of a batch transition, written by INSERT ... SELECT before the status flip.
+    @Modifying
+    @Query(value = "insert into order_events (order_id, event_type, previous_status, new_status, changed_by, occurred_at) "
+        + "select o.id, 'STATUS_CHANGED', o.status, :next, :changedBy, :occurredAt from orders o "
+        + "where o.id in (:ids) and o.status = :previous", nativeQuery = true)
+    int insertTransitionEvents(@Param("ids") List<Long> ids,
+                               @Param("previous") String previous,
+                               @Param("next") String next,
+                               @Param("changedBy") String changedBy,
+                               @Param("occurredAt") Instant occurredAt);
+
+    // Same as above for a work-queue claim: rows still held by the claim and in the previous status.
+    @Modifying
+    @Query(value = "insert into order_events (order_id, event_type, previous_status, new_status, changed_by, occurred_at) "
+        + "select o.id, 'STATUS_CHANGED', o.status, :next, :changedBy, :occurredAt from orders o "
+        + "where o.claimed_by = :claimId and o.status = :previous", nativeQuery = true)
+    int insertClaimEvents(@Param("claimId") String claimId,
+                          @Param("previous") String previous,
+                          @Param("next") String next,
+                          @Param("changedBy") String changedBy,
+                          @Param("occurredAt") Instant occurredAt);
+
+    // Creation events for a chunk of bulk-created orders.
+    @Modifying
+    @Query(value = "insert into order_events (order_id, event_type, previous_status, new_status, changed_by, occurred_at) "
+        + "select o.id, 'ORDER_CREATED', null, o.status, :changedBy, :occurredAt from orders o "
+        + "where o.id in (:ids)", nativeQuery = true)
+    int insertCreatedEvents(@Param("ids") Collection<Long> ids,
+                            @Param("changedBy") String changedBy,
+                            @Param("occurredAt") Instant occurredAt);
+
+    // Retention purge of published events, a bounded chunk per statement.
+    @Transactional
+    @Modifying
+    @Query(value = "delete from order_events where id in (select e.id from order_events e "
+        + "where e.published_at < :cutoff fetch first :limit rows only)", nativeQuery = true)
+    int deletePublishedBefore(@Param("cutoff") Instant cutoff, @Param("limit") int limit);
+}
@@ -0,0 +1,13 @@
+package com.peerisland.orderManagement.repository;
+
+/**
+ * Id and total of an order moved by a set-based transition, so the status totals can follow the chunk
+ * without another query.
+ */
+public interface OrderIdAmount {
+
+    Long getId();
+
+    /** Minor units. */
+    long getTotalAmountMinor();
+}
@@ -2,7 +2,14 @@ package com.peerisland.orderManagement.repository;
 
 import com.peerisland.orderManagement.model.OrderItemEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
 
 public interface OrderItemRepository extends JpaRepository<OrderItemEntity, Long> {
-    // kept simple — usually not required directly, but available for ad-hoc queries
+    // Items of a page of orders in one statement (idx_order_items_order_id), for listings that skip the entities
+    @Query("select i from OrderItemEntity i where i.order.id in :orderIds order by i.order.id, i.id")
+    List<OrderItemEntity> findByOrderIds(@Param("orderIds") Collection<Long> orderIds);
 }
@@ -2,22 +2,162 @@ package com.peerisland.orderManagement.repository;
 
 import com.peerisland.orderManagement.model.OrderEntity;
 import com.peerisland.orderManagement.model.OrderStatus;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Pageable;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface OrderRepository extends JpaRepository<OrderEntity, Long> {
 
+    // Rows per JDBC round trip when streaming the export
+    int EXPORT_FETCH_SIZE = 500;
+
     // Standard find by status with pagination (used for list APIs)
     List<OrderEntity> findByStatus(OrderStatus status, Pageable pageable);
 
-    // Light-weight query: only select IDs of oldest PENDING orders — used by scheduler to fetch batches.
-    @Query("select o.id from OrderEntity o where o.status = :status order by o.createdAt asc")
-    List<Long> findPendingOrderIds(@Param("status") OrderStatus status, Pageable pageable);
+    // Keyset listing: seek past the (createdAt, id) of the last row seen instead of skipping offset rows.
+    // The redundant createdAt >= bound gives the database a range start on the index.
+    @Query("select o from OrderEntity o order by o.createdAt asc, o.id asc")
+    List<OrderEntity> findFirstKeysetPage(Limit limit);
+
+    @Query("select o from OrderEntity o where o.createdAt >= :createdAt "
+        + "and (o.createdAt > :createdAt or o.id > :id) order by o.createdAt asc, o.id asc")
+    List<OrderEntity> findKeysetPageAfter(@Param("createdAt") OffsetDateTime createdAt,
+                                          @Param("id") Long id,
+                                          Limit limit);
+
+    @Query("select o from OrderEntity o where o.status = :status order by o.createdAt asc, o.id asc")
+    List<OrderEntity> findFirstKeysetPageByStatus(@Param("status") OrderStatus status, Limit limit);
+
+    @Query("select o from OrderEntity o where o.status = :status and o.createdAt >= :createdAt "
+        + "and (o.createdAt > :createdAt or o.id > :id) order by o.createdAt asc, o.id asc")
+    List<OrderEntity> findKeysetPageByStatusAfter(@Param("status") OrderStatus status,
+                                                  @Param("createdAt") OffsetDateTime createdAt,
+                                                  @Param("id") Long id,
+                                                  Limit limit);
+
+    // Customer listing: same keyset seek, on idx_orders_customer_created. Only columns held by the index are
+    // selected, so neither the orders rows nor order_items are read.
+    @Query("select o.id as id, o.status as status, o.totalAmountMinor as totalAmountMinor, o.createdAt as createdAt "
+        + "from OrderEntity o where o.customerName = :customer order by o.createdAt asc, o.id asc")
+    List<OrderSummaryRow> findFirstCustomerPage(@Param("customer") String customer, Limit limit);
+
+    @Query("select o.id as id, o.status as status, o.totalAmountMinor as totalAmountMinor, o.createdAt as createdAt "
+        + "from OrderEntity o where o.customerName = :customer and o.createdAt >= :createdAt "
+        + "and (o.createdAt > :createdAt or o.id > :id) order by o.createdAt asc, o.id asc")
+    List<OrderSummaryRow> findCustomerPageAfter(@Param("customer") String customer,
+                                                @Param("createdAt") OffsetDateTime createdAt,
+                                                @Param("id") Long id,
+                                                Limit limit);
+
+    // SKU search: the items matching any of the SKUs are found on idx_order_items_sku_order, their orders joined by
+    // primary key. Same (createdAt, id) keyset as the listings; items are batch-fetched by the caller's mapping.
+    @Query("select distinct o from OrderItemEntity i join i.order o where i.sku in :skus "
+        + "and (:status is null or o.status = :status) order by o.createdAt asc, o.id asc")
+    List<OrderEntity> findFirstSkuPage(@Param("skus") Collection<String> skus,
+                                       @Param("status") OrderStatus status,
+                                       Limit limit);
+
+    @Query("select distinct o from OrderItemEntity i join i.order o where i.sku in :skus "
+        + "and (:status is null or o.status = :status) and o.createdAt >= :createdAt "
+        + "and (o.createdAt > :createdAt or o.id > :id) order by o.createdAt asc, o.id asc")
+    List<OrderEntity> findSkuPageAfter(@Param("skus") Collection<String> skus,
+                                       @Param("status") OrderStatus status,
+                                       @Param("createdAt") OffsetDateTime createdAt,
+                                       @Param("id") Long id,
+                                       Limit limit);
+
+    // Export: rows are streamed from an open cursor (fetched EXPORT_FETCH_SIZE at a time), never materialised
+    // as a list. Read-only so Hibernate keeps no snapshots; the caller clears the session as it goes.
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("select o from OrderEntity o where (:status is null or o.status = :status) "
+        + "and (:from is null or o.createdAt >= :from) and (:to is null or o.createdAt < :to) "
+        + "order by o.createdAt asc, o.id asc")
+    Stream<OrderEntity> streamForExport(@Param("status") OrderStatus status,
+                                        @Param("from") OffsetDateTime from,
+                                        @Param("to") OffsetDateTime to);
+
+    // Light-weight query: only ids (and totals, for the status stats) of the oldest PENDING orders — used by
+    // the scheduler to fetch batches. Rows are locked (FOR UPDATE) so the history insert and status update
+    // that follow see the same set.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select o.id as id, o.totalAmountMinor as totalAmountMinor from OrderEntity o where o.status = :status "
+        + "order by o.createdAt asc")
+    List<OrderIdAmount> findPendingOrderIds(@Param("status") OrderStatus status, Pageable pageable);
+
+    // Set-based transition: one UPDATE for a whole chunk, guarded by the current status. Releases any claim, as
+    // only PENDING orders can be claimed.
+    @Modifying
+    @Query("update OrderEntity o set o.status = :to, o.updatedAt = :now, o.version = o.version + 1, "
+        + "o.claimedBy = null, o.claimExpiresAt = null where o.id in :ids and o.status = :from")
+    int transitionStatus(@Param("ids") List<Long> ids,
+                         @Param("from") OrderStatus from,
+                         @Param("to") OrderStatus to,
+                         @Param("now") OffsetDateTime now);
+
+    // Work-queue claim, step 1: lock up to :limit of the :window oldest unclaimed (or expired) PENDING rows, so
+    // old orders are claimed first and none waits behind newer ones. SKIP LOCKED makes a concurrent claimer pass
+    // over the rows another claim is stamping and lock the next ones, instead of waiting for them and then
+    // finding them taken. The ORDER BY picks the window without locking ("status" only lets H2 read it off
+    // idx_orders_status_created); the locking select is bounded by the window's newest created_at and walks the
+    // same index, oldest first. It is not sorted itself: H2 would cut a sorted result to :limit before skipping
+    // locked rows, and a second claimer would get nothing.
+    @Query(value = "select id from orders where status = 'PENDING' "
+        + "and (claim_expires_at is null or claim_expires_at < :now) "
+        + "and created_at <= (select max(w.created_at) from (select created_at from orders where status = 'PENDING' "
+        + "and (claim_expires_at is null or claim_expires_at < :now) "
+        + "order by status, created_at, id fetch first :window rows only) w) "
+        + "fetch first :limit rows only for update skip locked", nativeQuery = true)
+    List<Long> lockClaimable(@Param("now") LocalDateTime now, @Param("window") int window, @Param("limit") int limit);
+
+    // Work-queue claim, step 2: stamp the locked rows with the caller's claim id.
+    @Modifying
+    @Query(value = "update orders set claimed_by = :claimId, claim_expires_at = :expiresAt "
+        + "where id in :ids and status = 'PENDING'", nativeQuery = true)
+    int claimPending(@Param("claimId") String claimId,
+                     @Param("ids") List<Long> ids,
+                     @Param("expiresAt") LocalDateTime expiresAt);
+
+    // Ids (and totals) held by a claim, so the cache and the status stats can follow once it is processed.
+    // Locked, so a re-claim after expiry cannot take rows between this read and the transition. Totals are
+    // converted to minor units in SQL, as the projection does not go through the entity's converter.
+    @Query(value = "select id as id, cast(total_amount * 100 as bigint) as totalAmountMinor from orders "
+        + "where claimed_by = :claimId and status = :status for update", nativeQuery = true)
+    List<OrderIdAmount> findClaimedIds(@Param("claimId") String claimId, @Param("status") String status);
+
+    // Completes a claim: only rows still held by this claim and still PENDING move on.
+    @Modifying
+    @Query(value = "update orders set status = :to, updated_at = :now, version = version + 1, claimed_by = null, "
+        + "claim_expires_at = null where claimed_by = :claimId and status = :from", nativeQuery = true)
+    int transitionClaimed(@Param("claimId") String claimId,
+                          @Param("from") String from,
+                          @Param("to") String to,
+                          @Param("now") LocalDateTime now);
+
+    // Conditional GETs: the ETag without loading the order
+    @Query("select o.version from OrderEntity o where o.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    // Backlog size reported by the scheduler after each run
+    long countByStatus(OrderStatus status);
 
     // Idempotency lookup
     Optional<OrderEntity> findByClientRequestId(String clientRequestId);
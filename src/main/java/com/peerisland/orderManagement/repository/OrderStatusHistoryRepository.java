@@ -2,11 +2,39 @@ package com.peerisland.orderManagement.repository;
 
 import com.peerisland.orderManagement.model.OrderStatusHistoryEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
 public interface OrderStatusHistoryRepository extends JpaRepository<OrderStatusHistoryEntity, Long> {
     List<OrderStatusHistoryEntity> findByOrderIdOrderByChangedAtAsc(Long orderId);
+
+    long countByOrderId(Long orderId);
+
+    // INSERT ... SELECT: one history row per order in the chunk that is still in the previous status.
+    @Modifying
+    @Query(value = "insert into order_status_history (order_id, previous_status, new_status, changed_by, changed_at) "
+        + "select o.id, o.status, :next, :changedBy, :changedAt from orders o "
+        + "where o.id in (:ids) and o.status = :previous", nativeQuery = true)
+    int insertTransitionHistory(@Param("ids") List<Long> ids,
+                                @Param("previous") String previous,
+                                @Param("next") String next,
+                                @Param("changedBy") String changedBy,
+                                @Param("changedAt") LocalDateTime changedAt);
+
+    // Same as above for a work-queue claim: rows still held by the claim and in the previous status.
+    @Modifying
+    @Query(value = "insert into order_status_history (order_id, previous_status, new_status, changed_by, changed_at) "
+        + "select o.id, o.status, :next, :changedBy, :changedAt from orders o "
+        + "where o.claimed_by = :claimId and o.status = :previous", nativeQuery = true)
+    int insertClaimHistory(@Param("claimId") String claimId,
+                           @Param("previous") String previous,
+                           @Param("next") String next,
+                           @Param("changedBy") String changedBy,
+                           @Param("changedAt") LocalDateTime changedAt);
 }
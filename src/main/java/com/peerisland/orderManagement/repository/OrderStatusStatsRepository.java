@@ -0,0 +1,30 @@
+package com.peerisland.orderManagement.repository;
+
+import com.peerisland.orderManagement.model.OrderStatusStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+public interface OrderStatusStatsRepository extends JpaRepository<OrderStatusStats, String> {
+
+    // Applies one node's accumulated changes for a status; rows exist for every status (V13).
+    @Modifying
+    @Query(value = "update order_status_stats set order_count = order_count + :count, "
+        + "total_amount = total_amount + :amount where status = :status", nativeQuery = true)
+    int addDelta(@Param("status") String status, @Param("count") long count, @Param("amount") BigDecimal amount);
+
+    // Recomputes every row from orders and orders_archive: one aggregate per status and table, over the
+    // (status, created_at, id) index and idx_orders_archive_status. Archived orders still count.
+    @Modifying
+    @Query(value = "update order_status_stats s set "
+        + "order_count = (select count(*) from orders o where o.status = s.status) "
+        + "+ (select count(*) from orders_archive a where a.status = s.status), "
+        + "total_amount = (select coalesce(sum(o.total_amount), 0) from orders o where o.status = s.status) "
+        + "+ (select coalesce(sum(a.total_amount), 0) from orders_archive a where a.status = s.status), "
+        + "reconciled_at = :now", nativeQuery = true)
+    int reconcile(@Param("now") Instant now);
+}
@@ -0,0 +1,21 @@
+package com.peerisland.orderManagement.repository;
+
+import com.peerisland.orderManagement.model.OrderStatus;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Columns of a customer listing row, all held by idx_orders_customer_created so the page is read from the index
+ * without visiting the table.
+ */
+public interface OrderSummaryRow {
+
+    Long getId();
+
+    OrderStatus getStatus();
+
+    /** Minor units. */
+    long getTotalAmountMinor();
+
+    OffsetDateTime getCreatedAt();
+}
@@ -2,8 +2,74 @@ package com.peerisland.orderManagement.repository;
 
 import com.peerisland.orderManagement.model.SchedulerLock;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Optional;
 
 @Repository
 public interface SchedulerLockRepository extends JpaRepository<SchedulerLock, String> {
+
+    // Lease acquisition, step 1: take over an expired lock and bump the token. No re-entry for the same owner: the
+    // owner is the node, so another job on this node must not take (and fence off) a lease that is still held.
+    @Transactional
+    @Modifying
+    @Query(value = "update scheduler_locks set owner = :owner, locked_at = :now, expires_at = :expiresAt, "
+        + "fencing_token = fencing_token + 1 "
+        + "where lock_name = :lockName and expires_at < :now", nativeQuery = true)
+    int takeOver(@Param("lockName") String lockName,
+                 @Param("owner") String owner,
+                 @Param("now") Instant now,
+                 @Param("expiresAt") Instant expiresAt);
+
+    // Lease acquisition, step 2: first ever acquisition. Inserts nothing (0) when the row exists, so a held lock
+    // costs no constraint violation; only two nodes inserting the very first row at once still race on the key.
+    @Transactional
+    @Modifying
+    @Query(value = "insert into scheduler_locks (lock_name, owner, locked_at, expires_at, fencing_token) "
+        + "select :lockName, :owner, :now, :expiresAt, 1 "
+        + "where not exists (select 1 from scheduler_locks where lock_name = :lockName)", nativeQuery = true)
+    int insertLease(@Param("lockName") String lockName,
+                    @Param("owner") String owner,
+                    @Param("now") Instant now,
+                    @Param("expiresAt") Instant expiresAt);
+
+    @Query("select l.fencingToken from SchedulerLock l where l.lockName = :lockName and l.owner = :owner")
+    Optional<Long> findFencingToken(@Param("lockName") String lockName, @Param("owner") String owner);
+
+    // Heartbeat: extend the lease only while our token is still the current one.
+    @Transactional
+    @Modifying
+    @Query(value = "update scheduler_locks set expires_at = :expiresAt "
+        + "where lock_name = :lockName and owner = :owner and fencing_token = :token", nativeQuery = true)
+    int renew(@Param("lockName") String lockName,
+              @Param("owner") String owner,
+              @Param("token") long token,
+              @Param("expiresAt") Instant expiresAt);
+
+    // Release by expiring the lease; the row stays so the fencing token keeps increasing.
+    @Transactional
+    @Modifying
+    @Query(value = "update scheduler_locks set expires_at = :now "
+        + "where lock_name = :lockName and owner = :owner and fencing_token = :token", nativeQuery = true)
+    int expire(@Param("lockName") String lockName,
+               @Param("owner") String owner,
+               @Param("token") long token,
+               @Param("now") Instant now);
+
+    // Fence check inside the caller's write transaction. Locks the row, so a takeover waits for our commit.
+    @Transactional(propagation = Propagation.MANDATORY)
+    @Modifying
+    @Query(value = "update scheduler_locks set locked_at = locked_at "
+        + "where lock_name = :lockName and owner = :owner and fencing_token = :token and expires_at > :now",
+        nativeQuery = true)
+    int holdFence(@Param("lockName") String lockName,
+                  @Param("owner") String owner,
+                  @Param("token") long token,
+                  @Param("now") Instant now);
 }
@@ -0,0 +1,14 @@
+package com.peerisland.orderManagement.scheduler;
+
+import java.time.Duration;
+
+/**
+ * Outcome of one scheduler run: how much of the PENDING backlog was moved and how much is left.
+ */
+public record DrainReport(int chunks, int processed, Duration elapsed, long remainingBacklog) {
+
+    public double ordersPerSecond() {
+        long millis = elapsed.toMillis();
+        return millis == 0 ? processed : processed * 1000.0 / millis;
+    }
+}
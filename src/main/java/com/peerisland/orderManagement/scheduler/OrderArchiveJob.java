@@ -0,0 +1,96 @@
+package com.peerisland.orderManagement.scheduler;
+
+import com.peerisland.orderManagement.config.ArchiveProperties;
+import com.peerisland.orderManagement.exception.LockLostException;
+import com.peerisland.orderManagement.service.LockLease;
+import com.peerisland.orderManagement.service.LockService;
+import com.peerisland.orderManagement.service.OrderArchiveService;
+import com.peerisland.orderManagement.service.OrderMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Moves old DELIVERED and CANCELLED orders to the archive tables, one small fenced chunk at a time with a pause
+ * in between, under the same lease scheme as {@link OrderStatusScheduler}. A run that stops early (time budget,
+ * lost lease, restart) leaves every chunk either fully moved or untouched; the next run carries on from the
+ * oldest orders left.
+ */
+@Component
+public class OrderArchiveJob {
+
+    private final OrderArchiveService archiveService;
+    private final LockService dbLockService;
+    private final ArchiveProperties properties;
+    private final OrderMetrics metrics;
+    private static final Logger log = LoggerFactory.getLogger(OrderArchiveJob.class);
+
+    private static final String LOCK_NAME = "order-archive-lock";
+
+    public OrderArchiveJob(OrderArchiveService archiveService, LockService dbLockService,
+                           ArchiveProperties properties, OrderMetrics metrics) {
+        this.archiveService = archiveService;
+        this.dbLockService = dbLockService;
+        this.properties = properties;
+        this.metrics = metrics;
+    }
+
+    @Scheduled(cron = "${orders.archive.cron:0 15 3 * * *}") // nightly by default, "-" disables it
+    public void archiveOldOrders() {
+        Optional<LockLease> lease = dbLockService.tryAcquireLease(LOCK_NAME, properties.getLockLease());
+
+        if (lease.isEmpty()) {
+            log.info("Another instance is archiving orders. Skipping this run.");
+            return;
+        }
+
+        try {
+            archive(lease.get());
+        } catch (LockLostException e) {
+            log.warn("Archive lock was taken over mid-run; stopped after the last committed chunk: {}", e.getMessage());
+        } catch (Exception e) {
+            log.error("Error occurred while archiving orders", e);
+        } finally {
+            dbLockService.releaseLease(lease.get());
+        }
+    }
+
+    /**
+     * Archives chunks until one comes back short, the time budget is spent or the lease is lost. Returns the
+     * number of orders moved.
+     */
+    int archive(LockLease lease) {
+        LocalDateTime cutoff = LocalDateTime.now().minus(properties.getMinAge());
+        int chunkSize = properties.getChunkSize();
+        long start = System.nanoTime();
+        long deadline = start + properties.getTimeBudget().toNanos();
+        int chunks = 0;
+        int archived = 0;
+
+        try {
+            while (true) {
+                int moved = archiveService.archiveChunk(cutoff, chunkSize, lease);
+                chunks++;
+                archived += moved;
+
+                if (moved < chunkSize || System.nanoTime() >= deadline || lease.isLost()) {
+                    break;
+                }
+                if (!OrderStatusScheduler.pause(properties.getChunkPause())) {
+                    break;
+                }
+            }
+        } finally {
+            Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+            metrics.archiveRun(archived, elapsed);
+            log.info("Archived {} orders created and last changed before {} in {} chunk(s) in {} ms",
+                     archived, cutoff, chunks, elapsed.toMillis());
+        }
+        return archived;
+    }
+}
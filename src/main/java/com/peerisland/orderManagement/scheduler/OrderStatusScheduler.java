@@ -1,46 +1,123 @@
 package com.peerisland.orderManagement.scheduler;
 
+import com.peerisland.orderManagement.config.SchedulerProperties;
+import com.peerisland.orderManagement.exception.LockLostException;
+import com.peerisland.orderManagement.service.LockLease;
 import com.peerisland.orderManagement.service.LockService;
+import com.peerisland.orderManagement.service.OrderMetrics;
 import com.peerisland.orderManagement.service.OrderService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+import java.util.Optional;
+
 @Component
 public class OrderStatusScheduler {
 
     private final OrderService orderService;
     private final LockService dbLockService;
+    private final PendingOrderWorkers workers;
+    private final SchedulerProperties properties;
+    private final OrderMetrics metrics;
     private static final Logger log = LoggerFactory.getLogger(OrderStatusScheduler.class);
 
     private static final String LOCK_NAME = "order-processing-lock";
 
-    public OrderStatusScheduler(OrderService orderService, LockService dbLockService) {
+    public OrderStatusScheduler(OrderService orderService, LockService dbLockService,
+                                PendingOrderWorkers workers, SchedulerProperties properties, OrderMetrics metrics) {
         this.orderService = orderService;
         this.dbLockService = dbLockService;
+        this.workers = workers;
+        this.properties = properties;
+        this.metrics = metrics;
     }
 
-    @Scheduled(cron = "0 */5 * * * *") // runs every 5 minutes
+    @Scheduled(cron = "${orders.scheduler.cron:0 */5 * * * *}") // runs every 5 minutes by default, "-" disables it
     public void processPendingOrders() {
+        if (properties.getMode() == SchedulerProperties.Mode.CLAIM) {
+            // Every node takes part; claims keep the workers' chunks disjoint, so no global lock.
+            logReport("claim", workers.drain());
+            return;
+        }
+
         log.info("Attempting to acquire scheduler lock...");
 
-        // Try acquiring lock for 300 seconds (5 minutes)
-        boolean acquired = dbLockService.acquireLock(LOCK_NAME, 300);
+        // Short lease kept alive by a heartbeat; every chunk is fenced by its token
+        Optional<LockLease> lease = dbLockService.tryAcquireLease(LOCK_NAME, properties.getLockLease());
 
-        if (!acquired) {
+        if (lease.isEmpty()) {
             log.info("Another instance is processing orders. Skipping this run.");
             return;
         }
 
         try {
             log.info("Lock acquired. Processing pending orders...");
-            orderService.bumpPendingToProcessingBatch();
+            logReport("lock", drainPending(lease.get()));
+        } catch (LockLostException e) {
+            log.warn("Scheduler lock was taken over mid-run; stopped without writing: {}", e.getMessage());
         } catch (Exception e) {
             log.error("Error occurred while processing orders", e);
         } finally {
-            dbLockService.releaseLock(LOCK_NAME);
+            dbLockService.releaseLease(lease.get());
             log.info("Lock released.");
         }
     }
+
+    /**
+     * Moves PENDING orders to PROCESSING one chunk (one transaction) at a time until a chunk comes
+     * back short, the time budget is spent, the lease is lost, or drain mode is off (single chunk,
+     * legacy behaviour).
+     */
+    DrainReport drainPending(LockLease lease) {
+        int chunkSize = properties.getChunkSize();
+        long start = System.nanoTime();
+        long deadline = start + properties.getTimeBudget().toNanos();
+        int chunks = 0;
+        int processed = 0;
+
+        while (true) {
+            long chunkStart = System.nanoTime();
+            int moved = orderService.bumpPendingToProcessingBatch(chunkSize, lease);
+            metrics.schedulerBatch("lock", moved, System.nanoTime() - chunkStart);
+            chunks++;
+            processed += moved;
+
+            if (!properties.isDrain() || moved < chunkSize || System.nanoTime() >= deadline || lease.isLost()) {
+                break;
+            }
+            if (!pause(properties.getChunkPause())) {
+                break;
+            }
+        }
+
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+        return new DrainReport(chunks, processed, elapsed, orderService.countPendingOrders());
+    }
+
+    private void logReport(String mode, DrainReport report) {
+        metrics.schedulerRun(mode, report.processed(), report.elapsed());
+        log.info("Moved {} orders in {} chunk(s) in {} ms ({} orders/sec), {} still PENDING",
+                 report.processed(), report.chunks(), report.elapsed().toMillis(),
+                 String.format("%.1f", report.ordersPerSecond()), report.remainingBacklog());
+    }
+
+    /**
+     * Sleeps between chunks; returns false if interrupted so the caller stops draining.
+     */
+    static boolean pause(Duration pause) {
+        if (pause.isZero() || pause.isNegative()) {
+            return true;
+        }
+        try {
+            Thread.sleep(pause.toMillis());
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Interrupted while draining PENDING orders; stopping early");
+            return false;
+        }
+    }
 }
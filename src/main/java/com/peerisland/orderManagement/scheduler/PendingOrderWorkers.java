@@ -0,0 +1,132 @@
+package com.peerisland.orderManagement.scheduler;
+
+import com.peerisland.orderManagement.config.NodeIdentity;
+import com.peerisland.orderManagement.config.SchedulerProperties;
+import com.peerisland.orderManagement.config.WorkerThreads;
+import com.peerisland.orderManagement.service.OrderMetrics;
+import com.peerisland.orderManagement.service.OrderService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * CLAIM-mode processing: N worker threads per node each claim a disjoint chunk of PENDING orders,
+ * move it to PROCESSING and claim the next one, until no PENDING order is left or the time budget is
+ * spent. No global lock — nodes and workers scale out, and a chunk abandoned by a crashed worker is
+ * re-claimed once its claim expires.
+ */
+@Component
+public class PendingOrderWorkers implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(PendingOrderWorkers.class);
+
+    // wait before claiming again while the remaining PENDING rows are all held by other claims
+    private static final Duration EMPTY_CLAIM_BACKOFF = Duration.ofMillis(50);
+
+    private final OrderService orderService;
+    private final SchedulerProperties properties;
+    private final OrderMetrics metrics;
+    private final String nodeId;
+    private final AtomicLong claimSequence = new AtomicLong();
+    private final ExecutorService executor;
+
+    public PendingOrderWorkers(OrderService orderService, SchedulerProperties properties, NodeIdentity node,
+                               WorkerThreads threads, OrderMetrics metrics) {
+        this.orderService = orderService;
+        this.properties = properties;
+        this.metrics = metrics;
+        this.nodeId = node.getId();
+        this.executor = Executors.newFixedThreadPool(Math.max(1, properties.getWorkers()), threads.factory("order-worker-"));
+    }
+
+    /**
+     * Runs all workers until the backlog is empty or the time budget is spent, and waits for them.
+     */
+    public DrainReport drain() {
+        long start = System.nanoTime();
+        long deadline = start + properties.getTimeBudget().toNanos();
+
+        List<Future<DrainReport>> running = new ArrayList<>();
+        for (int i = 1; i <= Math.max(1, properties.getWorkers()); i++) {
+            String workerId = nodeId + "-w" + i;
+            running.add(executor.submit(() -> runWorker(workerId, deadline)));
+        }
+
+        int chunks = 0;
+        int processed = 0;
+        for (Future<DrainReport> worker : running) {
+            try {
+                DrainReport report = worker.get();
+                chunks += report.chunks();
+                processed += report.processed();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running.forEach(f -> f.cancel(true));
+                break;
+            } catch (ExecutionException e) {
+                log.error("Order worker failed; its claim will expire and be picked up again", e.getCause());
+            }
+        }
+
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+        return new DrainReport(chunks, processed, elapsed, orderService.countPendingOrders());
+    }
+
+    private DrainReport runWorker(String workerId, long deadline) {
+        int chunkSize = properties.getChunkSize();
+        long start = System.nanoTime();
+        int chunks = 0;
+        int processed = 0;
+
+        while (!Thread.currentThread().isInterrupted()) {
+            String claimId = workerId + "-" + claimSequence.incrementAndGet();
+            long chunkStart = System.nanoTime();
+            int claimed = orderService.claimPendingOrders(claimId, chunkSize, properties.getClaimTtl());
+            if (claimed == 0) {
+                // Nothing claimable, but rows held by other claims stay PENDING until processed and come back
+                // if their worker dies: only an empty backlog ends the worker.
+                if (orderService.countPendingOrders() == 0 || System.nanoTime() >= deadline) {
+                    break;
+                }
+                if (!OrderStatusScheduler.pause(max(properties.getChunkPause(), EMPTY_CLAIM_BACKOFF))) {
+                    break;
+                }
+                continue;
+            }
+            int moved = orderService.processClaimedOrders(claimId);
+            metrics.schedulerBatch("claim", moved, System.nanoTime() - chunkStart);
+            processed += moved;
+            chunks++;
+
+            // a short claim only means other workers took the rest; the next claim tells whether any is left
+            if (System.nanoTime() >= deadline) {
+                break;
+            }
+            if (!OrderStatusScheduler.pause(properties.getChunkPause())) {
+                break;
+            }
+        }
+
+        log.debug("Worker {} moved {} orders in {} chunk(s)", workerId, processed, chunks);
+        return new DrainReport(chunks, processed, Duration.ofNanos(System.nanoTime() - start), 0);
+    }
+
+    private static Duration max(Duration a, Duration b) {
+        return a.compareTo(b) >= 0 ? a : b;
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
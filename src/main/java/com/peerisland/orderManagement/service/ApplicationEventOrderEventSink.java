@@ -0,0 +1,27 @@
+package com.peerisland.orderManagement.service;
+
+import com.peerisland.orderManagement.dto.OrderChangeEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Publishes each relayed event as a Spring application event, for in-process subscribers
+ * ({@code @EventListener void on(OrderChangeEvent e)}). Listeners run on the relay thread and
+ * should hand slow work off; a listener that throws gets the batch again.
+ */
+@Component
+public class ApplicationEventOrderEventSink implements OrderEventSink {
+
+    private final ApplicationEventPublisher publisher;
+
+    public ApplicationEventOrderEventSink(ApplicationEventPublisher publisher) {
+        this.publisher = publisher;
+    }
+
+    @Override
+    public void publish(List<OrderChangeEvent> events) {
+        events.forEach(publisher::publishEvent);
+    }
+}
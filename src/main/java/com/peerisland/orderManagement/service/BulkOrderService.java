@@ -0,0 +1,211 @@
+package com.peerisland.orderManagement.service;
+
+import com.peerisland.orderManagement.config.BulkCreateProperties;
+import com.peerisland.orderManagement.dto.BatchCreateResponse;
+import com.peerisland.orderManagement.dto.BatchOrderResult;
+import com.peerisland.orderManagement.dto.CreateOrderRequest;
+import com.peerisland.orderManagement.model.OrderEntity;
+import com.peerisland.orderManagement.model.OrderEventEntity;
+import com.peerisland.orderManagement.model.OrderEventType;
+import com.peerisland.orderManagement.model.OrderStatus;
+import com.peerisland.orderManagement.repository.OrderEventRepository;
+import com.peerisland.orderManagement.repository.OrderRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Bulk create behind POST /api/orders/batch.
+ *
+ * Every entry is validated on its own, all clientRequestIds are resolved against the idempotency store
+ * (memory, then one IN query), and the new orders are inserted in chunks of {@code orders.bulk.chunk-size}, each chunk in its own
+ * transaction with JDBC-batched inserts. If a chunk fails, its entries are retried one by one so a
+ * single bad order is reported as REJECTED instead of failing its neighbours.
+ */
+@Service
+public class BulkOrderService {
+
+    private static final Logger log = LoggerFactory.getLogger(BulkOrderService.class);
+
+    private final OrderRepository orderRepo;
+    private final OrderEventRepository eventRepo;
+    private final IdempotencyService idempotency;
+    private final Validator validator;
+    private final BulkCreateProperties properties;
+    private final OrderStatsService stats;
+    private final TransactionTemplate chunkTx;
+
+    public BulkOrderService(OrderRepository orderRepo, OrderEventRepository eventRepo, IdempotencyService idempotency,
+                            Validator validator, BulkCreateProperties properties, OrderStatsService stats,
+                            PlatformTransactionManager transactionManager) {
+        this.orderRepo = orderRepo;
+        this.eventRepo = eventRepo;
+        this.idempotency = idempotency;
+        this.validator = validator;
+        this.properties = properties;
+        this.stats = stats;
+        // Chunks commit independently of any caller transaction: earlier chunks stay created if a later one fails
+        this.chunkTx = new TransactionTemplate(transactionManager);
+        this.chunkTx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * @throws IllegalArgumentException if the batch is larger than {@code orders.bulk.max-entries}
+     */
+    public BatchCreateResponse createOrders(List<CreateOrderRequest> requests) {
+        if (requests.size() > properties.getMaxEntries()) {
+            throw new IllegalArgumentException("Batch of " + requests.size() + " orders exceeds the limit of "
+                                                   + properties.getMaxEntries());
+        }
+        long start = System.nanoTime();
+        BatchOrderResult[] results = new BatchOrderResult[requests.size()];
+
+        // 1. per-entry validation
+        for (int i = 0; i < requests.size(); i++) {
+            List<String> errors = validate(requests.get(i));
+            if (!errors.isEmpty()) {
+                results[i] = BatchOrderResult.rejected(i, keyOf(requests.get(i)), errors);
+            }
+        }
+
+        // 2. idempotency: existing keys from the database, repeated keys within the batch
+        Map<String, Long> existing = findExistingKeys(requests, results);
+        Map<String, Integer> firstWithKey = new HashMap<>();
+        Map<Integer, Integer> repeatOf = new HashMap<>();
+        List<Integer> toInsert = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            if (results[i] != null) {
+                continue;
+            }
+            String key = keyOf(requests.get(i));
+            if (key != null && existing.containsKey(key)) {
+                results[i] = BatchOrderResult.duplicate(i, key, existing.get(key));
+            } else if (key != null && firstWithKey.containsKey(key)) {
+                repeatOf.put(i, firstWithKey.get(key));
+            } else {
+                if (key != null) {
+                    firstWithKey.put(key, i);
+                }
+                toInsert.add(i);
+            }
+        }
+
+        // 3. chunked, batched inserts
+        int chunkSize = properties.getChunkSize();
+        for (int from = 0; from < toInsert.size(); from += chunkSize) {
+            insertChunk(toInsert.subList(from, Math.min(from + chunkSize, toInsert.size())), requests, results);
+        }
+
+        // 4. repeats inside the batch resolve to whatever happened to the first entry with that key
+        repeatOf.forEach((i, first) -> {
+            BatchOrderResult firstResult = results[first];
+            results[i] = firstResult.orderId() != null
+                ? BatchOrderResult.duplicate(i, firstResult.clientRequestId(), firstResult.orderId())
+                : BatchOrderResult.rejected(i, firstResult.clientRequestId(),
+                                            List.of("clientRequestId repeats rejected entry " + first));
+        });
+
+        BatchCreateResponse response = BatchCreateResponse.of(List.of(results));
+        log.info("Bulk create of {} orders: {} created, {} duplicate, {} rejected in {} ms",
+                 requests.size(), response.created(), response.duplicates(), response.rejected(),
+                 (System.nanoTime() - start) / 1_000_000);
+        return response;
+    }
+
+    private List<String> validate(CreateOrderRequest req) {
+        if (req == null) {
+            return List.of("order is required");
+        }
+        Set<ConstraintViolation<CreateOrderRequest>> violations = validator.validate(req);
+        return violations.stream().map(ConstraintViolation::getMessage).sorted().toList();
+    }
+
+    private Map<String, Long> findExistingKeys(List<CreateOrderRequest> requests, BatchOrderResult[] results) {
+        List<String> keys = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            String key = results[i] == null ? keyOf(requests.get(i)) : null;
+            if (key != null) {
+                keys.add(key);
+            }
+        }
+        return keys.isEmpty() ? Map.of() : idempotency.resolveAll(keys);
+    }
+
+    private void insertChunk(List<Integer> chunk, List<CreateOrderRequest> requests, BatchOrderResult[] results) {
+        try {
+            List<OrderEntity> saved = chunkTx.execute(tx -> {
+                List<OrderEntity> orders = orderRepo.saveAllAndFlush(
+                    chunk.stream().map(i -> OrderService.newOrder(requests.get(i))).toList());
+                List<Long> ids = orders.stream().map(OrderEntity::getId).toList();
+                idempotency.registerForOrders(ids);
+                eventRepo.insertCreatedEvents(ids, "SYSTEM", Instant.now());
+                stats.recordAfterCommit(null, OrderStatus.PENDING, orders.size(),
+                                        orders.stream().mapToLong(OrderEntity::getTotalAmountMinor).sum());
+                return orders;
+            });
+            for (int k = 0; k < chunk.size(); k++) {
+                int i = chunk.get(k);
+                results[i] = created(i, keyOf(requests.get(i)), saved.get(k).getId());
+            }
+        } catch (DataAccessException e) {
+            log.warn("Bulk insert of a {}-order chunk failed ({}); retrying its entries one by one",
+                     chunk.size(), NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+            chunk.forEach(i -> results[i] = insertOne(i, requests.get(i)));
+        }
+    }
+
+    private BatchOrderResult insertOne(int index, CreateOrderRequest req) {
+        String key = keyOf(req);
+        try {
+            OrderEntity saved = chunkTx.execute(tx -> {
+                OrderEntity order = orderRepo.saveAndFlush(OrderService.newOrder(req));
+                if (key != null) {
+                    idempotency.register(key, order.getId());
+                }
+                eventRepo.save(new OrderEventEntity(order.getId(), OrderEventType.ORDER_CREATED, null,
+                                                    order.getStatus().name(), "SYSTEM"));
+                stats.recordAfterCommit(null, order.getStatus(), 1, order.getTotalAmountMinor());
+                return order;
+            });
+            return created(index, key, saved.getId());
+        } catch (DataIntegrityViolationException e) {
+            // a concurrent request may have stored the same key since the lookup
+            Long existingId = key == null ? null : idempotency.resolve(key).orElse(null);
+            if (existingId != null) {
+                return BatchOrderResult.duplicate(index, key, existingId);
+            }
+            return BatchOrderResult.rejected(index, key, List.of(NestedExceptionUtils.getMostSpecificCause(e).getMessage()));
+        } catch (DataAccessException e) {
+            return BatchOrderResult.rejected(index, key, List.of(NestedExceptionUtils.getMostSpecificCause(e).getMessage()));
+        }
+    }
+
+    private BatchOrderResult created(int index, String key, Long orderId) {
+        if (key != null) {
+            idempotency.remember(key, orderId);
+        }
+        return BatchOrderResult.created(index, key, orderId);
+    }
+
+    private static String keyOf(CreateOrderRequest req) {
+        if (req == null || req.getClientRequestId() == null || req.getClientRequestId().isBlank()) {
+            return null;
+        }
+        return req.getClientRequestId();
+    }
+}
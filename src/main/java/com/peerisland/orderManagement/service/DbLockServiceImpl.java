@@ -4,24 +4,44 @@ import com.peerisland.orderManagement.model.SchedulerLock;
 import com.peerisland.orderManagement.repository.SchedulerLockRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.Optional;
 
+/**
+ * Original find-then-save lock. Kept behind {@code orders.lock.provider=simple}; it has no owner
+ * or fencing token, so leases from it are not renewed and fence checks are no-ops.
+ */
 @Slf4j
 @Service
 @RequiredArgsConstructor
+@ConditionalOnProperty(name = "orders.lock.provider", havingValue = "simple")
 public class DbLockServiceImpl implements LockService {
 
     private final SchedulerLockRepository schedulerLockRepository;
+    private final OrderMetrics metrics;
 
     // Try to acquire lock
     @Transactional
     @Override
     public boolean acquireLock(String lockName, int expirySeconds) {
+        long start = System.nanoTime();
+        try {
+            boolean acquired = findThenSave(lockName, expirySeconds);
+            metrics.lockAcquire(lockName, "simple", acquired ? "acquired" : "held", System.nanoTime() - start);
+            return acquired;
+        } catch (RuntimeException e) {
+            metrics.lockAcquire(lockName, "simple", "error", System.nanoTime() - start);
+            throw e;
+        }
+    }
+
+    private boolean findThenSave(String lockName, int expirySeconds) {
         Instant now = Instant.now();
         Instant expiresAt = now.plus(expirySeconds, ChronoUnit.SECONDS);
 
@@ -60,4 +80,23 @@ public class DbLockServiceImpl implements LockService {
         schedulerLockRepository.deleteById(lockName);
         log.info("Released lock '{}'", lockName);
     }
+
+    @Override
+    public Optional<LockLease> tryAcquireLease(String lockName, Duration leaseTime) {
+        int seconds = (int) Math.max(1, leaseTime.toSeconds());
+        if (!acquireLock(lockName, seconds)) {
+            return Optional.empty();
+        }
+        return Optional.of(new LockLease(lockName, null, 0, Instant.now().plusSeconds(seconds)));
+    }
+
+    @Override
+    public void releaseLease(LockLease lease) {
+        releaseLock(lease.getLockName());
+    }
+
+    @Override
+    public void checkFence(LockLease lease) {
+        // no fencing token to check
+    }
 }
@@ -0,0 +1,129 @@
+package com.peerisland.orderManagement.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.peerisland.orderManagement.config.IdempotencyProperties;
+import com.peerisland.orderManagement.model.IdempotencyKey;
+import com.peerisland.orderManagement.repository.IdempotencyKeyRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * clientRequestId -> order id, backed by the idempotency_keys table and a bounded in-memory cache.
+ *
+ * First-time keys cost no lookup: the create transaction inserts the key (insert-first) and a
+ * duplicate-key failure tells the caller it is a retry. Retries that hit the cache are answered
+ * without any key-table access. Only keys that are known to exist are cached: a "not seen" entry
+ * could go stale the moment another node stores the key.
+ */
+@Service
+public class IdempotencyService {
+
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyService.class);
+
+    // Keeps the IN list of a bulk lookup within what every database accepts
+    private static final int LOOKUP_CHUNK = 1_000;
+
+    private final IdempotencyKeyRepository keyRepo;
+    private final IdempotencyProperties properties;
+    private final Cache<String, Long> knownKeys;
+
+    public IdempotencyService(IdempotencyKeyRepository keyRepo, IdempotencyProperties properties) {
+        this.keyRepo = keyRepo;
+        this.properties = properties;
+        Duration cacheTtl = properties.getCacheTtl().compareTo(properties.getTtl()) < 0
+            ? properties.getCacheTtl() : properties.getTtl();
+        this.knownKeys = Caffeine.newBuilder()
+                                 .maximumSize(properties.getCacheSize())
+                                 .expireAfterWrite(cacheTtl)
+                                 .build();
+    }
+
+    /** Order id of a key already seen by this node, without touching the database. */
+    public Optional<Long> cachedOrderId(String key) {
+        return Optional.ofNullable(knownKeys.getIfPresent(key));
+    }
+
+    /**
+     * Claims {@code key} for {@code orderId} inside the caller's transaction.
+     *
+     * @throws org.springframework.dao.DataIntegrityViolationException if the key is already stored
+     */
+    public void register(String key, Long orderId) {
+        Instant now = Instant.now();
+        keyRepo.insertKey(key, orderId, now, now.plus(properties.getTtl()));
+    }
+
+    /**
+     * Claims the keys of freshly inserted orders (those that have a clientRequestId) in one statement.
+     *
+     * @throws org.springframework.dao.DataIntegrityViolationException if any of the keys is already stored
+     */
+    public void registerForOrders(Collection<Long> orderIds) {
+        if (orderIds.isEmpty()) {
+            return;
+        }
+        Instant now = Instant.now();
+        keyRepo.insertKeysForOrders(orderIds, now, now.plus(properties.getTtl()));
+    }
+
+    /** Remembers a committed key so its retries are answered from memory. */
+    public void remember(String key, Long orderId) {
+        knownKeys.put(key, orderId);
+    }
+
+    /** Order id stored for {@code key}, from the cache or the key table. */
+    public Optional<Long> resolve(String key) {
+        Long cached = knownKeys.getIfPresent(key);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        Optional<Long> stored = keyRepo.findOrderId(key);
+        stored.ifPresent(id -> knownKeys.put(key, id));
+        return stored;
+    }
+
+    /** Resolves many keys at once: cache first, then one IN query per {@value #LOOKUP_CHUNK} misses. */
+    public Map<String, Long> resolveAll(List<String> keys) {
+        Map<String, Long> found = new HashMap<>(knownKeys.getAllPresent(keys));
+        List<String> misses = keys.stream().filter(k -> !found.containsKey(k)).distinct().toList();
+        for (int from = 0; from < misses.size(); from += LOOKUP_CHUNK) {
+            for (IdempotencyKey k : keyRepo.findByKeyIn(misses.subList(from, Math.min(from + LOOKUP_CHUNK, misses.size())))) {
+                found.put(k.getKey(), k.getOrderId());
+                knownKeys.put(k.getKey(), k.getOrderId());
+            }
+        }
+        return found;
+    }
+
+    /** Drops a key from memory only; the stored key still deduplicates. */
+    void forget(String key) {
+        knownKeys.invalidate(key);
+    }
+
+    @Scheduled(fixedDelayString = "${orders.idempotency.purge-interval:1h}",
+               initialDelayString = "${orders.idempotency.purge-interval:1h}")
+    public int purgeExpired() {
+        Instant now = Instant.now();
+        int total = 0;
+        int deleted;
+        do {
+            deleted = keyRepo.deleteExpired(now, properties.getPurgeChunk());
+            total += deleted;
+        } while (deleted == properties.getPurgeChunk());
+        if (total > 0) {
+            log.info("Purged {} expired idempotency keys", total);
+        }
+        return total;
+    }
+}
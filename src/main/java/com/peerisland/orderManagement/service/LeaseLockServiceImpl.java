@@ -0,0 +1,167 @@
+package com.peerisland.orderManagement.service;
+
+import com.peerisland.orderManagement.config.NodeIdentity;
+import com.peerisland.orderManagement.exception.LockLostException;
+import com.peerisland.orderManagement.repository.SchedulerLockRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lease-based lock (default, {@code orders.lock.provider=lease}).
+ *
+ * Acquire is a single conditional UPDATE (take over if expired) falling back to a conditional INSERT
+ * for the first acquisition, so two nodes can never both win, and a lock that is simply held is
+ * reported without a database error. A held lease is held against this node too: a second caller here
+ * is refused rather than fencing off the first. Every acquisition bumps a fencing token;
+ * a background heartbeat renews held leases every third of the lease time, which lets jobs use
+ * short leases and fail over quickly. Releasing expires the lease rather than deleting the row,
+ * so the token keeps increasing.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "orders.lock.provider", havingValue = "lease", matchIfMissing = true)
+public class LeaseLockServiceImpl implements LockService, DisposableBean {
+
+    private final SchedulerLockRepository schedulerLockRepository;
+    private final String owner;
+    private final OrderMetrics metrics;
+    private final ScheduledExecutorService heartbeat;
+    private final Map<String, LockLease> heldByName = new ConcurrentHashMap<>();
+    private final Map<LockLease, ScheduledFuture<?>> renewals = new ConcurrentHashMap<>();
+
+    public LeaseLockServiceImpl(SchedulerLockRepository schedulerLockRepository, NodeIdentity node, OrderMetrics metrics) {
+        this.schedulerLockRepository = schedulerLockRepository;
+        this.owner = node.getId();
+        this.metrics = metrics;
+        this.heartbeat = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "lock-heartbeat");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    @Override
+    public boolean acquireLock(String lockName, int expirySeconds) {
+        Optional<LockLease> lease = acquire(lockName, Duration.ofSeconds(expirySeconds));
+        lease.ifPresent(l -> heldByName.put(lockName, l));
+        return lease.isPresent();
+    }
+
+    @Override
+    public void releaseLock(String lockName) {
+        LockLease lease = heldByName.remove(lockName);
+        if (lease != null) {
+            releaseLease(lease);
+        }
+    }
+
+    @Override
+    public Optional<LockLease> tryAcquireLease(String lockName, Duration leaseTime) {
+        Optional<LockLease> lease = acquire(lockName, leaseTime);
+        lease.ifPresent(l -> {
+            long period = Math.max(1, leaseTime.toMillis() / 3);
+            renewals.put(l, heartbeat.scheduleAtFixedRate(() -> renew(l, leaseTime), period, period, TimeUnit.MILLISECONDS));
+        });
+        return lease;
+    }
+
+    @Override
+    public void releaseLease(LockLease lease) {
+        ScheduledFuture<?> renewal = renewals.remove(lease);
+        if (renewal != null) {
+            renewal.cancel(false);
+        }
+        int released = schedulerLockRepository.expire(lease.getLockName(), owner, lease.getFencingToken(), Instant.now());
+        if (released == 0) {
+            log.warn("Lock '{}' (token {}) was already taken over before release", lease.getLockName(), lease.getFencingToken());
+        } else {
+            log.info("Released lock '{}' (token {})", lease.getLockName(), lease.getFencingToken());
+        }
+    }
+
+    @Override
+    public void checkFence(LockLease lease) {
+        if (schedulerLockRepository.holdFence(lease.getLockName(), owner, lease.getFencingToken(), Instant.now()) == 0) {
+            lease.markLost();
+            metrics.lockLost(lease.getLockName());
+            throw new LockLostException("Lock '" + lease.getLockName() + "' token " + lease.getFencingToken()
+                                            + " is no longer current; refusing to write");
+        }
+    }
+
+    private Optional<LockLease> acquire(String lockName, Duration leaseTime) {
+        long start = System.nanoTime();
+        try {
+            Optional<LockLease> lease = takeOverOrInsert(lockName, leaseTime);
+            metrics.lockAcquire(lockName, "lease", lease.isPresent() ? "acquired" : "held", System.nanoTime() - start);
+            return lease;
+        } catch (RuntimeException e) {
+            metrics.lockAcquire(lockName, "lease", "error", System.nanoTime() - start);
+            throw e;
+        }
+    }
+
+    private Optional<LockLease> takeOverOrInsert(String lockName, Duration leaseTime) {
+        Instant now = Instant.now();
+        Instant expiresAt = now.plus(leaseTime);
+
+        boolean acquired = schedulerLockRepository.takeOver(lockName, owner, now, expiresAt) == 1;
+        if (!acquired) {
+            try {
+                acquired = schedulerLockRepository.insertLease(lockName, owner, now, expiresAt) == 1;
+            } catch (DataIntegrityViolationException e) {
+                // another node inserted the first row at the same moment, and holds it
+            }
+        }
+        if (!acquired) {
+            log.info("Lock '{}' is held by another owner", lockName);
+            return Optional.empty();
+        }
+
+        // Empty only if another node took over in the meantime
+        return schedulerLockRepository.findFencingToken(lockName, owner).map(token -> {
+            log.info("Acquired lock '{}' as {} with fencing token {} until {}", lockName, owner, token, expiresAt);
+            return new LockLease(lockName, owner, token, expiresAt);
+        });
+    }
+
+    private void renew(LockLease lease, Duration leaseTime) {
+        try {
+            Instant expiresAt = Instant.now().plus(leaseTime);
+            if (schedulerLockRepository.renew(lease.getLockName(), owner, lease.getFencingToken(), expiresAt) == 1) {
+                lease.renewedUntil(expiresAt);
+                return;
+            }
+            log.warn("Lock '{}' (token {}) was taken over; stopping renewal", lease.getLockName(), lease.getFencingToken());
+        } catch (Exception e) {
+            log.warn("Failed to renew lock '{}': {}", lease.getLockName(), e.getMessage());
+            if (Instant.now().isBefore(lease.getExpiresAt())) {
+                return; // retry on the next beat while the lease is still valid
+            }
+        }
+        lease.markLost();
+        metrics.lockLost(lease.getLockName());
+        ScheduledFuture<?> renewal = renewals.remove(lease);
+        if (renewal != null) {
+            renewal.cancel(false);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        heartbeat.shutdownNow();
+    }
+}
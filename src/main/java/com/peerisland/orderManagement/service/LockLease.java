@@ -0,0 +1,52 @@
+package com.peerisland.orderManagement.service;
+
+import java.time.Instant;
+
+/**
+ * A held lock lease. The fencing token increases with every acquisition of the lock, so a writer
+ * holding an older token can be rejected even if it still believes it owns the lock.
+ */
+public final class LockLease {
+
+    private final String lockName;
+    private final String owner;
+    private final long fencingToken;
+    private volatile Instant expiresAt;
+    private volatile boolean lost;
+
+    public LockLease(String lockName, String owner, long fencingToken, Instant expiresAt) {
+        this.lockName = lockName;
+        this.owner = owner;
+        this.fencingToken = fencingToken;
+        this.expiresAt = expiresAt;
+    }
+
+    public String getLockName() {
+        return lockName;
+    }
+
+    public String getOwner() {
+        return owner;
+    }
+
+    public long getFencingToken() {
+        return fencingToken;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+
+    void renewedUntil(Instant expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+
+    /** True once a heartbeat failed to renew the lease; long-running work should stop. */
+    public boolean isLost() {
+        return lost;
+    }
+
+    void markLost() {
+        this.lost = true;
+    }
+}
@@ -1,6 +1,22 @@
 package com.peerisland.orderManagement.service;
 
+import java.time.Duration;
+import java.util.Optional;
+
 public interface LockService {
     boolean acquireLock(String lockName, int expirySeconds);
     void releaseLock(String lockName);
+
+    /**
+     * Acquire a lease that is renewed in the background until released. Empty if another owner holds it.
+     */
+    Optional<LockLease> tryAcquireLease(String lockName, Duration leaseTime);
+
+    void releaseLease(LockLease lease);
+
+    /**
+     * Called inside a write transaction: throws {@link com.peerisland.orderManagement.exception.LockLostException}
+     * if the lease has been taken over since it was acquired, so the write rolls back.
+     */
+    void checkFence(LockLease lease);
 }
@@ -0,0 +1,115 @@
+package com.peerisland.orderManagement.service;
+
+import com.peerisland.orderManagement.dto.OrderResponse;
+import com.peerisland.orderManagement.dto.OrderStatusHistoryDto;
+import com.peerisland.orderManagement.model.ArchivedOrderEntity;
+import com.peerisland.orderManagement.model.OrderStatus;
+import com.peerisland.orderManagement.repository.OrderArchiveRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Cold side of the orders: terminal orders moved out of the hot tables by
+ * {@link com.peerisland.orderManagement.scheduler.OrderArchiveJob}, and the reads that fall back to them.
+ *
+ * A chunk is moved in one transaction (lock the ids, copy orders, items and history, delete them from the hot
+ * tables, seven statements whatever the chunk size), so an order is always in exactly one place and a run can
+ * stop anywhere: the next one picks up the oldest orders still left. Archived orders are terminal and never
+ * change, so cached responses stay valid and the status stats are not touched (the reconcile counts both
+ * tables).
+ */
+@Service
+public class OrderArchiveService {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderArchiveService.class);
+
+    private final OrderArchiveRepository archiveRepo;
+    private final LockService lockService;
+    private final OrderMetrics metrics;
+
+    public OrderArchiveService(OrderArchiveRepository archiveRepo, LockService lockService, OrderMetrics metrics) {
+        this.archiveRepo = archiveRepo;
+        this.lockService = lockService;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Moves up to {@code limit} terminal orders created and last changed before {@code cutoff}, oldest first,
+     * fenced by the archive lease. Returns how many orders were moved.
+     */
+    @Transactional
+    public int archiveChunk(LocalDateTime cutoff, int limit, LockLease fence) {
+        lockService.checkFence(fence);
+        List<Long> ids = archiveRepo.lockArchivable(cutoff, limit);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        int orders = archiveRepo.copyOrders(ids, now);
+        int items = archiveRepo.copyItems(ids);
+        int history = archiveRepo.copyHistory(ids);
+        archiveRepo.deleteHistory(ids);
+        archiveRepo.deleteItems(ids);
+        archiveRepo.deleteOrders(ids);
+        log.debug("Archived {} orders with {} items and {} history rows", orders, items, history);
+        return orders;
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<OrderResponse> findOrder(Long id) {
+        Optional<OrderResponse> order = archiveRepo.findById(id).map(OrderArchiveService::toResponse);
+        order.ifPresent(o -> metrics.archiveRead());
+        return order;
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<Long> findVersion(Long id) {
+        return archiveRepo.findVersionById(id);
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<OrderStatus> findStatus(Long id) {
+        return archiveRepo.findStatusById(id);
+    }
+
+    @Transactional(readOnly = true)
+    public long countStatusHistory(Long orderId) {
+        return archiveRepo.countHistory(orderId);
+    }
+
+    @Transactional(readOnly = true)
+    public List<OrderStatusHistoryDto> getStatusHistory(Long orderId) {
+        return archiveRepo.findHistory(orderId).stream()
+                          .map(h -> new OrderStatusHistoryDto(h.getId(), h.getPreviousStatus(), h.getNewStatus(),
+                                                              h.getChangedBy(), h.getChangedAt()))
+                          .toList();
+    }
+
+    private static OrderResponse toResponse(ArchivedOrderEntity e) {
+        OrderResponse r = new OrderResponse();
+        r.setId(e.getId());
+        r.setClientRequestId(e.getClientRequestId());
+        r.setCustomerName(e.getCustomerName());
+        r.setStatus(e.getStatus());
+        r.setTotalAmountMinor(e.getTotalAmountMinor());
+        r.setCreatedAt(e.getCreatedAt());
+        r.setUpdatedAt(e.getUpdatedAt());
+        r.setVersion(e.getVersion());
+        r.setItems(e.getItems().stream().map(it -> {
+            OrderResponse.Item i = new OrderResponse.Item();
+            i.setId(it.getId());
+            i.setSku(it.getSku());
+            i.setName(it.getName());
+            i.setQuantity(it.getQuantity());
+            i.setPriceMinor(it.getPriceMinor());
+            return i;
+        }).toList());
+        return r;
+    }
+}
@@ -0,0 +1,46 @@
+package com.peerisland.orderManagement.service;
+
+import com.peerisland.orderManagement.model.OrderEntity;
+import com.peerisland.orderManagement.repository.OrderSummaryRow;
+
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position in the (created_at, id) order of the keyset listing, encoded as an opaque URL-safe token.
+ */
+record OrderCursor(OffsetDateTime createdAt, Long id) {
+
+    private static final char SEPARATOR = '|';
+
+    static OrderCursor after(OrderEntity last) {
+        return new OrderCursor(last.getCreatedAt(), last.getId());
+    }
+
+    static OrderCursor after(OrderSummaryRow last) {
+        return new OrderCursor(last.getCreatedAt(), last.getId());
+    }
+
+    String encode() {
+        String raw = createdAt + String.valueOf(SEPARATOR) + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws IllegalArgumentException if the token was not produced by {@link #encode()}
+     */
+    static OrderCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int sep = raw.lastIndexOf(SEPARATOR);
+            if (sep < 0) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new OrderCursor(OffsetDateTime.parse(raw.substring(0, sep)), Long.valueOf(raw.substring(sep + 1)));
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + token, e);
+        }
+    }
+}
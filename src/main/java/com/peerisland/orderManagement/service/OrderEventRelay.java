@@ -0,0 +1,259 @@
+package com.peerisland.orderManagement.service;
+
+import com.peerisland.orderManagement.config.OutboxProperties;
+import com.peerisland.orderManagement.dto.OrderChangeEvent;
+import com.peerisland.orderManagement.exception.LockLostException;
+import com.peerisland.orderManagement.repository.OrderEventRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Publishes the order_events outbox to every {@link OrderEventSink}.
+ *
+ * One node at a time relays: the relay thread holds the outbox lease (renewed by heartbeat) for as long as it
+ * runs, and other nodes stand by until it lapses. Each batch is read in id order, handed to all sinks, then
+ * stamped published_at in a transaction fenced by the lease; that stamp is the checkpoint. A crash or sink
+ * failure between publish and stamp re-sends the batch, so delivery is at-least-once.
+ *
+ * Stamps only go forwards, one per batch, also across a failover (a new relay starts after the latest stamp),
+ * so other nodes can follow published events by (published_at, id) (see {@link OrderTrackingHub}).
+ *
+ * Ids come from order_events_seq one at a time when an event is written, on every node, so they follow write
+ * order: the events of one order are relayed in the order they happened (a change is only written after the
+ * previous one committed). Across orders, an id is allocated before its transaction commits, so an event can
+ * become visible after a higher id was already relayed; it is picked up by the next batch.
+ */
+@Component
+public class OrderEventRelay implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderEventRelay.class);
+
+    private static final String LOCK_NAME = "order-outbox-relay";
+    private static final long MAX_BACKOFF_MILLIS = 30_000;
+
+    private final OrderEventRepository eventRepo;
+    private final List<OrderEventSink> sinks;
+    private final LockService lockService;
+    private final OutboxProperties properties;
+    private final TransactionTemplate readTx;
+    private final TransactionTemplate checkpointTx;
+
+    private final AtomicLong published = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private final AtomicLong publishNanos = new AtomicLong();
+    private volatile long lastLagMillis;
+    private volatile long maxLagMillis;
+
+    private LockLease lease;
+    private Instant lastStamp = Instant.EPOCH;
+    private long standbyUntil;
+    private volatile boolean running;
+    private Thread relay;
+
+    public OrderEventRelay(OrderEventRepository eventRepo, List<OrderEventSink> sinks, LockService lockService,
+                           OutboxProperties properties, PlatformTransactionManager transactionManager) {
+        this.eventRepo = eventRepo;
+        this.sinks = sinks;
+        this.lockService = lockService;
+        this.properties = properties;
+        this.readTx = new TransactionTemplate(transactionManager);
+        this.readTx.setReadOnly(true);
+        this.checkpointTx = new TransactionTemplate(transactionManager);
+        this.standbyUntil = System.nanoTime();
+    }
+
+    /**
+     * Publishes and checkpoints at most one batch; returns how many events it published. Zero when the
+     * outbox is empty or another node holds the lease.
+     */
+    int relayBatch() {
+        if (!eventRepo.existsByPublishedAtIsNull()) {
+            return 0;
+        }
+        LockLease held = currentLease();
+        if (held == null) {
+            return 0;
+        }
+
+        List<OrderChangeEvent> events = readTx.execute(tx -> eventRepo.findUnpublished(Limit.of(properties.getBatchSize()))
+                                                                      .stream().map(OrderChangeEvent::fromEntity).toList());
+        if (events.isEmpty()) {
+            return 0;
+        }
+
+        long start = System.nanoTime();
+        for (OrderEventSink sink : sinks) {
+            sink.publish(events);
+        }
+        Instant now = nextStamp();
+        List<Long> ids = events.stream().map(OrderChangeEvent::eventId).toList();
+        checkpointTx.executeWithoutResult(tx -> {
+            lockService.checkFence(held);
+            eventRepo.markPublished(ids, now);
+        });
+
+        publishNanos.addAndGet(System.nanoTime() - start);
+        published.addAndGet(events.size());
+        batches.incrementAndGet();
+        // events are in id order, so the first one is (nearly always) the oldest of the batch
+        long lag = Duration.between(events.get(0).occurredAt(), now).toMillis();
+        lastLagMillis = lag;
+        maxLagMillis = Math.max(maxLagMillis, lag);
+        return events.size();
+    }
+
+    private LockLease currentLease() {
+        if (lease != null && !lease.isLost()) {
+            return lease;
+        }
+        lease = null;
+        if (System.nanoTime() - standbyUntil < 0) {
+            return null;
+        }
+        lease = lockService.tryAcquireLease(LOCK_NAME, properties.getLease()).orElse(null);
+        if (lease == null) {
+            // another node is relaying; check again once its lease could have lapsed
+            standbyUntil = System.nanoTime() + properties.getLease().toNanos() / 2;
+        } else {
+            // the previous relay may have run on a node whose clock is ahead of ours
+            lastStamp = eventRepo.findLastPublishedAt().orElse(Instant.EPOCH);
+        }
+        return lease;
+    }
+
+    // At database precision, so followers compare against exactly the value that was stored. Strictly
+    // increasing, also when the clock has not moved on (or is behind the previous relay's): every batch gets a
+    // stamp of its own, so followers can page on (published_at, id) without missing a later batch.
+    private Instant nextStamp() {
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MICROS);
+        lastStamp = now.isAfter(lastStamp) ? now : lastStamp.plus(1, ChronoUnit.MICROS);
+        return lastStamp;
+    }
+
+    private void runRelay() {
+        long pollNanos = properties.getPollInterval().toNanos();
+        long backoffMillis = properties.getPollInterval().toMillis();
+        while (running) {
+            int relayed;
+            try {
+                relayed = relayBatch();
+                backoffMillis = properties.getPollInterval().toMillis();
+            } catch (LockLostException e) {
+                log.warn("Outbox lease was taken over; batch left for the new relay: {}", e.getMessage());
+                lease = null;
+                continue;
+            } catch (RuntimeException e) {
+                failures.incrementAndGet();
+                log.error("Outbox relay failed; retrying the batch in {} ms", backoffMillis, e);
+                LockSupport.parkNanos(this, backoffMillis * 1_000_000L);
+                backoffMillis = Math.min(backoffMillis * 2, MAX_BACKOFF_MILLIS);
+                continue;
+            }
+            // a full batch means there is probably more: go again without waiting
+            if (relayed < properties.getBatchSize()) {
+                LockSupport.parkNanos(this, pollNanos);
+            }
+        }
+    }
+
+    /**
+     * Relay counters plus the current backlog (two indexed queries). {@code eventsPerSecond} is the
+     * publish rate while busy: events over time spent publishing and checkpointing.
+     */
+    public OutboxStats stats() {
+        long nanos = publishNanos.get();
+        double rate = nanos == 0 ? 0.0 : published.get() * 1_000_000_000.0 / nanos;
+        long backlog = eventRepo.countByPublishedAtIsNull();
+        long oldestAge = eventRepo.findOldestUnpublishedOccurredAt()
+                                  .map(t -> Duration.between(t, Instant.now()).toMillis())
+                                  .orElse(0L);
+        return new OutboxStats(published.get(), batches.get(), failures.get(), rate, lastLagMillis, maxLagMillis,
+                               backlog, oldestAge);
+    }
+
+    @Scheduled(fixedDelayString = "${orders.outbox.purge-interval:1h}",
+               initialDelayString = "${orders.outbox.purge-interval:1h}")
+    public int purgePublished() {
+        Instant cutoff = Instant.now().minus(properties.getRetention());
+        int total = 0;
+        int deleted;
+        do {
+            deleted = eventRepo.deletePublishedBefore(cutoff, properties.getPurgeChunk());
+            total += deleted;
+        } while (deleted == properties.getPurgeChunk());
+        if (running) {
+            OutboxStats s = stats();
+            log.info("Order outbox: published={} batches={} failures={} rate={}/s lastLag={} ms maxLag={} ms "
+                         + "backlog={} oldestUnpublished={} ms purged={}",
+                     s.published(), s.batches(), s.failures(), String.format("%.1f", s.eventsPerSecond()),
+                     s.lastLagMillis(), s.maxLagMillis(), s.backlog(), s.oldestUnpublishedAgeMillis(), total);
+        }
+        return total;
+    }
+
+    @Override
+    public void start() {
+        if (!properties.isRelayEnabled()) {
+            return;
+        }
+        running = true;
+        relay = new Thread(this::runRelay, "outbox-relay");
+        relay.setDaemon(true);
+        relay.start();
+        log.info("Order outbox relay started (batch={}, poll={} ms, sinks={})", properties.getBatchSize(),
+                 properties.getPollInterval().toMillis(), sinks.stream().map(s -> s.getClass().getSimpleName()).toList());
+    }
+
+    @Override
+    public void stop() {
+        if (running) {
+            running = false;
+            LockSupport.unpark(relay);
+            try {
+                relay.join(10_000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            log.info("Order outbox relay stopped after {} events", published.get());
+        }
+        if (lease != null) {
+            lockService.releaseLease(lease);
+            lease = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    public record OutboxStats(
+        long published,
+        long batches,
+        long failures,
+        double eventsPerSecond,
+        long lastLagMillis,
+        long maxLagMillis,
+        long backlog,
+        long oldestUnpublishedAgeMillis
+    ) {}
+}
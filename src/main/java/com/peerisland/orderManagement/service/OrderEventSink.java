@@ -0,0 +1,15 @@
+package com.peerisland.orderManagement.service;
+
+import com.peerisland.orderManagement.dto.OrderChangeEvent;
+
+import java.util.List;
+
+/**
+ * Destination of the outbox relay. Every sink bean receives every batch, in event id order, from the
+ * relay thread. Throwing makes the relay retry the whole batch (on every sink) after a backoff, so
+ * sinks must tolerate events they have already accepted.
+ */
+public interface OrderEventSink {
+
+    void publish(List<OrderChangeEvent> events);
+}
@@ -0,0 +1,175 @@
+package com.peerisland.orderManagement.service;
+
+import com.peerisland.orderManagement.model.OrderStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Business metrics of the order pipeline, next to the {@code orders.service} method timers (@Timed) and
+ * Boot's {@code http.server.requests}. Everything under {@code orders.*} publishes a percentile histogram
+ * (application.yml), so p50/p99 are computed across instances at query time.
+ *
+ * <ul>
+ *   <li>{@code orders.status.transitions{from,to}}: committed status changes</li>
+ *   <li>{@code orders.scheduler.batch.size} / {@code .duration{mode}}: one scheduler chunk</li>
+ *   <li>{@code orders.scheduler.run{mode}} / {@code orders.scheduler.run.orders{mode}}: one scheduler run</li>
+ *   <li>{@code orders.lock.acquire{lock,provider,outcome}}: lock acquisition latency and outcome</li>
+ *   <li>{@code orders.lock.lost{lock}}: leases taken over while held</li>
+ *   <li>{@code orders.conflicts{type}}: requests failed by a concurrent modification</li>
+ *   <li>{@code orders.writes.conflicts{operation,outcome}}: writes that hit a concurrent modification,
+ *   {@code retried} or {@code exhausted}</li>
+ *   <li>{@code orders.writes.coalesced{operation}} / {@code orders.writes.lock.wait{operation}}: duplicate
+ *   writes served by one in flight, and time queued behind writes to the same order</li>
+ *   <li>{@code orders.archive.run} / {@code orders.archive.orders}: one archive run and the orders it moved</li>
+ *   <li>{@code orders.archive.reads}: reads by id answered from the archive</li>
+ * </ul>
+ */
+@Component
+public class OrderMetrics {
+
+    private final MeterRegistry registry;
+
+    public OrderMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * Counts {@code count} transitions once the surrounding transaction commits (immediately when there is
+     * none), so rolled-back changes are never counted.
+     */
+    public void transitionAfterCommit(OrderStatus from, OrderStatus to, int count) {
+        if (count <= 0) {
+            return;
+        }
+        Counter counter = Counter.builder("orders.status.transitions")
+                                 .description("Committed order status changes")
+                                 .tag("from", from == null ? "NONE" : from.name())
+                                 .tag("to", to.name())
+                                 .register(registry);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    counter.increment(count);
+                }
+            });
+        } else {
+            counter.increment(count);
+        }
+    }
+
+    public void schedulerBatch(String mode, int orders, long nanos) {
+        DistributionSummary.builder("orders.scheduler.batch.size")
+                           .description("Orders moved from PENDING to PROCESSING per scheduler chunk")
+                           .baseUnit("orders")
+                           .tag("mode", mode)
+                           .register(registry)
+                           .record(orders);
+        Timer.builder("orders.scheduler.batch.duration")
+             .description("Time to claim and move one scheduler chunk")
+             .tag("mode", mode)
+             .register(registry)
+             .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void schedulerRun(String mode, int orders, Duration elapsed) {
+        Timer.builder("orders.scheduler.run")
+             .description("Duration of one scheduler run")
+             .tag("mode", mode)
+             .register(registry)
+             .record(elapsed);
+        DistributionSummary.builder("orders.scheduler.run.orders")
+                           .description("Orders moved per scheduler run")
+                           .baseUnit("orders")
+                           .tag("mode", mode)
+                           .register(registry)
+                           .record(orders);
+    }
+
+    /**
+     * @param outcome {@code acquired}, {@code held} (another owner has it) or {@code error}
+     */
+    public void lockAcquire(String lockName, String provider, String outcome, long nanos) {
+        Timer.builder("orders.lock.acquire")
+             .description("Lock acquisition attempts")
+             .tag("lock", lockName)
+             .tag("provider", provider)
+             .tag("outcome", outcome)
+             .register(registry)
+             .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void lockLost(String lockName) {
+        Counter.builder("orders.lock.lost")
+               .description("Leases found taken over while still held")
+               .tag("lock", lockName)
+               .register(registry)
+               .increment();
+    }
+
+    public void writeLockWait(String operation, long nanos) {
+        Timer.builder("orders.writes.lock.wait")
+             .description("Time a status write waited behind writes to the same order")
+             .tag("operation", operation)
+             .register(registry)
+             .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * @param outcome {@code retried} or {@code exhausted} (attempts used up, the client gets 409)
+     */
+    public void writeConflict(String operation, String outcome) {
+        Counter.builder("orders.writes.conflicts")
+               .description("Status write attempts that failed on a concurrent modification")
+               .tag("operation", operation)
+               .tag("outcome", outcome)
+               .register(registry)
+               .increment();
+    }
+
+    public void writeCoalesced(String operation) {
+        Counter.builder("orders.writes.coalesced")
+               .description("Duplicate status writes answered by an identical write in flight")
+               .tag("operation", operation)
+               .register(registry)
+               .increment();
+    }
+
+    /**
+     * @param type {@code optimistic_lock} or {@code concurrency}
+     */
+    public void conflict(String type) {
+        Counter.builder("orders.conflicts")
+               .description("Requests rejected because the order was modified concurrently")
+               .tag("type", type)
+               .register(registry)
+               .increment();
+    }
+
+    public void archiveRun(int orders, Duration elapsed) {
+        Timer.builder("orders.archive.run")
+             .description("Duration of one archive run")
+             .register(registry)
+             .record(elapsed);
+        Counter.builder("orders.archive.orders")
+               .description("Terminal orders moved to the archive tables")
+               .baseUnit("orders")
+               .register(registry)
+               .increment(orders);
+    }
+
+    public void archiveRead() {
+        Counter.builder("orders.archive.reads")
+               .description("Reads by id that missed the hot tables and were answered from the archive")
+               .register(registry)
+               .increment();
+    }
+}
@@ -0,0 +1,151 @@
+package com.peerisland.orderManagement.service;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.github.benmanes.caffeine.cache.stats.ConcurrentStatsCounter;
+import com.peerisland.orderManagement.config.OrderCacheProperties;
+import com.peerisland.orderManagement.dto.OrderResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+/**
+ * Bounded read-through cache of {@link OrderResponse} by order id (Caffeine: size + TTL eviction,
+ * W-TinyLFU admission so one-off reads do not push out hot tracking entries).
+ *
+ * Writers invalidate the ids they touch both immediately and again once the transaction completes, so a reader that
+ * loads the old row between the write and the commit cannot leave a stale entry behind. That covers writes made
+ * on this node only: a change made on another node stays invisible to {@link #get(Long, Function)} for up to
+ * the TTL. Reads that must not lag (the ETag endpoints) read the order's version first and pass it to
+ * {@link #get(Long, long, Function)}.
+ *
+ * A miss is loaded by the calling thread outside any cache lock (concurrent readers of the same id wait for
+ * its result), not inside Caffeine's compute: that runs under a monitor, which pins a virtual thread to its
+ * carrier for the whole database load (see VirtualThreadsConfig).
+ */
+@Component
+public class OrderResponseCache implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderResponseCache.class);
+
+    private final AsyncCache<Long, OrderResponse> loads;
+    private final Cache<Long, OrderResponse> cache;
+    private final ConcurrentStatsCounter statsCounter = new ConcurrentStatsCounter();
+    private final boolean enabled;
+
+    public OrderResponseCache(OrderCacheProperties properties) {
+        this.enabled = properties.isEnabled();
+        this.loads = Caffeine.newBuilder()
+                             .maximumSize(properties.getMaxSize())
+                             .expireAfterWrite(properties.getTtl())
+                             .recordStats(() -> statsCounter)
+                             .buildAsync();
+        this.cache = loads.synchronous();
+    }
+
+    public OrderResponse get(Long id, Function<Long, OrderResponse> loader) {
+        if (!enabled) {
+            return loader.apply(id);
+        }
+        CompletableFuture<OrderResponse> load = new CompletableFuture<>();
+        CompletableFuture<OrderResponse> cached = loads.asMap().putIfAbsent(id, load);
+        if (cached != null) {
+            statsCounter.recordHits(1);
+            return await(cached);
+        }
+        statsCounter.recordMisses(1);
+        try {
+            OrderResponse loaded = loader.apply(id);
+            load.complete(loaded);
+            return loaded;
+        } catch (RuntimeException | Error e) {
+            // failures (such as a missing order) are not cached
+            loads.asMap().remove(id, load);
+            load.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Like {@link #get(Long, Function)}, but a response older than {@code version} (the order changed on another
+     * node, whose writes do not invalidate this cache) is dropped and loaded again.
+     */
+    public OrderResponse get(Long id, long version, Function<Long, OrderResponse> loader) {
+        OrderResponse response = get(id, loader);
+        if (response.getVersion() >= version) {
+            return response;
+        }
+        cache.invalidate(id);
+        return get(id, loader);
+    }
+
+    private static OrderResponse await(CompletableFuture<OrderResponse> load) {
+        try {
+            return load.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    public void invalidateAfterCommit(Long id) {
+        invalidateAfterCommit(List.of(id));
+    }
+
+    public void invalidateAfterCommit(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        cache.invalidateAll(ids);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.invalidateAll(ids);
+                }
+            });
+        }
+    }
+
+    public OrderCacheStats stats() {
+        CacheStats s = cache.stats();
+        return new OrderCacheStats(s.hitCount(), s.missCount(), s.hitRate(), s.evictionCount(), cache.estimatedSize());
+    }
+
+    /** Hit/miss/eviction meters ({@code cache.*{cache="order-responses"}}). */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "order-responses");
+    }
+
+    Cache<Long, OrderResponse> nativeCache() {
+        return cache;
+    }
+
+    @Scheduled(fixedDelayString = "${orders.cache.stats-log-interval:5m}", initialDelayString = "${orders.cache.stats-log-interval:5m}")
+    void logStats() {
+        if (enabled) {
+            OrderCacheStats s = stats();
+            log.info("Order cache: size={} hits={} misses={} hitRate={} evictions={}",
+                     s.size(), s.hits(), s.misses(), String.format("%.3f", s.hitRate()), s.evictions());
+        }
+    }
+
+    public record OrderCacheStats(long hits, long misses, double hitRate, long evictions, long size) {}
+}
@@ -1,60 +1,171 @@
 package com.peerisland.orderManagement.service;
 
 import com.peerisland.orderManagement.dto.CreateOrderRequest;
+import com.peerisland.orderManagement.dto.CursorPage;
 import com.peerisland.orderManagement.dto.OrderResponse;
+import com.peerisland.orderManagement.dto.OrderStatsResponse;
 import com.peerisland.orderManagement.dto.OrderStatusHistoryDto;
+import com.peerisland.orderManagement.dto.OrderSummary;
 import com.peerisland.orderManagement.exception.NotFoundException;
+import com.peerisland.orderManagement.exception.PreconditionFailedException;
 import com.peerisland.orderManagement.model.OrderEntity;
+import com.peerisland.orderManagement.model.OrderEventEntity;
+import com.peerisland.orderManagement.model.OrderEventType;
 import com.peerisland.orderManagement.model.OrderItemEntity;
 import com.peerisland.orderManagement.model.OrderStatus;
 import com.peerisland.orderManagement.model.OrderStatusHistoryEntity;
+import com.peerisland.orderManagement.repository.OrderEventRepository;
+import com.peerisland.orderManagement.repository.OrderIdAmount;
+import com.peerisland.orderManagement.repository.OrderItemRepository;
 import com.peerisland.orderManagement.repository.OrderRepository;
 import com.peerisland.orderManagement.repository.OrderStatusHistoryRepository;
+import com.peerisland.orderManagement.repository.OrderSummaryRow;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.persistence.PersistenceContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Core order business logic: create (idempotent), read, list, cancel, update, and batch bump.
+ * Every change also appends its order_events outbox row in the same transaction (see {@link OrderEventRelay}).
+ * Each public method is timed as {@code orders.service{method}}; committed transitions are counted by
+ * {@link OrderMetrics}.
  */
 @Service
+@Timed(value = "orders.service", description = "OrderService method latency")
 public class OrderService {
 
     private static final Logger log = LoggerFactory.getLogger(OrderService.class);
 
     private final OrderRepository orderRepo;
+    private final OrderItemRepository itemRepo;
     private final OrderStatusHistoryRepository oshRepo;
+    private final OrderEventRepository eventRepo;
+    private final LockService lockService;
+    private final OrderResponseCache responseCache;
+    private final IdempotencyService idempotency;
+    private final StatusHistoryPipeline historyPipeline;
+    private final OrderMetrics metrics;
+    private final OrderWriteGate writeGate;
+    private final OrderStatsService stats;
+    private final OrderArchiveService archive;
+    private final TransactionTemplate writeTx;
+    private final TransactionTemplate readOnlyTx;
 
     private static final int BATCH_SIZE = 200;
+    private static final int EXPORT_CHUNK = OrderRepository.EXPORT_FETCH_SIZE;
+    static final int MAX_SEARCH_SKUS = 100;
+    static final int DEFAULT_PAGE_SIZE = 50;
+    // a page plus its look-ahead row stays within one @BatchSize(500) round of item loads
+    static final int MAX_PAGE_SIZE = 200;
+    // a claim picks from the oldest this-many chunks of claimable orders, so concurrent claimers find disjoint rows
+    static final int CLAIM_WINDOW_CHUNKS = 4;
 
-    public OrderService(OrderRepository orderRepo, OrderStatusHistoryRepository oshRepo) {
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public OrderService(OrderRepository orderRepo, OrderItemRepository itemRepo, OrderStatusHistoryRepository oshRepo,
+                        OrderEventRepository eventRepo,
+                        LockService lockService, OrderResponseCache responseCache, IdempotencyService idempotency,
+                        StatusHistoryPipeline historyPipeline, OrderMetrics metrics, OrderWriteGate writeGate,
+                        OrderStatsService stats, OrderArchiveService archive,
+                        PlatformTransactionManager transactionManager) {
         this.orderRepo = orderRepo;
+        this.itemRepo = itemRepo;
         this.oshRepo = oshRepo;
+        this.eventRepo = eventRepo;
+        this.lockService = lockService;
+        this.responseCache = responseCache;
+        this.idempotency = idempotency;
+        this.historyPipeline = historyPipeline;
+        this.metrics = metrics;
+        this.writeGate = writeGate;
+        this.stats = stats;
+        this.archive = archive;
+        this.writeTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
     }
 
     /**
-     * Idempotent create: if clientRequestId provided and an order exists with that id,
-     * return that order instead of creating a duplicate.
+     * Idempotent create. The clientRequestId is claimed in idempotency_keys in the same transaction as
+     * the order (insert-first, no lookup for new keys). A retry is answered from the in-memory key cache
+     * or, when it loses the key insert, with the order created by the first request.
      */
-    @Transactional
     public OrderResponse createOrder(CreateOrderRequest req) {
-        if (req.getClientRequestId() != null && !req.getClientRequestId().isBlank()) {
-            var existing = orderRepo.findByClientRequestId(req.getClientRequestId());
-            if (existing.isPresent()) {
-                log.info("Idempotent create: returning existing order for clientRequestId={}", req.getClientRequestId());
-                return OrderResponse.fromEntity(existing.get());
+        String key = req.getClientRequestId() == null || req.getClientRequestId().isBlank()
+            ? null : req.getClientRequestId();
+        if (key != null) {
+            Optional<Long> known = idempotency.cachedOrderId(key);
+            if (known.isPresent()) {
+                log.info("Idempotent create: returning existing order for clientRequestId={}", key);
+                return getById(known.get());
+            }
+        }
+
+        try {
+            OrderResponse created = writeTx.execute(tx -> insertOrder(req, key));
+            if (key != null) {
+                idempotency.remember(key, created.getId());
+            }
+            return created;
+        } catch (DataIntegrityViolationException e) {
+            // Only a key conflict is a retry; anything else (or a key that vanished) is a real failure
+            Long existingId = key == null ? null : idempotency.resolve(key).orElse(null);
+            if (existingId == null) {
+                throw e;
             }
+            log.info("Idempotent create: key conflict, returning existing order for clientRequestId={}", key);
+            return getById(existingId);
+        }
+    }
+
+    private OrderResponse insertOrder(CreateOrderRequest req, String key) {
+        OrderEntity saved = orderRepo.save(newOrder(req));
+        if (key != null) {
+            idempotency.register(key, saved.getId());
         }
+        eventRepo.save(new OrderEventEntity(saved.getId(), OrderEventType.ORDER_CREATED, null,
+                                            saved.getStatus().name(), "SYSTEM"));
+        responseCache.invalidateAfterCommit(saved.getId());
+        stats.recordAfterCommit(null, saved.getStatus(), 1, saved.getTotalAmountMinor());
+        log.info("Created order id={} clientRequestId={}", saved.getId(), saved.getClientRequestId());
+        return OrderResponse.fromEntity(saved);
+    }
 
+    /**
+     * Maps a create request to a new, unsaved order with its items and total. A blank clientRequestId is stored
+     * as null, like no key.
+     */
+    static OrderEntity newOrder(CreateOrderRequest req) {
         OrderEntity order = new OrderEntity();
-        order.setClientRequestId(req.getClientRequestId());
+        String key = req.getClientRequestId();
+        order.setClientRequestId(key == null || key.isBlank() ? null : key);
         order.setCustomerName(req.getCustomerName());
 
         req.getItems().forEach(dtoItem -> {
@@ -62,21 +173,49 @@ public class OrderService {
             item.setSku(dtoItem.getSku());
             item.setName(dtoItem.getName());
             item.setQuantity(dtoItem.getQuantity());
-            item.setPrice(dtoItem.getPrice());
+            item.setPriceMinor(dtoItem.getPriceMinor());
             order.addItem(item);
         });
-
-        order.recalcTotal();
-        OrderEntity saved = orderRepo.save(order);
-        log.info("Created order id={} clientRequestId={}", saved.getId(), saved.getClientRequestId());
-        return OrderResponse.fromEntity(saved);
+        return order;
     }
 
-    @Transactional(readOnly = true)
+    /**
+     * Read-through: served from {@link OrderResponseCache}; on a miss the order is loaded and mapped
+     * in a read-only transaction, from the archive if it has been moved there. Missing orders are not cached.
+     * The cache only sees this node's writes; see {@link #getById(Long, long)}.
+     */
     public OrderResponse getById(Long id) {
-        return orderRepo.findById(id)
-                        .map(OrderResponse::fromEntity)
-                        .orElseThrow(() -> new NotFoundException("Order not found: " + id));
+        return responseCache.get(id, this::loadById);
+    }
+
+    /**
+     * Like {@link #getById(Long)}, at least at {@code version} (from {@link #getVersion(Long)}): a cached response
+     * left behind by a change made on another node is reloaded.
+     */
+    public OrderResponse getById(Long id, long version) {
+        return responseCache.get(id, version, this::loadById);
+    }
+
+    private OrderResponse loadById(Long id) {
+        return readOnlyTx.execute(tx -> orderRepo.findById(id)
+                                                 .map(OrderResponse::fromEntity)
+                                                 .or(() -> archive.findOrder(id))
+                                                 .orElseThrow(() -> new NotFoundException("Order not found: " + id)));
+    }
+
+    /**
+     * Current version of an order (its ETag) without loading or mapping it: a primary-key lookup of the version
+     * column alone. Always read from the database, never from the node-local response cache, so a change made
+     * on any node shows.
+     */
+    public long getVersion(Long id) {
+        return readOnlyTx.execute(tx -> orderRepo.findVersionById(id)
+                                                 .or(() -> archive.findVersion(id))
+                                                 .orElseThrow(() -> new NotFoundException("Order not found: " + id)));
+    }
+
+    public OrderResponseCache.OrderCacheStats cacheStats() {
+        return responseCache.stats();
     }
 
     @Transactional(readOnly = true)
@@ -92,10 +231,183 @@ public class OrderService {
         }
     }
 
-    @Transactional
+    /**
+     * Keyset listing ordered by (createdAt, id): seeks past {@code cursor} instead of skipping rows,
+     * so every page costs the same however deep it is. A null or blank cursor starts at the beginning.
+     *
+     * @throws IllegalArgumentException if the cursor is not one this method returned, or the size is out of range
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<OrderResponse> listAfter(String cursor, Integer size, OrderStatus status) {
+        int s = pageSize(size);
+        // one extra row tells us whether there is a next page without a second query
+        Limit limit = Limit.of(s + 1);
+        OrderCursor after = cursor == null || cursor.isBlank() ? null : OrderCursor.decode(cursor);
+
+        List<OrderEntity> rows;
+        if (status == null) {
+            rows = after == null
+                ? orderRepo.findFirstKeysetPage(limit)
+                : orderRepo.findKeysetPageAfter(after.createdAt(), after.id(), limit);
+        } else {
+            rows = after == null
+                ? orderRepo.findFirstKeysetPageByStatus(status, limit)
+                : orderRepo.findKeysetPageByStatusAfter(status, after.createdAt(), after.id(), limit);
+        }
+
+        boolean hasMore = rows.size() > s;
+        List<OrderEntity> page = hasMore ? rows.subList(0, s) : rows;
+        String next = hasMore ? OrderCursor.after(page.get(page.size() - 1)).encode() : null;
+        return new CursorPage<>(page.stream().map(OrderResponse::fromEntity).collect(Collectors.toList()), next);
+    }
+
+    /**
+     * One customer's orders, keyset-paged by (createdAt, id) like {@link #listAfter}. Rows come from the covering
+     * customer index alone; with {@code includeItems} the page's items are loaded in one more statement.
+     *
+     * @throws IllegalArgumentException if the customer is blank, the cursor is not one this method returned, or
+     *                                  the size is out of range
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<OrderSummary> listByCustomer(String customer, String cursor, Integer size, boolean includeItems) {
+        if (customer == null || customer.isBlank()) {
+            throw new IllegalArgumentException("customer must not be blank");
+        }
+        int s = pageSize(size);
+        Limit limit = Limit.of(s + 1);
+        OrderCursor after = cursor == null || cursor.isBlank() ? null : OrderCursor.decode(cursor);
+
+        List<OrderSummaryRow> rows = after == null
+            ? orderRepo.findFirstCustomerPage(customer, limit)
+            : orderRepo.findCustomerPageAfter(customer, after.createdAt(), after.id(), limit);
+
+        boolean hasMore = rows.size() > s;
+        List<OrderSummaryRow> page = hasMore ? rows.subList(0, s) : rows;
+        String next = hasMore ? OrderCursor.after(page.get(page.size() - 1)).encode() : null;
+
+        Map<Long, List<OrderResponse.Item>> items = includeItems ? itemsByOrder(page) : Map.of();
+        List<OrderSummary> summaries = page.stream()
+            .map(r -> new OrderSummary(r.getId(), r.getStatus(), r.getTotalAmountMinor(), r.getCreatedAt(),
+                                       includeItems ? items.getOrDefault(r.getId(), List.of()) : null))
+            .collect(Collectors.toList());
+        return new CursorPage<>(summaries, next);
+    }
+
+    /**
+     * Orders containing any of {@code skus}, optionally with the given status, keyset-paged by (createdAt, id)
+     * like {@link #listAfter}. The page and all of its items load in two statements: the size is capped at
+     * {@value #MAX_PAGE_SIZE}, so the page's items fit one {@code @BatchSize} round.
+     *
+     * @throws IllegalArgumentException if no SKU or more than {@value #MAX_SEARCH_SKUS} are given, the cursor
+     *                                  is not one this method returned, or the size is out of range
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<OrderResponse> searchBySku(Collection<String> skus, OrderStatus status, String cursor, Integer size) {
+        Set<String> wanted = new LinkedHashSet<>();
+        if (skus != null) {
+            for (String sku : skus) {
+                if (sku != null && !sku.isBlank()) {
+                    wanted.add(sku.trim());
+                }
+            }
+        }
+        if (wanted.isEmpty()) {
+            throw new IllegalArgumentException("at least one sku is required");
+        }
+        if (wanted.size() > MAX_SEARCH_SKUS) {
+            throw new IllegalArgumentException("at most " + MAX_SEARCH_SKUS + " skus per search, got " + wanted.size());
+        }
+        int s = pageSize(size);
+        Limit limit = Limit.of(s + 1);
+        OrderCursor after = cursor == null || cursor.isBlank() ? null : OrderCursor.decode(cursor);
+
+        List<OrderEntity> rows = after == null
+            ? orderRepo.findFirstSkuPage(wanted, status, limit)
+            : orderRepo.findSkuPageAfter(wanted, status, after.createdAt(), after.id(), limit);
+
+        boolean hasMore = rows.size() > s;
+        List<OrderEntity> page = hasMore ? rows.subList(0, s) : rows;
+        String next = hasMore ? OrderCursor.after(page.get(page.size() - 1)).encode() : null;
+        return new CursorPage<>(page.stream().map(OrderResponse::fromEntity).collect(Collectors.toList()), next);
+    }
+
+    /**
+     * Size of a cursor page: {@value #DEFAULT_PAGE_SIZE} when not given.
+     *
+     * @throws IllegalArgumentException unless 1 to {@value #MAX_PAGE_SIZE}
+     */
+    static int pageSize(Integer size) {
+        int s = size == null ? DEFAULT_PAGE_SIZE : size;
+        if (s < 1 || s > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("size must be between 1 and " + MAX_PAGE_SIZE + ", got " + s);
+        }
+        return s;
+    }
+
+    private Map<Long, List<OrderResponse.Item>> itemsByOrder(List<OrderSummaryRow> page) {
+        if (page.isEmpty()) {
+            return Map.of();
+        }
+        return itemRepo.findByOrderIds(page.stream().map(OrderSummaryRow::getId).toList())
+                       .stream()
+                       .collect(Collectors.groupingBy(i -> i.getOrder().getId(),
+                                                      Collectors.mapping(OrderResponse.Item::fromEntity,
+                                                                         Collectors.toList())));
+    }
+
+    /**
+     * Streams every order matching the filters (all optional, {@code to} exclusive) to {@code sink} in
+     * (createdAt, id) order and returns how many were written.
+     *
+     * Memory stays flat: rows come from a database cursor, items are batch-fetched per chunk of
+     * {@value #EXPORT_CHUNK} orders, and the session is cleared after each chunk is handed to the sink.
+     */
+    @Transactional(readOnly = true)
+    public long exportOrders(OrderStatus status, OffsetDateTime from, OffsetDateTime to, Consumer<OrderResponse> sink) {
+        long exported = 0;
+        List<OrderEntity> chunk = new ArrayList<>(EXPORT_CHUNK);
+        try (Stream<OrderEntity> rows = orderRepo.streamForExport(status, from, to)) {
+            var it = rows.iterator();
+            while (it.hasNext()) {
+                chunk.add(it.next());
+                if (chunk.size() == EXPORT_CHUNK || !it.hasNext()) {
+                    exported += writeChunk(chunk, sink);
+                }
+            }
+        }
+        log.info("Exported {} orders (status={}, from={}, to={})", exported, status, from, to);
+        return exported;
+    }
+
+    private int writeChunk(List<OrderEntity> chunk, Consumer<OrderResponse> sink) {
+        // the first items access loads the items of the whole chunk in one query (@BatchSize)
+        chunk.forEach(order -> sink.accept(OrderResponse.fromEntity(order)));
+        int written = chunk.size();
+        chunk.clear();
+        entityManager.clear();
+        return written;
+    }
+
     public OrderResponse cancelOrder(Long id) {
+        return cancelOrder(id, null);
+    }
+
+    /**
+     * Cancels a PENDING order. With {@code expectedVersion} (If-Match) the cancel only applies to that version;
+     * the version check in the UPDATE also catches a change committed between the read and the write.
+     * Serialised per order and retried on conflicts by {@link OrderWriteGate}, each attempt in its own transaction.
+     *
+     * @throws PreconditionFailedException if the order is no longer at {@code expectedVersion}
+     */
+    public OrderResponse cancelOrder(Long id, Long expectedVersion) {
+        return writeGate.execute(new OrderWriteGate.OrderWrite(id, "cancel", OrderStatus.CANCELLED, expectedVersion),
+                                 () -> writeTx.execute(tx -> doCancel(id, expectedVersion)));
+    }
+
+    private OrderResponse doCancel(Long id, Long expectedVersion) {
         OrderEntity order = orderRepo.findById(id)
-                                     .orElseThrow(() -> new NotFoundException("Order not found: " + id));
+                                     .orElseThrow(() -> archivedOr(id, new NotFoundException("Order not found: " + id)));
+        checkVersion(order, expectedVersion);
 
         if (order.getStatus() != OrderStatus.PENDING) {
             throw new IllegalStateException("Order can be cancelled only when PENDING.");
@@ -103,13 +415,16 @@ public class OrderService {
 
         OrderStatus previous = order.getStatus();
         order.setStatus(OrderStatus.CANCELLED);
+        order.releaseClaim();
         order.touchUpdatedAt();
 
         try {
-            OrderEntity saved = orderRepo.save(order);
+            // flushed now so the response carries the new version
+            OrderEntity saved = orderRepo.saveAndFlush(order);
+            responseCache.invalidateAfterCommit(id);
             log.info("Cancelled order id={}", saved.getId());
-            // Record status history
-            oshRepo.save(new OrderStatusHistoryEntity(saved, previous.name(), OrderStatus.CANCELLED.name(), "SYSTEM"));
+            // Record status history and the change event
+            recordStatusChange(saved, previous, OrderStatus.CANCELLED, "SYSTEM");
             return OrderResponse.fromEntity(saved);
         } catch (ObjectOptimisticLockingFailureException ole) {
             log.warn("Optimistic locking failure while cancelling order id={}", id, ole);
@@ -120,10 +435,25 @@ public class OrderService {
     /**
      * Update order status and record status history.
      */
-    @Transactional
     public OrderResponse updateStatus(Long id, OrderStatus newStatus) {
+        return updateStatus(id, newStatus, null);
+    }
+
+    /**
+     * Same, conditional on {@code expectedVersion} (If-Match) when it is not null. Goes through
+     * {@link OrderWriteGate} like {@link #cancelOrder(Long, Long)}.
+     *
+     * @throws PreconditionFailedException if the order is no longer at {@code expectedVersion}
+     */
+    public OrderResponse updateStatus(Long id, OrderStatus newStatus, Long expectedVersion) {
+        return writeGate.execute(new OrderWriteGate.OrderWrite(id, "updateStatus", newStatus, expectedVersion),
+                                 () -> writeTx.execute(tx -> doUpdateStatus(id, newStatus, expectedVersion)));
+    }
+
+    private OrderResponse doUpdateStatus(Long id, OrderStatus newStatus, Long expectedVersion) {
         OrderEntity order = orderRepo.findById(id)
-                                     .orElseThrow(() -> new EntityNotFoundException("Order not found: " + id));
+                                     .orElseThrow(() -> archivedOr(id, new EntityNotFoundException("Order not found: " + id)));
+        checkVersion(order, expectedVersion);
 
         OrderStatus prev = order.getStatus();
 
@@ -132,13 +462,15 @@ public class OrderService {
         }
 
         order.setStatus(newStatus);
+        order.releaseClaim();
         order.touchUpdatedAt();
         try {
-            OrderEntity saved = orderRepo.save(order);
+            OrderEntity saved = orderRepo.saveAndFlush(order);
+            responseCache.invalidateAfterCommit(id);
             log.info("Order id={} status updated to {}", id, newStatus);
 
-            // Record history
-            oshRepo.save(new OrderStatusHistoryEntity(saved, prev == null ? null : prev.name(), newStatus.name(), "SYSTEM"));
+            // Record history and the change event
+            recordStatusChange(saved, prev, newStatus, "SYSTEM");
 
             return OrderResponse.fromEntity(saved);
         } catch (ObjectOptimisticLockingFailureException ole) {
@@ -147,37 +479,152 @@ public class OrderService {
         }
     }
 
+    private static void checkVersion(OrderEntity order, Long expectedVersion) {
+        if (expectedVersion != null && !expectedVersion.equals(order.getVersion())) {
+            throw new PreconditionFailedException("Order " + order.getId() + " is at version " + order.getVersion()
+                                                      + ", not " + expectedVersion);
+        }
+    }
+
+    /**
+     * History and outbox event for a single status change. The event is always written in this transaction;
+     * history too, or handed to the write-behind pipeline after commit when it is enabled. (The scheduler's
+     * set-based INSERT ... SELECT is already one statement per chunk and always stays synchronous.)
+     */
+    private void recordStatusChange(OrderEntity order, OrderStatus previous, OrderStatus next, String changedBy) {
+        metrics.transitionAfterCommit(previous, next, 1);
+        stats.recordAfterCommit(previous, next, 1, order.getTotalAmountMinor());
+        String prev = previous == null ? null : previous.name();
+        eventRepo.save(new OrderEventEntity(order.getId(), OrderEventType.STATUS_CHANGED, prev, next.name(), changedBy));
+        if (historyPipeline.isEnabled()) {
+            historyPipeline.recordAfterCommit(order.getId(), prev, next.name(), changedBy);
+        } else {
+            oshRepo.save(new OrderStatusHistoryEntity(order, prev, next.name(), changedBy));
+        }
+    }
+
     /**
      * Bump up to BATCH_SIZE oldest PENDING orders to PROCESSING.
      * Returns number of orders updated.
      */
     @Transactional
     public int bumpPendingToProcessingBatch() {
-        var page = PageRequest.of(0, BATCH_SIZE);
-        List<Long> ids = orderRepo.findPendingOrderIds(OrderStatus.PENDING, page);
-        if (ids.isEmpty()) {
+        return bumpPendingToProcessingBatch(BATCH_SIZE);
+    }
+
+    /**
+     * Bump up to {@code batchSize} oldest PENDING orders to PROCESSING in one transaction.
+     * The scheduler calls this repeatedly to drain the backlog chunk by chunk.
+     *
+     * Set-based: lock the chunk's ids, write all history rows and all outbox events with one INSERT ... SELECT
+     * each and flip the status with one guarded UPDATE — four statements regardless of chunk size.
+     */
+    @Transactional
+    public int bumpPendingToProcessingBatch(int batchSize) {
+        if (!StateMachine.canTransition(OrderStatus.PENDING, OrderStatus.PROCESSING)) {
             return 0;
         }
 
-        List<OrderEntity> orders = orderRepo.findAllById(ids);
-        int updated = 0;
-        for (OrderEntity o : orders) {
-            if (o.getStatus() == OrderStatus.PENDING &&
-                StateMachine.canTransition(o.getStatus(), OrderStatus.PROCESSING)) {
-                o.setStatus(OrderStatus.PROCESSING);
-                o.touchUpdatedAt();
-                oshRepo.save(new OrderStatusHistoryEntity(o, OrderStatus.PENDING.name(), OrderStatus.PROCESSING.name(), "SCHEDULER"));
-                updated++;
-            }
+        var page = PageRequest.of(0, batchSize);
+        List<OrderIdAmount> chunk = orderRepo.findPendingOrderIds(OrderStatus.PENDING, page);
+        if (chunk.isEmpty()) {
+            return 0;
         }
-        orderRepo.saveAll(orders);
+        List<Long> ids = chunk.stream().map(OrderIdAmount::getId).toList();
+
+        OffsetDateTime now = OffsetDateTime.now();
+        oshRepo.insertTransitionHistory(ids, OrderStatus.PENDING.name(), OrderStatus.PROCESSING.name(),
+                                        "SCHEDULER", now.toLocalDateTime());
+        eventRepo.insertTransitionEvents(ids, OrderStatus.PENDING.name(), OrderStatus.PROCESSING.name(),
+                                         "SCHEDULER", now.toInstant());
+        int updated = orderRepo.transitionStatus(ids, OrderStatus.PENDING, OrderStatus.PROCESSING, now);
+        responseCache.invalidateAfterCommit(ids);
+        metrics.transitionAfterCommit(OrderStatus.PENDING, OrderStatus.PROCESSING, updated);
+        stats.recordAfterCommit(OrderStatus.PENDING, OrderStatus.PROCESSING, updated, totalOf(chunk));
         log.info("Bumped {} orders from PENDING to PROCESSING", updated);
         return updated;
     }
 
+    /**
+     * Same as {@link #bumpPendingToProcessingBatch(int)}, fenced by the scheduler lease: the chunk is
+     * only written if {@code fence} still carries the current fencing token, otherwise it rolls back.
+     */
+    @Transactional
+    public int bumpPendingToProcessingBatch(int batchSize, LockLease fence) {
+        lockService.checkFence(fence);
+        return bumpPendingToProcessingBatch(batchSize);
+    }
+
+    /**
+     * Claim up to {@code limit} PENDING orders for one worker, oldest first. The claim is a lease: if the worker
+     * dies before {@link #processClaimedOrders(String)}, the rows become claimable again after {@code ttl}. Any
+     * status change out of PENDING releases it.
+     */
+    @Transactional
+    public int claimPendingOrders(String claimId, int limit, Duration ttl) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> ids = orderRepo.lockClaimable(now, limit * CLAIM_WINDOW_CHUNKS, limit);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        return orderRepo.claimPending(claimId, ids, now.plus(ttl));
+    }
+
+    /**
+     * Move the orders held by a claim to PROCESSING with the same set-based statements as the batch bump.
+     * Rows re-claimed by another worker after this claim expired are left alone.
+     */
+    @Transactional
+    public int processClaimedOrders(String claimId) {
+        LocalDateTime now = LocalDateTime.now();
+        List<OrderIdAmount> claimed = orderRepo.findClaimedIds(claimId, OrderStatus.PENDING.name());
+        if (claimed.isEmpty()) {
+            return 0;
+        }
+        List<Long> ids = claimed.stream().map(OrderIdAmount::getId).toList();
+        oshRepo.insertClaimHistory(claimId, OrderStatus.PENDING.name(), OrderStatus.PROCESSING.name(), "SCHEDULER", now);
+        eventRepo.insertClaimEvents(claimId, OrderStatus.PENDING.name(), OrderStatus.PROCESSING.name(), "SCHEDULER",
+                                    Instant.now());
+        int updated = orderRepo.transitionClaimed(claimId, OrderStatus.PENDING.name(), OrderStatus.PROCESSING.name(), now);
+        responseCache.invalidateAfterCommit(ids);
+        metrics.transitionAfterCommit(OrderStatus.PENDING, OrderStatus.PROCESSING, updated);
+        stats.recordAfterCommit(OrderStatus.PENDING, OrderStatus.PROCESSING, updated, totalOf(claimed));
+        log.debug("Claim {} moved {} orders from PENDING to PROCESSING", claimId, updated);
+        return updated;
+    }
+
+    private static long totalOf(List<OrderIdAmount> orders) {
+        return orders.stream().mapToLong(OrderIdAmount::getTotalAmountMinor).sum();
+    }
+
+    /**
+     * Count and total amount per status, from {@link OrderStatsService} (no query).
+     */
+    public OrderStatsResponse getStats() {
+        return stats.stats();
+    }
+
+    @Transactional(readOnly = true)
+    public long countPendingOrders() {
+        return orderRepo.countByStatus(OrderStatus.PENDING);
+    }
+
+    /**
+     * Number of history rows of an order. Part of the history ETag: with write-behind, rows can be stored after
+     * the status change (and version bump) they belong to.
+     */
+    @Transactional(readOnly = true)
+    public long countStatusHistory(Long orderId) {
+        long hot = oshRepo.countByOrderId(orderId);
+        return hot > 0 ? hot : archive.countStatusHistory(orderId);
+    }
+
+    /**
+     * History of an order, from the archive once the order (and with it its whole history) has been moved.
+     */
     @Transactional(readOnly = true)
     public List<OrderStatusHistoryDto> getStatusHistory(Long orderId) {
-        return oshRepo.findByOrderIdOrderByChangedAtAsc(orderId)
+        List<OrderStatusHistoryDto> history = oshRepo.findByOrderIdOrderByChangedAtAsc(orderId)
                       .stream()
                       .map(h -> new OrderStatusHistoryDto(
                           h.getId(),
@@ -186,5 +633,17 @@ public class OrderService {
                           h.getChangedBy(),
                           h.getChangedAt()))
                       .collect(Collectors.toList());
+        return history.isEmpty() ? archive.getStatusHistory(orderId) : history;
+    }
+
+    /**
+     * An order missing from the hot table may have been archived: it is terminal then, and the write is refused
+     * as an invalid transition rather than reported as not found.
+     */
+    private RuntimeException archivedOr(Long id, RuntimeException notFound) {
+        return archive.findStatus(id)
+                      .<RuntimeException>map(status -> new IllegalStateException(
+                          "Order " + id + " is archived as " + status + " and can no longer change"))
+                      .orElse(notFound);
     }
 }
@@ -0,0 +1,277 @@
+package com.peerisland.orderManagement.service;
+
+import com.peerisland.orderManagement.config.OrderStatsProperties;
+import com.peerisland.orderManagement.config.WorkerThreads;
+import com.peerisland.orderManagement.dto.OrderStatsResponse;
+import com.peerisland.orderManagement.model.Money;
+import com.peerisland.orderManagement.model.OrderStatus;
+import com.peerisland.orderManagement.model.OrderStatusStats;
+import com.peerisland.orderManagement.repository.OrderStatusStatsRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Order count and total amount per status, maintained incrementally ({@code orders.stats.*}, see
+ * {@link com.peerisland.orderManagement.config.OrderStatsProperties}).
+ *
+ * Creates and transitions add their change to per-status {@link LongAdder}s once their transaction commits
+ * (amounts in minor units, like the orders themselves). Every {@code flush-interval} the accumulated changes are applied to order_status_stats
+ * with one additive UPDATE per status and the table is read back, which also brings in other nodes' flushes.
+ * {@link #stats()} is the last read plus whatever this node has not flushed yet: no query, whatever the number
+ * of orders. The flush runs on its own thread rather than the shared @Scheduled pool, so a long drain or archive
+ * run never holds it up.
+ *
+ * Every {@code reconcile-interval} the table is recomputed from orders, which corrects changes lost with a
+ * crashed node's unflushed counters. A change committed while that query runs can be counted twice or not at
+ * all until the next reconcile. The recompute is idempotent, so nodes do not coordinate it.
+ */
+@Service
+public class OrderStatsService implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderStatsService.class);
+
+    private static final OrderStatus[] STATUSES = OrderStatus.values();
+
+    private final OrderStatusStatsRepository statsRepo;
+    private final OrderStatsProperties properties;
+    private final WorkerThreads threads;
+    private final TransactionTemplate writeTx;
+    private final TransactionTemplate readOnlyTx;
+
+    // changes committed on this node and not flushed yet, indexed by ordinal
+    private final LongAdder[] pendingCounts = adders();
+    private final LongAdder[] pendingCents = adders();
+
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private volatile View view;
+    private volatile ScheduledExecutorService flusher;
+
+    public OrderStatsService(OrderStatusStatsRepository statsRepo, OrderStatsProperties properties,
+                             WorkerThreads threads, PlatformTransactionManager transactionManager) {
+        this.statsRepo = statsRepo;
+        this.properties = properties;
+        this.threads = threads;
+        this.writeTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx = new TransactionTemplate(transactionManager);
+        this.readOnlyTx.setReadOnly(true);
+    }
+
+    /**
+     * Counts {@code count} orders with a combined {@code amountMinor} moving from {@code from} (null for new
+     * orders) to {@code to}, once the surrounding transaction commits (immediately when there is none).
+     */
+    public void recordAfterCommit(OrderStatus from, OrderStatus to, long count, long amountMinor) {
+        if (count <= 0) {
+            return;
+        }
+        Runnable apply = () -> {
+            if (from != null) {
+                pendingCounts[from.ordinal()].add(-count);
+                pendingCents[from.ordinal()].add(-amountMinor);
+            }
+            pendingCounts[to.ordinal()].add(count);
+            pendingCents[to.ordinal()].add(amountMinor);
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply.run();
+                }
+            });
+        } else {
+            apply.run();
+        }
+    }
+
+    /**
+     * Persisted totals plus this node's unflushed changes.
+     */
+    public OrderStatsResponse stats() {
+        View current = view;
+        if (current == null) {
+            flush();
+            current = view;
+        }
+        Map<String, OrderStatsResponse.StatusTotals> byStatus = new LinkedHashMap<>();
+        long totalOrders = 0;
+        long totalCents = 0;
+        for (OrderStatus status : STATUSES) {
+            int i = status.ordinal();
+            long count = current.counts[i] + current.flushingCounts[i] + pendingCounts[i].sum();
+            long cents = current.cents[i] + current.flushingCents[i] + pendingCents[i].sum();
+            byStatus.put(status.name(), new OrderStatsResponse.StatusTotals(count, Money.toDecimal(cents)));
+            totalOrders += count;
+            totalCents += cents;
+        }
+        return new OrderStatsResponse(byStatus, totalOrders, Money.toDecimal(totalCents), current.readAt,
+                                      current.reconciledAt);
+    }
+
+    /**
+     * Writes this node's accumulated changes and reloads the persisted totals. On failure the changes are kept
+     * for the next flush. Runs every {@code flush-interval} on the flusher thread.
+     */
+    public void flush() {
+        flushLock.lock();
+        try {
+            if (view == null) {
+                view = read();
+            }
+            View current = view;
+            long[] counts = new long[STATUSES.length];
+            long[] cents = new long[STATUSES.length];
+            boolean any = false;
+            for (int i = 0; i < STATUSES.length; i++) {
+                counts[i] = pendingCounts[i].sum();
+                cents[i] = pendingCents[i].sum();
+                any |= counts[i] != 0 || cents[i] != 0;
+            }
+            if (any) {
+                // published as in flight before it leaves the adders, so stats() never misses it
+                view = current.flushing(counts, cents);
+                drain(counts, cents, -1);
+                try {
+                    writeTx.executeWithoutResult(tx -> {
+                        for (int i = 0; i < STATUSES.length; i++) {
+                            if (counts[i] != 0 || cents[i] != 0) {
+                                statsRepo.addDelta(STATUSES[i].name(), counts[i], Money.toDecimal(cents[i]));
+                            }
+                        }
+                    });
+                } catch (RuntimeException e) {
+                    drain(counts, cents, 1);
+                    view = current;
+                    throw e;
+                }
+            }
+            view = read();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * Recomputes order_status_stats from the orders and orders_archive tables (one aggregate per status each).
+     */
+    @Scheduled(fixedDelayString = "${orders.stats.reconcile-interval:1h}",
+               initialDelayString = "${orders.stats.reconcile-interval:1h}")
+    public void reconcile() {
+        flushLock.lock();
+        try {
+            flush();
+            long start = System.nanoTime();
+            writeTx.executeWithoutResult(tx -> statsRepo.reconcile(Instant.now()));
+            View before = view;
+            view = read();
+            log.info("Order stats reconciled in {} ms: {} orders (was {})", (System.nanoTime() - start) / 1_000_000,
+                     view.total(), before == null ? "unknown" : before.total());
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @Override
+    public void start() {
+        long interval = properties.getFlushInterval().toMillis();
+        flusher = Executors.newSingleThreadScheduledExecutor(threads.factory("order-stats-"));
+        flusher.scheduleWithFixedDelay(this::safeFlush, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    private void safeFlush() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            // a failing flush must not cancel the schedule; its changes are back in the adders for the next one
+            log.warn("Order stats flush failed: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public void stop() {
+        ScheduledExecutorService running = flusher;
+        flusher = null;
+        if (running == null) {
+            return;
+        }
+        running.shutdown();
+        try {
+            running.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return flusher != null;
+    }
+
+    private View read() {
+        List<OrderStatusStats> rows = readOnlyTx.execute(tx -> statsRepo.findAll());
+        long[] counts = new long[STATUSES.length];
+        long[] cents = new long[STATUSES.length];
+        Instant reconciledAt = null;
+        for (OrderStatusStats row : rows) {
+            int i = OrderStatus.valueOf(row.getStatus()).ordinal();
+            counts[i] = row.getOrderCount();
+            cents[i] = Money.toMinor(row.getTotalAmount());
+            if (row.getReconciledAt() != null && (reconciledAt == null || row.getReconciledAt().isBefore(reconciledAt))) {
+                reconciledAt = row.getReconciledAt();
+            }
+        }
+        return new View(counts, cents, new long[STATUSES.length], new long[STATUSES.length], Instant.now(),
+                        reconciledAt);
+    }
+
+    private void drain(long[] counts, long[] cents, int sign) {
+        for (int i = 0; i < STATUSES.length; i++) {
+            pendingCounts[i].add(sign * counts[i]);
+            pendingCents[i].add(sign * cents[i]);
+        }
+    }
+
+    private static LongAdder[] adders() {
+        LongAdder[] adders = new LongAdder[STATUSES.length];
+        for (int i = 0; i < adders.length; i++) {
+            adders[i] = new LongAdder();
+        }
+        return adders;
+    }
+
+    /**
+     * Last read of the table, plus changes being written by a flush that has not read the table back yet.
+     */
+    private record View(long[] counts, long[] cents, long[] flushingCounts, long[] flushingCents, Instant readAt,
+                        Instant reconciledAt) {
+
+        View flushing(long[] counts, long[] cents) {
+            return new View(this.counts, this.cents, counts, cents, readAt, reconciledAt);
+        }
+
+        long total() {
+            long total = 0;
+            for (long count : counts) {
+                total += count;
+            }
+            return total;
+        }
+    }
+}
@@ -0,0 +1,329 @@
+package com.peerisland.orderManagement.service;
+
+import com.peerisland.orderManagement.config.TrackingProperties;
+import com.peerisland.orderManagement.config.WorkerThreads;
+import com.peerisland.orderManagement.dto.OrderChangeEvent;
+import com.peerisland.orderManagement.dto.OrderResponse;
+import com.peerisland.orderManagement.model.OrderEventEntity;
+import com.peerisland.orderManagement.model.OrderEventType;
+import com.peerisland.orderManagement.model.OrderStatus;
+import com.peerisland.orderManagement.repository.OrderEventRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Fan-out of order status changes to Server-Sent Events subscribers (GET /api/orders/{id}/track/stream).
+ *
+ * Subscribers hold no thread: an open stream is an async request plus an {@link SseEmitter}. While anyone is
+ * subscribed, the hub polls the events the outbox relay has published (by published_at and id, so it works on
+ * every node, not only the one relaying) and queues each status change for the subscribers of that order. A small
+ * pool writes the queues to the connections, one drain at a time per subscriber so events keep their order;
+ * a subscriber that falls {@code max-pending-per-subscriber} events behind is disconnected.
+ *
+ * A stream starts with a {@code snapshot} event (order and history, as GET /track), then one {@code status}
+ * event per change (SSE id = event id). A change committed while the snapshot was read may also be pushed as a
+ * status event, so clients apply status events idempotently. Streams of DELIVERED or CANCELLED orders end
+ * after their last event.
+ */
+@Component
+public class OrderTrackingHub implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderTrackingHub.class);
+
+    private static final int POLL_LIMIT = 1_000;
+
+    private final OrderService orderService;
+    private final OrderEventRepository eventRepo;
+    private final TrackingProperties properties;
+    private final WorkerThreads threads;
+
+    private final Map<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final AtomicLong pushed = new AtomicLong();
+    private final AtomicLong disconnectedSlow = new AtomicLong();
+
+    // follower position, guarded by followLock (not a monitor: it is held across queries, see VirtualThreadsConfig)
+    private final ReentrantLock followLock = new ReentrantLock();
+    private boolean following;
+    private Instant since;
+    private long afterId;
+
+    private volatile ScheduledExecutorService executor;
+
+    public OrderTrackingHub(OrderService orderService, OrderEventRepository eventRepo, TrackingProperties properties,
+                            WorkerThreads threads) {
+        this.orderService = orderService;
+        this.eventRepo = eventRepo;
+        this.properties = properties;
+        this.threads = threads;
+    }
+
+    /**
+     * Opens a stream for {@code orderId}; empty when the node already serves {@code max-subscribers} streams.
+     *
+     * @throws com.peerisland.orderManagement.exception.NotFoundException if the order does not exist
+     */
+    public Optional<SseEmitter> subscribe(Long orderId) {
+        if (subscriberCount.incrementAndGet() > properties.getMaxSubscribers()) {
+            subscriberCount.decrementAndGet();
+            return Optional.empty();
+        }
+        Subscriber subscriber = new Subscriber(orderId, new SseEmitter(properties.getStreamTimeout().toMillis()));
+        try {
+            startFollowing();
+            // registered before the snapshot is read, so no change can slip between the two
+            subscribers.computeIfAbsent(orderId, id -> ConcurrentHashMap.newKeySet()).add(subscriber);
+            OrderResponse order = orderService.getById(orderId, orderService.getVersion(orderId));
+            Map<String, Object> snapshot = new LinkedHashMap<>();
+            snapshot.put("order", order);
+            snapshot.put("history", orderService.getStatusHistory(orderId));
+
+            subscriber.emitter.onCompletion(() -> remove(subscriber));
+            subscriber.emitter.onTimeout(subscriber.emitter::complete);
+            subscriber.emitter.onError(e -> remove(subscriber));
+            subscriber.start(SseEmitter.event().name("snapshot").data(snapshot));
+            if (isFinal(order.getStatus().name())) {
+                subscriber.finish();
+            }
+        } catch (RuntimeException e) {
+            remove(subscriber);
+            throw e;
+        }
+        return Optional.of(subscriber.emitter);
+    }
+
+    private void remove(Subscriber subscriber) {
+        if (!subscriber.removed.compareAndSet(false, true)) {
+            return;
+        }
+        subscriberCount.decrementAndGet();
+        subscribers.computeIfPresent(subscriber.orderId, (id, set) -> {
+            set.remove(subscriber);
+            return set.isEmpty() ? null : set;
+        });
+    }
+
+    private void startFollowing() {
+        followLock.lock();
+        try {
+            if (following) {
+                return;
+            }
+            // only changes published from now on; the snapshot covers everything before. A stamp belongs to one
+            // batch, checkpointed in one transaction, so the whole of the last one is already behind us.
+            since = eventRepo.findLastPublishedAt().orElse(Instant.EPOCH);
+            afterId = Long.MAX_VALUE;
+            following = true;
+        } finally {
+            followLock.unlock();
+        }
+    }
+
+    /**
+     * Reads newly published events and queues the status changes for their subscribers. Runs on the hub's
+     * poll schedule; stops following (no queries) once nobody is subscribed.
+     */
+    int poll() {
+        followLock.lock();
+        try {
+            if (subscriberCount.get() == 0) {
+                following = false;
+                return 0;
+            }
+            if (!following) {
+                return 0;
+            }
+            int dispatched = 0;
+            List<OrderEventEntity> page;
+            do {
+                page = eventRepo.findPublishedAfter(since, afterId, Limit.of(POLL_LIMIT));
+                for (OrderEventEntity event : page) {
+                    since = event.getPublishedAt();
+                    afterId = event.getId();
+                    dispatched += dispatch(OrderChangeEvent.fromEntity(event));
+                }
+            } while (page.size() == POLL_LIMIT);
+            return dispatched;
+        } finally {
+            followLock.unlock();
+        }
+    }
+
+    private int dispatch(OrderChangeEvent event) {
+        if (event.type() != OrderEventType.STATUS_CHANGED) {
+            return 0;
+        }
+        Set<Subscriber> targets = subscribers.get(event.orderId());
+        if (targets == null) {
+            return 0;
+        }
+        boolean last = isFinal(event.newStatus());
+        for (Subscriber subscriber : targets) {
+            subscriber.enqueue(SseEmitter.event().id(String.valueOf(event.eventId())).name("status").data(event));
+            if (last) {
+                subscriber.finish();
+            }
+        }
+        return targets.size();
+    }
+
+    private void heartbeat() {
+        subscribers.values().forEach(set -> set.forEach(s -> s.enqueue(SseEmitter.event().comment("heartbeat"))));
+    }
+
+    private static boolean isFinal(String status) {
+        return OrderStatus.DELIVERED.name().equals(status) || OrderStatus.CANCELLED.name().equals(status);
+    }
+
+    public TrackingStats stats() {
+        return new TrackingStats(subscriberCount.get(), subscribers.size(), pushed.get(), disconnectedSlow.get());
+    }
+
+    @Override
+    public void start() {
+        executor = Executors.newScheduledThreadPool(Math.max(1, properties.getPushThreads()), threads.factory("sse-push-"));
+        executor.scheduleWithFixedDelay(this::safePoll, properties.getPollInterval().toMillis(),
+                                        properties.getPollInterval().toMillis(), TimeUnit.MILLISECONDS);
+        executor.scheduleAtFixedRate(this::heartbeat, properties.getHeartbeatInterval().toMillis(),
+                                     properties.getHeartbeatInterval().toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private void safePoll() {
+        try {
+            poll();
+        } catch (RuntimeException e) {
+            // a failing poll must not cancel the schedule; the position is kept, so nothing is skipped
+            log.warn("Tracking hub poll failed: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public void stop() {
+        ScheduledExecutorService running = executor;
+        executor = null;
+        if (running == null) {
+            return;
+        }
+        // end open streams first, so graceful shutdown does not wait for them to time out
+        subscribers.values().forEach(set -> set.forEach(s -> s.emitter.complete()));
+        running.shutdown();
+        try {
+            running.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return executor != null;
+    }
+
+    public record TrackingStats(int subscribers, int trackedOrders, long pushed, long disconnectedSlow) {}
+
+    /**
+     * One open stream: a queue drained by at most one push thread at a time.
+     */
+    private final class Subscriber {
+
+        final Long orderId;
+        final SseEmitter emitter;
+        final Queue<SseEmitter.SseEventBuilder> queue = new ConcurrentLinkedQueue<>();
+        final AtomicInteger pending = new AtomicInteger();
+        final AtomicBoolean draining = new AtomicBoolean();
+        final AtomicBoolean removed = new AtomicBoolean();
+        volatile boolean started;
+        volatile boolean finishing;
+
+        Subscriber(Long orderId, SseEmitter emitter) {
+            this.orderId = orderId;
+            this.emitter = emitter;
+        }
+
+        /** Sends the snapshot ahead of anything queued while it was read, then opens the queue. */
+        void start(SseEmitter.SseEventBuilder snapshot) {
+            try {
+                emitter.send(snapshot);
+            } catch (IOException | IllegalStateException e) {
+                emitter.completeWithError(e);
+                return;
+            }
+            started = true;
+            schedule();
+        }
+
+        void enqueue(SseEmitter.SseEventBuilder event) {
+            if (finishing || removed.get()) {
+                return;
+            }
+            if (pending.incrementAndGet() > properties.getMaxPendingPerSubscriber()) {
+                disconnectedSlow.incrementAndGet();
+                log.info("Closing tracking stream of order {}: client is {} events behind", orderId, pending.get());
+                remove(this);
+                emitter.complete();
+                return;
+            }
+            queue.add(event);
+            schedule();
+        }
+
+        /** Completes the stream once everything queued so far is sent. */
+        void finish() {
+            finishing = true;
+            schedule();
+        }
+
+        private void schedule() {
+            ScheduledExecutorService pool = executor;
+            if (started && pool != null && draining.compareAndSet(false, true)) {
+                pool.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            SseEmitter.SseEventBuilder event;
+            while ((event = queue.poll()) != null) {
+                pending.decrementAndGet();
+                try {
+                    emitter.send(event);
+                    pushed.incrementAndGet();
+                } catch (IOException | IllegalStateException e) {
+                    // client went away; the emitter's error/completion callback unregisters it
+                    remove(this);
+                    return;
+                }
+            }
+            if (finishing) {
+                remove(this);
+                emitter.complete();
+                return;
+            }
+            draining.set(false);
+            if (!queue.isEmpty()) {
+                schedule();
+            }
+        }
+    }
+}
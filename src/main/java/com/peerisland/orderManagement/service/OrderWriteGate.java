@@ -0,0 +1,148 @@
+package com.peerisland.orderManagement.service;
+
+import com.peerisland.orderManagement.config.OrderWriteProperties;
+import com.peerisland.orderManagement.model.OrderStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Runs single-order status writes (API cancel and status update) one at a time per order on this node.
+ *
+ * <ul>
+ *   <li>Writes to the same order wait on a striped lock, held until their transaction has committed, so they
+ *   no longer fail each other's version check.</li>
+ *   <li>A write identical to one already queued or running (same order, operation, target and If-Match) joins
+ *   it and gets its outcome instead of running again.</li>
+ *   <li>A write that still fails on a concurrent modification (another node, or a scheduler chunk: its
+ *   set-based UPDATEs are conditional on status and never fail themselves) is retried in a new transaction,
+ *   up to {@code max-attempts}, after an exponential backoff with full jitter. The retry re-reads the order,
+ *   so it either applies to the new state or fails as the request would have (400, 412).</li>
+ * </ul>
+ *
+ * Writes called inside an existing transaction run directly: they cannot be retried without it, and their
+ * commit is not ours to wait for.
+ */
+@Component
+public class OrderWriteGate {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderWriteGate.class);
+
+    private final OrderWriteProperties properties;
+    private final OrderMetrics metrics;
+    private final ReentrantLock[] stripes;
+    private final ConcurrentHashMap<OrderWrite, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    public OrderWriteGate(OrderWriteProperties properties, OrderMetrics metrics) {
+        this.properties = properties;
+        this.metrics = metrics;
+        int requested = properties.getStripes();
+        this.stripes = new ReentrantLock[requested <= 1 ? 1 : Integer.highestOneBit(requested - 1) << 1];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * One write; {@code operation} is also the metric tag, {@code target} and {@code expectedVersion} only
+     * decide which writes are duplicates.
+     */
+    public record OrderWrite(Long orderId, String operation, OrderStatus target, Long expectedVersion) {}
+
+    /**
+     * Runs {@code body} (which must start its own transaction) for {@code write}.
+     *
+     * @throws CannotAcquireLockException if the order's stripe stays busy for {@code lock-timeout}
+     * @throws ConcurrencyFailureException if every attempt failed on a concurrent modification
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(OrderWrite write, Supplier<T> body) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return body.get();
+        }
+        CompletableFuture<Object> mine = new CompletableFuture<>();
+        CompletableFuture<Object> leader = inFlight.putIfAbsent(write, mine);
+        if (leader != null) {
+            metrics.writeCoalesced(write.operation());
+            return (T) await(leader);
+        }
+        T result;
+        try {
+            result = locked(write, body);
+        } catch (RuntimeException | Error e) {
+            // removed first: a write arriving after this one finished must run on its own
+            inFlight.remove(write, mine);
+            mine.completeExceptionally(e);
+            throw e;
+        }
+        inFlight.remove(write, mine);
+        mine.complete(result);
+        return result;
+    }
+
+    private <T> T locked(OrderWrite write, Supplier<T> body) {
+        ReentrantLock lock = stripes[Long.hashCode(write.orderId()) & (stripes.length - 1)];
+        long start = System.nanoTime();
+        boolean acquired;
+        try {
+            acquired = lock.tryLock(properties.getLockTimeout().toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CannotAcquireLockException("Interrupted waiting to write order " + write.orderId());
+        }
+        metrics.writeLockWait(write.operation(), System.nanoTime() - start);
+        if (!acquired) {
+            throw new CannotAcquireLockException("Timed out waiting for concurrent writes to order " + write.orderId());
+        }
+        try {
+            for (int attempt = 1; ; attempt++) {
+                try {
+                    return body.get();
+                } catch (ConcurrencyFailureException e) {
+                    if (attempt >= properties.getMaxAttempts()) {
+                        metrics.writeConflict(write.operation(), "exhausted");
+                        throw e;
+                    }
+                    metrics.writeConflict(write.operation(), "retried");
+                    log.debug("Order {} changed concurrently during {} (attempt {}), retrying", write.orderId(),
+                              write.operation(), attempt);
+                    LockSupport.parkNanos(this, backoffNanos(attempt));
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private long backoffNanos(int attempt) {
+        long base = properties.getRetryBackoff().toNanos();
+        long cap = Math.min(properties.getMaxBackoff().toNanos(), base << Math.min(attempt - 1, 20));
+        return ThreadLocalRandom.current().nextLong(cap + 1);
+    }
+
+    private static Object await(CompletableFuture<Object> leader) {
+        try {
+            return leader.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException re) {
+                throw re;
+            }
+            if (e.getCause() instanceof Error err) {
+                throw err;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,371 @@
+package com.peerisland.orderManagement.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.peerisland.orderManagement.config.HistoryPipelineProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Stream;
+
+/**
+ * Write-behind for order status history ({@code orders.history.write-behind=true}).
+ *
+ * A committed status change puts its history record on a bounded queue and appends it to the current
+ * spill segment; a single flusher thread writes the queue to order_status_history in JDBC batches
+ * when a batch is full or the flush interval passes. Each flush rotates the segment and deletes the
+ * old one once its records are stored, so segments left on disk after a crash hold exactly the
+ * records that may be missing; they are replayed on startup. A batch whose write fails is kept, with
+ * its segment, and written again before anything else is drained. Rows are keyed by record_id, so a
+ * replayed record that did reach the table is skipped.
+ *
+ * When the queue is full the committing thread blocks until the flusher catches up (no record is
+ * dropped); while the table cannot be written, that back-pressure reaches status changes.
+ */
+@Component
+public class StatusHistoryPipeline implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(StatusHistoryPipeline.class);
+
+    private static final String SEGMENT_PREFIX = "history-";
+    private static final String SEGMENT_SUFFIX = ".log";
+
+    private static final String MERGE_SQL =
+        "merge into order_status_history h "
+            + "using (values (cast(? as varchar(36)), cast(? as bigint), cast(? as varchar(50)), "
+            + "cast(? as varchar(50)), cast(? as varchar(255)), cast(? as timestamp))) "
+            + "as r(record_id, order_id, previous_status, new_status, changed_by, changed_at) "
+            + "on h.record_id = r.record_id "
+            + "when not matched then insert (record_id, order_id, previous_status, new_status, changed_by, changed_at) "
+            + "values (r.record_id, r.order_id, r.previous_status, r.new_status, r.changed_by, r.changed_at)";
+
+    public record HistoryRecord(String recordId, Long orderId, String previousStatus, String newStatus,
+                                String changedBy, LocalDateTime changedAt) {}
+
+    private final HistoryPipelineProperties properties;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final BlockingQueue<HistoryRecord> queue;
+    private final Path spillDir;
+    // guards the spill segment; a lock rather than a monitor, as appends do file I/O (see VirtualThreadsConfig)
+    private final ReentrantLock spillLock = new ReentrantLock();
+    private final AtomicLong flushed = new AtomicLong();
+
+    // drained batch not stored yet (its write failed, or is under way), and its segments; flusher thread only
+    private List<HistoryRecord> unwrittenBatch;
+    private final List<Path> unwrittenSegments = new ArrayList<>();
+
+    private FileChannel segmentChannel;
+    private BufferedWriter segmentWriter;
+    private Path segmentPath;
+    private long segmentSeq;
+
+    private volatile boolean running;
+    private Thread flusher;
+
+    public StatusHistoryPipeline(HistoryPipelineProperties properties, JdbcTemplate jdbcTemplate, ObjectMapper objectMapper) {
+        this.properties = properties;
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.queue = new ArrayBlockingQueue<>(Math.max(1, properties.getQueueCapacity()));
+        this.spillDir = Paths.get(properties.getSpillDir());
+    }
+
+    /** True while the pipeline accepts records; otherwise callers write history synchronously. */
+    public boolean isEnabled() {
+        return running;
+    }
+
+    /**
+     * Hands a history row to the pipeline once the current transaction commits, so a rolled-back
+     * status change leaves no history.
+     */
+    public void recordAfterCommit(Long orderId, String previousStatus, String newStatus, String changedBy) {
+        HistoryRecord record = new HistoryRecord(UUID.randomUUID().toString(), orderId, previousStatus, newStatus,
+                                                 changedBy, LocalDateTime.now());
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    submit(record);
+                }
+            });
+        } else {
+            submit(record);
+        }
+    }
+
+    void submit(HistoryRecord record) {
+        try {
+            queue.put(record);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Interrupted while queueing history for order {}; writing it inline", record.orderId());
+            writeBatch(List.of(record));
+            return;
+        }
+        // Appended after queueing: any record in a segment is drained no later than that segment's rotation
+        spillLock.lock();
+        try {
+            appendToSpill(record);
+        } finally {
+            spillLock.unlock();
+        }
+        if (queue.size() >= properties.getBatchSize()) {
+            LockSupport.unpark(flusher);
+        }
+    }
+
+    public long flushedCount() {
+        return flushed.get();
+    }
+
+    /**
+     * Drains the queue into the table and retires the spill segment those records were appended to. A batch
+     * that failed before is written first; until it is stored nothing else is drained.
+     */
+    int flush() {
+        int written = writeUnwrittenBatch();
+        List<HistoryRecord> batch = new ArrayList<>();
+        spillLock.lock();
+        try {
+            if (queue.isEmpty()) {
+                return written;
+            }
+            queue.drainTo(batch);
+            Path retired = rotateSegment();
+            if (retired != null) {
+                unwrittenSegments.add(retired);
+            }
+        } finally {
+            spillLock.unlock();
+        }
+        unwrittenBatch = batch;
+        return written + writeUnwrittenBatch();
+    }
+
+    private int writeUnwrittenBatch() {
+        if (unwrittenBatch == null) {
+            return 0;
+        }
+        int written = unwrittenBatch.size();
+        writeBatch(unwrittenBatch);
+        unwrittenBatch = null;
+        unwrittenSegments.forEach(this::deleteSegment);
+        unwrittenSegments.clear();
+        flushed.addAndGet(written);
+        return written;
+    }
+
+    private void runFlusher() {
+        long backoffMillis = properties.getFlushInterval().toMillis();
+        while (running || !queue.isEmpty() || unwrittenBatch != null) {
+            if (running && queue.size() < properties.getBatchSize()) {
+                LockSupport.parkNanos(this, properties.getFlushInterval().toNanos());
+            }
+            try {
+                flush();
+                backoffMillis = properties.getFlushInterval().toMillis();
+            } catch (RuntimeException e) {
+                // the batch is kept for the next flush, and stays in its segment on disk in case we stop first
+                log.error("History flush failed; retrying in {} ms, records kept in the spill directory", backoffMillis, e);
+                if (!running) {
+                    return;
+                }
+                LockSupport.parkNanos(this, backoffMillis * 1_000_000L);
+                backoffMillis = Math.min(backoffMillis * 2, 30_000);
+            }
+        }
+    }
+
+    private void writeBatch(List<HistoryRecord> records) {
+        jdbcTemplate.batchUpdate(MERGE_SQL, records, properties.getBatchSize(), (ps, r) -> {
+            ps.setString(1, r.recordId());
+            ps.setLong(2, r.orderId());
+            ps.setString(3, r.previousStatus());
+            ps.setString(4, r.newStatus());
+            ps.setString(5, r.changedBy());
+            ps.setTimestamp(6, Timestamp.valueOf(r.changedAt()));
+        });
+    }
+
+    /**
+     * Writes every record found in leftover spill segments, then deletes them. Runs before the flusher starts.
+     */
+    int replaySpill() {
+        if (!Files.isDirectory(spillDir)) {
+            return 0;
+        }
+        int replayed = 0;
+        for (Path segment : listSegments()) {
+            List<HistoryRecord> records = readSegment(segment);
+            for (int from = 0; from < records.size(); from += properties.getBatchSize()) {
+                writeBatch(records.subList(from, Math.min(from + properties.getBatchSize(), records.size())));
+            }
+            deleteSegment(segment);
+            replayed += records.size();
+        }
+        if (replayed > 0) {
+            log.info("Replayed {} status history records from {}", replayed, spillDir);
+        }
+        return replayed;
+    }
+
+    private List<Path> listSegments() {
+        try (Stream<Path> files = Files.list(spillDir)) {
+            return files.filter(p -> p.getFileName().toString().startsWith(SEGMENT_PREFIX)
+                                     && p.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                        .sorted()
+                        .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private List<HistoryRecord> readSegment(Path segment) {
+        List<HistoryRecord> records = new ArrayList<>();
+        try {
+            for (String line : Files.readAllLines(segment, StandardCharsets.UTF_8)) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    records.add(objectMapper.readValue(line, HistoryRecord.class));
+                } catch (IOException e) {
+                    // a torn last line from a crash mid-append
+                    log.warn("Skipping unreadable history record in {}: {}", segment, line);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return records;
+    }
+
+    private void appendToSpill(HistoryRecord record) {
+        try {
+            if (segmentWriter == null) {
+                openSegment();
+            }
+            segmentWriter.write(objectMapper.writeValueAsString(record));
+            segmentWriter.newLine();
+            segmentWriter.flush();
+            if (properties.isFsync()) {
+                segmentChannel.force(false);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not append to history spill segment " + segmentPath, e);
+        }
+    }
+
+    private void openSegment() throws IOException {
+        Files.createDirectories(spillDir);
+        segmentPath = spillDir.resolve(String.format("%s%019d%s", SEGMENT_PREFIX, ++segmentSeq, SEGMENT_SUFFIX));
+        segmentChannel = FileChannel.open(segmentPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                                          StandardOpenOption.APPEND);
+        segmentWriter = new BufferedWriter(Channels.newWriter(segmentChannel, StandardCharsets.UTF_8));
+    }
+
+    /** Closes the current segment (the next append opens a new one) and returns it; caller holds spillLock. */
+    private Path rotateSegment() {
+        Path retired = segmentPath;
+        closeSegment();
+        return retired;
+    }
+
+    private void closeSegment() {
+        if (segmentWriter != null) {
+            try {
+                segmentWriter.close();
+            } catch (IOException e) {
+                log.warn("Could not close history spill segment {}", segmentPath, e);
+            }
+        }
+        segmentWriter = null;
+        segmentChannel = null;
+        segmentPath = null;
+    }
+
+    private void deleteSegment(Path segment) {
+        if (segment == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(segment);
+        } catch (IOException e) {
+            log.warn("Could not delete history spill segment {}", segment, e);
+        }
+    }
+
+    @Override
+    public void start() {
+        replaySpill();
+        if (!properties.isWriteBehind()) {
+            return;
+        }
+        // time-based so segments of successive runs sort in write order
+        segmentSeq = System.currentTimeMillis() * 1_000;
+        running = true;
+        flusher = new Thread(this::runFlusher, "history-flusher");
+        flusher.setDaemon(true);
+        flusher.start();
+        log.info("Status history write-behind started (batch={}, interval={} ms, spill={})",
+                 properties.getBatchSize(), properties.getFlushInterval().toMillis(), spillDir.toAbsolutePath());
+    }
+
+    @Override
+    public void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(flusher);
+        try {
+            flusher.join(10_000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        spillLock.lock();
+        try {
+            closeSegment();
+        } finally {
+            spillLock.unlock();
+        }
+        log.info("Status history write-behind stopped after {} records", flushed.get());
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // Started before and stopped after the web server, so no request sees a stopped pipeline mid-flight
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+}
@@ -0,0 +1,7 @@
+-- V10__history_record_id.sql
+-- Rows written by the write-behind history pipeline carry the id the record got when it was produced.
+-- Replaying the spill file after a crash therefore cannot insert a status change twice.
+
+ALTER TABLE order_status_history ADD COLUMN record_id VARCHAR(36);
+
+CREATE UNIQUE INDEX ux_osh_record_id ON order_status_history(record_id);
@@ -0,0 +1,20 @@
+-- V11__order_events_outbox.sql
+-- Transactional outbox: every order change appends an event row in the same transaction as the change.
+-- The relay publishes unpublished rows in id order and stamps published_at, which is its checkpoint;
+-- published rows are purged after orders.outbox.retention.
+
+CREATE SEQUENCE order_events_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS order_events (
+    id BIGINT DEFAULT NEXT VALUE FOR order_events_seq PRIMARY KEY,
+    order_id BIGINT NOT NULL,
+    event_type VARCHAR(32) NOT NULL,
+    previous_status VARCHAR(50),
+    new_status VARCHAR(50) NOT NULL,
+    changed_by VARCHAR(255),
+    occurred_at TIMESTAMP NOT NULL,
+    published_at TIMESTAMP
+);
+
+-- Serves both "next unpublished batch in id order" (published_at IS NULL) and the retention purge
+CREATE INDEX idx_order_events_published ON order_events(published_at, id);
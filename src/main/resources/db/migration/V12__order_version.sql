@@ -0,0 +1,5 @@
+-- V12__order_version.sql
+-- Optimistic concurrency for orders. Every status change bumps version, both entity updates and the
+-- scheduler's set-based updates, so it also serves as the ETag of the order.
+
+ALTER TABLE orders ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
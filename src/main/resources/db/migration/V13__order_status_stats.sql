@@ -0,0 +1,21 @@
+-- V13__order_status_stats.sql
+-- Per-status order count and total amount, kept up to date by periodic delta flushes from every node and
+-- recomputed from orders by the reconcile job. One row per status, seeded from the current orders.
+
+CREATE TABLE IF NOT EXISTS order_status_stats (
+    status VARCHAR(50) PRIMARY KEY,
+    order_count BIGINT NOT NULL,
+    total_amount DECIMAL(19,2) NOT NULL,
+    reconciled_at TIMESTAMP
+);
+
+INSERT INTO order_status_stats (status, order_count, total_amount, reconciled_at)
+SELECT 'PENDING', COUNT(*), COALESCE(SUM(total_amount), 0), CURRENT_TIMESTAMP FROM orders WHERE status = 'PENDING';
+INSERT INTO order_status_stats (status, order_count, total_amount, reconciled_at)
+SELECT 'PROCESSING', COUNT(*), COALESCE(SUM(total_amount), 0), CURRENT_TIMESTAMP FROM orders WHERE status = 'PROCESSING';
+INSERT INTO order_status_stats (status, order_count, total_amount, reconciled_at)
+SELECT 'SHIPPED', COUNT(*), COALESCE(SUM(total_amount), 0), CURRENT_TIMESTAMP FROM orders WHERE status = 'SHIPPED';
+INSERT INTO order_status_stats (status, order_count, total_amount, reconciled_at)
+SELECT 'DELIVERED', COUNT(*), COALESCE(SUM(total_amount), 0), CURRENT_TIMESTAMP FROM orders WHERE status = 'DELIVERED';
+INSERT INTO order_status_stats (status, order_count, total_amount, reconciled_at)
+SELECT 'CANCELLED', COUNT(*), COALESCE(SUM(total_amount), 0), CURRENT_TIMESTAMP FROM orders WHERE status = 'CANCELLED';
@@ -0,0 +1,43 @@
+-- V14__order_archive.sql
+-- Cold storage for terminal orders. The archive job moves DELIVERED and CANCELLED orders older than
+-- orders.archive.min-age here, with their items and status history, one chunk per transaction, so the hot
+-- tables and their indexes only hold the live working set. Same columns as the hot tables (plus archived_at)
+-- and no foreign keys: rows are inserted together and only read by order id.
+
+CREATE TABLE IF NOT EXISTS orders_archive (
+    id BIGINT PRIMARY KEY,
+    client_request_id VARCHAR(255),
+    customer_name VARCHAR(255) NOT NULL,
+    status VARCHAR(50) NOT NULL,
+    total_amount DECIMAL(10,2) NOT NULL,
+    created_at TIMESTAMP,
+    updated_at TIMESTAMP,
+    version BIGINT NOT NULL,
+    archived_at TIMESTAMP NOT NULL
+);
+
+-- Serves the stats reconcile, which counts archived orders per status
+CREATE INDEX idx_orders_archive_status ON orders_archive(status);
+
+CREATE TABLE IF NOT EXISTS order_items_archive (
+    id BIGINT PRIMARY KEY,
+    order_id BIGINT NOT NULL,
+    sku VARCHAR(100) NOT NULL,
+    name VARCHAR(255),
+    quantity INT NOT NULL,
+    price DECIMAL(10,2) NOT NULL
+);
+
+CREATE INDEX idx_order_items_archive_order_id ON order_items_archive(order_id);
+
+CREATE TABLE IF NOT EXISTS order_status_history_archive (
+    id BIGINT PRIMARY KEY,
+    order_id BIGINT NOT NULL,
+    previous_status VARCHAR(50),
+    new_status VARCHAR(50) NOT NULL,
+    changed_by VARCHAR(255),
+    changed_at TIMESTAMP NOT NULL,
+    record_id VARCHAR(36)
+);
+
+CREATE INDEX idx_osh_archive_order_changed_at ON order_status_history_archive(order_id, changed_at);
@@ -0,0 +1,6 @@
+-- V15__customer_orders_index.sql
+-- Customer lookup (GET /api/orders?customer=) seeks on (customer_name, created_at, id) like the other keyset
+-- listings. status and total_amount are appended so the index covers the summary projection and a page is
+-- read from the index alone (on PostgreSQL these would be INCLUDE columns).
+
+CREATE INDEX IF NOT EXISTS idx_orders_customer_created ON orders(customer_name, created_at, id, status, total_amount);
@@ -0,0 +1,6 @@
+-- V16__order_items_sku_index.sql
+-- SKU search (GET /api/orders/search?sku=) was a full scan of order_items. The search seeks each SKU on
+-- (sku, order_id) and joins the matching orders by primary key; order_id in the index means the item rows
+-- themselves are not read to find the orders.
+
+CREATE INDEX IF NOT EXISTS idx_order_items_sku_order ON order_items(sku, order_id);
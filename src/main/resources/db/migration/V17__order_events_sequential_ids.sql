@@ -0,0 +1,7 @@
+-- V17__order_events_sequential_ids.sql
+-- Event ids are drawn one at a time, in write order, on every node and by the INSERT ... SELECT paths
+-- (allocationSize = 1), instead of in per-node blocks of 50. Events of one order then have increasing ids,
+-- and the relay's id order is the order they happened in. Roll out with every node on the new version: an
+-- older node would still read each value as the top of a 50-id block.
+
+ALTER SEQUENCE order_events_seq INCREMENT BY 1;
@@ -0,0 +1,16 @@
+-- V4__pooled_id_sequences.sql
+-- Sequence-backed ids so Hibernate can JDBC-batch inserts (pooled optimizer, allocationSize = 50).
+-- Each sequence starts one allocation block above the current max id, and the former
+-- AUTO_INCREMENT columns now default to the sequence so plain SQL inserts share the same range.
+
+CREATE SEQUENCE orders_seq START WITH (SELECT COALESCE(MAX(id), 0) + 50 FROM orders) INCREMENT BY 50;
+ALTER TABLE orders ALTER COLUMN id DROP IDENTITY;
+ALTER TABLE orders ALTER COLUMN id SET DEFAULT NEXT VALUE FOR orders_seq;
+
+CREATE SEQUENCE order_items_seq START WITH (SELECT COALESCE(MAX(id), 0) + 50 FROM order_items) INCREMENT BY 50;
+ALTER TABLE order_items ALTER COLUMN id DROP IDENTITY;
+ALTER TABLE order_items ALTER COLUMN id SET DEFAULT NEXT VALUE FOR order_items_seq;
+
+CREATE SEQUENCE order_status_history_seq START WITH (SELECT COALESCE(MAX(id), 0) + 50 FROM order_status_history) INCREMENT BY 50;
+ALTER TABLE order_status_history ALTER COLUMN id DROP IDENTITY;
+ALTER TABLE order_status_history ALTER COLUMN id SET DEFAULT NEXT VALUE FOR order_status_history_seq;
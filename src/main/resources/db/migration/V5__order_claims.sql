@@ -0,0 +1,9 @@
+-- V5__order_claims.sql
+-- Claim columns for the scheduler work queue: a worker atomically stamps a chunk of PENDING rows
+-- with its claim id and a lease expiry; expired claims are picked up again by other workers.
+
+ALTER TABLE orders ADD COLUMN claimed_by VARCHAR(128);
+ALTER TABLE orders ADD COLUMN claim_expires_at TIMESTAMP;
+
+CREATE INDEX idx_orders_status_created ON orders(status, created_at);
+CREATE INDEX idx_orders_claimed_by ON orders(claimed_by);
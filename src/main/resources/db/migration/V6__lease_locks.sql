@@ -0,0 +1,6 @@
+-- V6__lease_locks.sql
+-- Lease-based scheduler lock: the holder is recorded, and every acquisition bumps a monotonically
+-- increasing fencing token that writers re-check inside their own transaction.
+
+ALTER TABLE scheduler_locks ADD COLUMN owner VARCHAR(255);
+ALTER TABLE scheduler_locks ADD COLUMN fencing_token BIGINT DEFAULT 0 NOT NULL;
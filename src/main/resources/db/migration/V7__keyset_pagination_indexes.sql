@@ -0,0 +1,7 @@
+-- V7__keyset_pagination_indexes.sql
+-- Keyset (cursor) listing seeks on (created_at, id), or (status, created_at, id) with a status filter.
+-- Having id as the last column makes the sort order total, so the index serves both the seek and the order by.
+
+DROP INDEX IF EXISTS idx_orders_status_created;
+CREATE INDEX idx_orders_status_created ON orders(status, created_at, id);
+CREATE INDEX idx_orders_created_id ON orders(created_at, id);
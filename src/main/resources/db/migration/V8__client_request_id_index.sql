@@ -0,0 +1,5 @@
+-- V8__client_request_id_index.sql
+-- The idempotency lookups (single findByClientRequestId and the bulk IN query) were full table scans:
+-- the index declared on OrderEntity was never created by a migration.
+
+CREATE INDEX IF NOT EXISTS idx_orders_client_request_id ON orders(client_request_id);
@@ -0,0 +1,20 @@
+-- V9__idempotency_keys.sql
+-- Dedicated idempotency store: the primary key on idempotency_key is what rejects a second create
+-- with the same clientRequestId (insert-first), so no select-then-insert race.
+-- Keys expire after orders.idempotency.ttl and are purged by a background job.
+
+CREATE TABLE IF NOT EXISTS idempotency_keys (
+    idempotency_key VARCHAR(255) PRIMARY KEY,
+    order_id BIGINT NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    expires_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX idx_idempotency_keys_expires_at ON idempotency_keys(expires_at);
+
+-- Backfill keys of existing orders (oldest order wins if a key was ever stored twice)
+INSERT INTO idempotency_keys (idempotency_key, order_id, created_at, expires_at)
+SELECT client_request_id, MIN(id), CURRENT_TIMESTAMP, DATEADD('HOUR', 24, CURRENT_TIMESTAMP)
+FROM orders
+WHERE client_request_id IS NOT NULL
+GROUP BY client_request_id;
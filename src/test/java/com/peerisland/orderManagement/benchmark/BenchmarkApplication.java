@@ -0,0 +1,82 @@
+package com.peerisland.orderManagement.benchmark;
+
+import com.peerisland.orderManagement.OrderManagementApplication;
+import com.peerisland.orderManagement.dto.CreateOrderRequest;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ApplicationContextInitializer;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Boots the application (without the web layer, unless started with {@link #startWeb}) against a private
+ * in-memory H2 database so benchmarks exercise the real service, repositories, Flyway schema and transactions.
+ */
+final class BenchmarkApplication {
+
+    private BenchmarkApplication() {}
+
+    static ConfigurableApplicationContext start(String... extraProperties) {
+        return start(ctx -> { }, extraProperties);
+    }
+
+    static ConfigurableApplicationContext start(ApplicationContextInitializer<ConfigurableApplicationContext> initializer,
+                                                String... extraProperties) {
+        return start(WebApplicationType.NONE, initializer, extraProperties);
+    }
+
+    /**
+     * Same, with the embedded web server on a random port ({@link #port}).
+     */
+    static ConfigurableApplicationContext startWeb(ApplicationContextInitializer<ConfigurableApplicationContext> initializer,
+                                                   String... extraProperties) {
+        List<String> props = new ArrayList<>(List.of(extraProperties));
+        props.add("server.port=0");
+        return start(WebApplicationType.SERVLET, initializer, props.toArray(String[]::new));
+    }
+
+    static int port(ConfigurableApplicationContext ctx) {
+        return ((WebServerApplicationContext) ctx).getWebServer().getPort();
+    }
+
+    private static ConfigurableApplicationContext start(WebApplicationType webType,
+                                                        ApplicationContextInitializer<ConfigurableApplicationContext> initializer,
+                                                        String... extraProperties) {
+        List<String> props = new ArrayList<>(List.of(
+            "spring.datasource.url=jdbc:h2:mem:bench-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1",
+            "spring.h2.console.enabled=false",
+            "spring.main.banner-mode=off",
+            "orders.scheduler.cron=-",
+            "orders.outbox.relay-enabled=false",
+            "logging.level.root=WARN"
+        ));
+        // Extra properties replace defaults with the same key (repeated arguments would be joined into a list)
+        List<String> extras = List.of(extraProperties);
+        props.removeIf(p -> extras.stream().anyMatch(e -> key(e).equals(key(p))));
+        props.addAll(extras);
+        // Passed as command-line arguments so they take precedence over application.yml
+        return new SpringApplicationBuilder(OrderManagementApplication.class)
+            .web(webType)
+            .initializers(initializer)
+            .run(props.stream().map(p -> "--" + p).toArray(String[]::new));
+    }
+
+    private static String key(String property) {
+        return property.substring(0, property.indexOf('='));
+    }
+
+    static CreateOrderRequest newOrderRequest(int itemCount) {
+        CreateOrderRequest req = new CreateOrderRequest();
+        req.setCustomerName("Bench Customer");
+        List<CreateOrderRequest.Item> items = new ArrayList<>(itemCount);
+        for (int i = 0; i < itemCount; i++) {
+            items.add(new CreateOrderRequest.Item("SKU-" + i, "Item " + i, 1 + (i % 3), 1000L + 100L * i));
+        }
+        req.setItems(items);
+        return req;
+    }
+}
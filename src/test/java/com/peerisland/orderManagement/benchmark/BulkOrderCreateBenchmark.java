@@ -0,0 +1,106 @@
+package com.peerisland.orderManagement.benchmark;
+
+import com.peerisland.orderManagement.dto.BatchCreateResponse;
+import com.peerisland.orderManagement.dto.CreateOrderRequest;
+import com.peerisland.orderManagement.service.BulkOrderService;
+import com.peerisland.orderManagement.service.OrderService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Orders/sec of POST /api/orders/batch versus the same orders sent one by one through createOrder.
+ * Scores are per order (OperationsPerInvocation), every order carries a fresh clientRequestId.
+ *
+ * In-memory H2 makes a JDBC round trip almost free, so the throughput gap here understates what a
+ * networked database sees; {@code statements / orders} shows the round trips each path pays per order.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class BulkOrderCreateBenchmark {
+
+    private static final int BATCH = 500;
+
+    @State(Scope.Benchmark)
+    public static class ServiceState {
+
+        final JdbcRoundTripCounter roundTrips = new JdbcRoundTripCounter();
+        ConfigurableApplicationContext ctx;
+        OrderService orderService;
+        BulkOrderService bulkOrderService;
+        final AtomicLong keys = new AtomicLong();
+
+        @Setup(Level.Trial)
+        public void start() {
+            ctx = BenchmarkApplication.start(roundTrips);
+            orderService = ctx.getBean(OrderService.class);
+            bulkOrderService = ctx.getBean(BulkOrderService.class);
+        }
+
+        @TearDown(Level.Trial)
+        public void stop() {
+            ctx.close();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class BatchState {
+
+        List<CreateOrderRequest> requests;
+
+        @Setup(Level.Invocation)
+        public void build(ServiceState service) {
+            requests = new ArrayList<>(BATCH);
+            for (int i = 0; i < BATCH; i++) {
+                CreateOrderRequest req = BenchmarkApplication.newOrderRequest(3);
+                req.setClientRequestId("bench-" + service.keys.incrementAndGet());
+                requests.add(req);
+            }
+        }
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class StatementCounters {
+
+        public long statements;
+        public long orders;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            statements = 0;
+            orders = 0;
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public int singleCreates(ServiceState service, BatchState batch, StatementCounters counters) {
+        long before = service.roundTrips.roundTrips();
+        int created = 0;
+        for (CreateOrderRequest req : batch.requests) {
+            service.orderService.createOrder(req);
+            created++;
+        }
+        counters.statements += service.roundTrips.roundTrips() - before;
+        counters.orders += created;
+        return created;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public BatchCreateResponse bulkCreate(ServiceState service, BatchState batch, StatementCounters counters) {
+        long before = service.roundTrips.roundTrips();
+        BatchCreateResponse response = service.bulkOrderService.createOrders(batch.requests);
+        counters.statements += service.roundTrips.roundTrips() - before;
+        counters.orders += response.created();
+        return response;
+    }
+}
@@ -0,0 +1,119 @@
+package com.peerisland.orderManagement.benchmark;
+
+import com.peerisland.orderManagement.dto.CursorPage;
+import com.peerisland.orderManagement.dto.OrderSummary;
+import com.peerisland.orderManagement.service.OrderService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.nio.file.Path;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Customer listing (GET /api/orders?customer=) on a 10M-order table, with and without the covering
+ * (customer_name, created_at, id, ...) index: first page, next page by cursor, and first page with items.
+ *
+ * Orders are spread evenly over {@code customers}, so a customer has rows / customers orders scattered across
+ * the whole table. The dataset does not fit the default heap in memory, so it is seeded with set-based inserts
+ * into a file-backed H2 database under target/, once per parameter combination: the first trial of each takes
+ * tens of minutes to seed 10M orders and items, later trials and runs reopen the files. Pass {@code -p rows=...}
+ * to the JMH runner for a quicker run.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CustomerOrdersBenchmark {
+
+    private static final int PAGE_SIZE = 50;
+    private static final int CURSOR_SAMPLE = 1024;
+    // above the ids of the V2 sample orders
+    private static final long ID_BASE = 1_000_000L;
+
+    @State(Scope.Benchmark)
+    public static class DatasetState {
+
+        @Param("10000000")
+        public int rows;
+
+        @Param("100000")
+        public int customers;
+
+        @Param({"true", "false"})
+        public boolean customerIndex;
+
+        ConfigurableApplicationContext ctx;
+        OrderService orderService;
+        final String[] cursorCustomers = new String[CURSOR_SAMPLE];
+        final String[] cursors = new String[CURSOR_SAMPLE];
+
+        @Setup(Level.Trial)
+        public void start() {
+            Path db = Path.of("target", "bench-customers-" + rows + "-" + customers + (customerIndex ? "" : "-noindex"),
+                              "orders").toAbsolutePath();
+            ctx = BenchmarkApplication.start(
+                "spring.datasource.url=jdbc:h2:file:" + db + ";CACHE_SIZE=262144",
+                "orders.stats.flush-interval=1h",
+                "orders.stats.reconcile-interval=1h");
+            orderService = ctx.getBean(OrderService.class);
+            JdbcTemplate jdbc = ctx.getBean(JdbcTemplate.class);
+            Long seeded = jdbc.queryForObject("select count(*) from orders where id > ?", Long.class, ID_BASE);
+            if (seeded != rows) {
+                seed(jdbc);
+            }
+
+            // second-page positions of a sample of customers, resolved once
+            for (int i = 0; i < CURSOR_SAMPLE; i++) {
+                cursorCustomers[i] = randomCustomer();
+                cursors[i] = orderService.listByCustomer(cursorCustomers[i], null, PAGE_SIZE, false).nextCursor();
+            }
+        }
+
+        private void seed(JdbcTemplate jdbc) {
+            // left over by an interrupted seed
+            jdbc.update("delete from order_items where id > ?", ID_BASE);
+            jdbc.update("delete from orders where id > ?", ID_BASE);
+            // one item per order; created_at one second apart, so every customer's orders span the whole range
+            jdbc.update("insert into orders (id, customer_name, status, total_amount, created_at, updated_at, version) "
+                            + "select ? + x, 'Customer ' || mod(x, ?), 'DELIVERED', 10.00, "
+                            + "dateadd(second, x, timestamp '2020-01-01 00:00:00'), "
+                            + "dateadd(second, x, timestamp '2020-01-01 00:00:00'), 0 "
+                            + "from system_range(1, ?)", ID_BASE, customers, rows);
+            jdbc.update("insert into order_items (id, order_id, sku, name, quantity, price) "
+                            + "select ? + x, ? + x, 'SKU-' || mod(x, 1000), 'Item', 1, 10.00 from system_range(1, ?)",
+                        ID_BASE, ID_BASE, rows);
+            if (!customerIndex) {
+                jdbc.execute("drop index if exists idx_orders_customer_created");
+            }
+            jdbc.execute("analyze");
+        }
+
+        @TearDown(Level.Trial)
+        public void stop() {
+            ctx.close();
+        }
+
+        String randomCustomer() {
+            return "Customer " + ThreadLocalRandom.current().nextInt(customers);
+        }
+    }
+
+    @Benchmark
+    public CursorPage<OrderSummary> firstPage(DatasetState data) {
+        return data.orderService.listByCustomer(data.randomCustomer(), null, PAGE_SIZE, false);
+    }
+
+    @Benchmark
+    public CursorPage<OrderSummary> nextPage(DatasetState data) {
+        int i = ThreadLocalRandom.current().nextInt(CURSOR_SAMPLE);
+        return data.orderService.listByCustomer(data.cursorCustomers[i], data.cursors[i], PAGE_SIZE, false);
+    }
+
+    @Benchmark
+    public CursorPage<OrderSummary> firstPageWithItems(DatasetState data) {
+        return data.orderService.listByCustomer(data.randomCustomer(), null, PAGE_SIZE, true);
+    }
+}
@@ -0,0 +1,56 @@
+package com.peerisland.orderManagement.benchmark;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.ApplicationContextInitializer;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts JDBC round trips: every {@code execute*} call on a statement, so an {@code executeBatch}
+ * of 50 inserts counts once while 50 separate {@code executeUpdate}s count 50 times.
+ */
+final class JdbcRoundTripCounter implements ApplicationContextInitializer<ConfigurableApplicationContext>, BeanPostProcessor {
+
+    private final LongAdder roundTrips = new LongAdder();
+
+    long roundTrips() {
+        return roundTrips.sum();
+    }
+
+    @Override
+    public void initialize(ConfigurableApplicationContext ctx) {
+        ctx.getBeanFactory().addBeanPostProcessor(this);
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        return bean instanceof DataSource ds ? wrap(DataSource.class, ds) : bean;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T wrap(Class<T> type, T target) {
+        return (T) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            if (Statement.class.isAssignableFrom(type) && method.getName().startsWith("execute")) {
+                roundTrips.increment();
+            }
+            Object result;
+            try {
+                result = method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+            Class<?> returned = method.getReturnType();
+            if (result != null && returned.isInterface()
+                && (returned == Connection.class || Statement.class.isAssignableFrom(returned))) {
+                return wrap((Class<Object>) returned, result);
+            }
+            return result;
+        });
+    }
+}
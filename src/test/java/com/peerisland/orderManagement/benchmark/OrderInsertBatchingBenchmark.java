@@ -0,0 +1,73 @@
+package com.peerisland.orderManagement.benchmark;
+
+import com.peerisland.orderManagement.dto.CreateOrderRequest;
+import com.peerisland.orderManagement.dto.OrderResponse;
+import com.peerisland.orderManagement.service.OrderService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JDBC round trips per created order with insert batching on (batch size 50, the default)
+ * versus off (batch size 1). Divide the {@code statements} aux counter by {@code orders}:
+ * without batching an order with N items costs N + 1 inserts, with batching a handful.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class OrderInsertBatchingBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class BatchingState {
+
+        @Param({"1", "50"})
+        public int jdbcBatchSize;
+
+        @Param({"1", "10", "50"})
+        public int itemCount;
+
+        final JdbcRoundTripCounter roundTrips = new JdbcRoundTripCounter();
+        ConfigurableApplicationContext ctx;
+        OrderService orderService;
+        CreateOrderRequest request;
+
+        @Setup(Level.Trial)
+        public void start() {
+            ctx = BenchmarkApplication.start(roundTrips,
+                "spring.jpa.properties.hibernate.jdbc.batch_size=" + jdbcBatchSize);
+            orderService = ctx.getBean(OrderService.class);
+            request = BenchmarkApplication.newOrderRequest(itemCount);
+        }
+
+        @TearDown(Level.Trial)
+        public void stop() {
+            ctx.close();
+        }
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class StatementCounters {
+
+        public long statements;
+        public long orders;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            statements = 0;
+            orders = 0;
+        }
+    }
+
+    @Benchmark
+    public OrderResponse createOrder(BatchingState state, StatementCounters counters) {
+        long before = state.roundTrips.roundTrips();
+        OrderResponse response = state.orderService.createOrder(state.request);
+        counters.statements += state.roundTrips.roundTrips() - before;
+        counters.orders++;
+        return response;
+    }
+}
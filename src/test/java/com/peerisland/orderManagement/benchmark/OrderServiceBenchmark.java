@@ -0,0 +1,184 @@
+package com.peerisland.orderManagement.benchmark;
+
+import com.peerisland.orderManagement.dto.CreateOrderRequest;
+import com.peerisland.orderManagement.dto.CursorPage;
+import com.peerisland.orderManagement.dto.OrderResponse;
+import com.peerisland.orderManagement.dto.OrderStatusHistoryDto;
+import com.peerisland.orderManagement.model.OrderStatus;
+import com.peerisland.orderManagement.service.OrderService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JMH suite for the OrderService hot paths against a seeded H2 database.
+ *
+ * Run with {@code ./mvnw -Pbenchmark -DskipTests verify}; the profile adds the GC profiler
+ * so every result also carries allocation rate (gc.alloc.rate.norm = bytes per operation).
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderServiceBenchmark {
+
+    private static final int HISTORY_SEED_EVERY = 4;
+    private static final int PAGE_SIZE = 50;
+
+    @State(Scope.Benchmark)
+    public static class ServiceState {
+
+        @Param("1000")
+        public int seedOrders;
+
+        ConfigurableApplicationContext ctx;
+        OrderService orderService;
+        JdbcTemplate jdbc;
+        final List<Long> orderIds = new ArrayList<>();
+        final List<Long> ordersWithHistory = new ArrayList<>();
+        int lastPage;
+        String lastPageCursor;
+
+        @Setup(Level.Trial)
+        public void start() {
+            ctx = BenchmarkApplication.start();
+            orderService = ctx.getBean(OrderService.class);
+            jdbc = ctx.getBean(JdbcTemplate.class);
+
+            CreateOrderRequest req = BenchmarkApplication.newOrderRequest(3);
+            for (int i = 0; i < seedOrders; i++) {
+                Long id = orderService.createOrder(req).getId();
+                orderIds.add(id);
+                if (i % HISTORY_SEED_EVERY == 0) {
+                    orderService.updateStatus(id, OrderStatus.PROCESSING);
+                    orderService.updateStatus(id, OrderStatus.SHIPPED);
+                    orderService.updateStatus(id, OrderStatus.DELIVERED);
+                    ordersWithHistory.add(id);
+                }
+            }
+
+            // Position of the deepest full page, reached both by offset and by cursor
+            lastPage = seedOrders / PAGE_SIZE - 1;
+            lastPageCursor = "";
+            for (int p = 0; p < lastPage; p++) {
+                lastPageCursor = orderService.listAfter(lastPageCursor, PAGE_SIZE, null).nextCursor();
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void stop() {
+            ctx.close();
+        }
+
+        Long randomOrderId() {
+            return orderIds.get(ThreadLocalRandom.current().nextInt(orderIds.size()));
+        }
+
+        Long randomOrderWithHistory() {
+            return ordersWithHistory.get(ThreadLocalRandom.current().nextInt(ordersWithHistory.size()));
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class CreateState {
+
+        @Param({"1", "10", "100"})
+        public int itemCount;
+
+        CreateOrderRequest request;
+
+        @Setup(Level.Trial)
+        public void build() {
+            request = BenchmarkApplication.newOrderRequest(itemCount);
+        }
+    }
+
+    /**
+     * A freshly created PENDING order per invocation, for the single-shot status transitions.
+     * Per-invocation setup is acceptable here: each measured call is a full DB transaction.
+     */
+    @State(Scope.Thread)
+    public static class PendingOrderState {
+
+        Long orderId;
+
+        @Setup(Level.Invocation)
+        public void createPendingOrder(ServiceState service) {
+            orderId = service.orderService.createOrder(BenchmarkApplication.newOrderRequest(1)).getId();
+        }
+    }
+
+    /**
+     * Refills the PENDING backlog before every scheduler batch so each call moves a full batch.
+     */
+    @State(Scope.Thread)
+    public static class PendingBacklogState {
+
+        @Param("200")
+        public int backlog;
+
+        @Setup(Level.Invocation)
+        public void refill(ServiceState service) {
+            service.jdbc.update(
+                "insert into orders (customer_name, status, total_amount, created_at, updated_at) "
+                    + "select 'Backlog ' || x, 'PENDING', 100.00, current_timestamp, current_timestamp "
+                    + "from system_range(1, ?)", backlog);
+        }
+    }
+
+    @Benchmark
+    public OrderResponse createOrder(ServiceState service, CreateState create) {
+        return service.orderService.createOrder(create.request);
+    }
+
+    @Benchmark
+    public OrderResponse getById(ServiceState service) {
+        return service.orderService.getById(service.randomOrderId());
+    }
+
+    @Benchmark
+    public List<OrderResponse> listAll(ServiceState service) {
+        return service.orderService.listAll(0, PAGE_SIZE, null);
+    }
+
+    @Benchmark
+    public List<OrderResponse> listDeepPageByOffset(ServiceState service) {
+        return service.orderService.listAll(service.lastPage, PAGE_SIZE, null);
+    }
+
+    @Benchmark
+    public CursorPage<OrderResponse> listDeepPageByCursor(ServiceState service) {
+        return service.orderService.listAfter(service.lastPageCursor, PAGE_SIZE, null);
+    }
+
+    @Benchmark
+    public List<OrderResponse> listAllByStatus(ServiceState service) {
+        return service.orderService.listAll(0, PAGE_SIZE, OrderStatus.DELIVERED);
+    }
+
+    @Benchmark
+    public OrderResponse updateStatus(ServiceState service, PendingOrderState pending) {
+        return service.orderService.updateStatus(pending.orderId, OrderStatus.PROCESSING);
+    }
+
+    @Benchmark
+    public OrderResponse cancelOrder(ServiceState service, PendingOrderState pending) {
+        return service.orderService.cancelOrder(pending.orderId);
+    }
+
+    @Benchmark
+    public int bumpPendingToProcessingBatch(ServiceState service, PendingBacklogState backlog) {
+        return service.orderService.bumpPendingToProcessingBatch();
+    }
+
+    @Benchmark
+    public List<OrderStatusHistoryDto> getStatusHistory(ServiceState service) {
+        return service.orderService.getStatusHistory(service.randomOrderWithHistory());
+    }
+}
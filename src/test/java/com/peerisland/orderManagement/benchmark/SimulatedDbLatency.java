@@ -0,0 +1,56 @@
+package com.peerisland.orderManagement.benchmark;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.ApplicationContextInitializer;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.time.Duration;
+
+/**
+ * Adds a fixed delay to every JDBC round trip (statement {@code execute*}), as a remote database would.
+ * The connection stays borrowed for the delay, so pool contention behaves like the real thing.
+ */
+final class SimulatedDbLatency implements ApplicationContextInitializer<ConfigurableApplicationContext>, BeanPostProcessor {
+
+    private final long delayMillis;
+
+    SimulatedDbLatency(Duration delay) {
+        this.delayMillis = delay.toMillis();
+    }
+
+    @Override
+    public void initialize(ConfigurableApplicationContext ctx) {
+        ctx.getBeanFactory().addBeanPostProcessor(this);
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        return bean instanceof DataSource ds ? wrap(DataSource.class, ds) : bean;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T wrap(Class<T> type, T target) {
+        return (T) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            if (Statement.class.isAssignableFrom(type) && method.getName().startsWith("execute")) {
+                Thread.sleep(delayMillis);
+            }
+            Object result;
+            try {
+                result = method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+            Class<?> returned = method.getReturnType();
+            if (result != null && returned.isInterface()
+                && (returned == Connection.class || Statement.class.isAssignableFrom(returned))) {
+                return wrap((Class<Object>) returned, result);
+            }
+            return result;
+        });
+    }
+}
@@ -0,0 +1,101 @@
+package com.peerisland.orderManagement.benchmark;
+
+import com.peerisland.orderManagement.service.OrderService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Platform vs virtual request threads over HTTP, with every JDBC round trip delayed by 20 ms.
+ *
+ * Each group mixes many clients on a DB-bound list page with a few on the cached single-order read. With
+ * platform threads the DB-bound requests occupy every Tomcat worker (200) while they queue for the 10 pool
+ * connections, so the cached reads queue behind them; with virtual threads they are served straight away.
+ * DB-bound throughput is the same in both modes: the pool is the limit.
+ *
+ * The virtual mode needs a Java 21 runtime: {@code ./mvnw -Pbenchmark,java21 -DskipTests verify
+ * -Djmh.includes=VirtualThreadsBenchmark}.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+public class VirtualThreadsBenchmark {
+
+    private static final Duration DB_LATENCY = Duration.ofMillis(20);
+    private static final int SEED_ORDERS = 200;
+
+    @State(Scope.Benchmark)
+    public static class ServerState {
+
+        @Param({"platform", "virtual"})
+        public String mode;
+
+        ConfigurableApplicationContext ctx;
+        HttpClient client;
+        URI listUri;
+        final List<URI> orderUris = new ArrayList<>();
+
+        @Setup(Level.Trial)
+        public void start() {
+            boolean virtual = "virtual".equals(mode);
+            if (virtual && Runtime.version().feature() < 21) {
+                throw new IllegalStateException("virtual mode needs Java 21, running on " + Runtime.version());
+            }
+            ctx = BenchmarkApplication.startWeb(new SimulatedDbLatency(DB_LATENCY),
+                                                "spring.threads.virtual.enabled=" + virtual);
+            OrderService orderService = ctx.getBean(OrderService.class);
+            String base = "http://localhost:" + BenchmarkApplication.port(ctx) + "/api/orders";
+            for (int i = 0; i < SEED_ORDERS; i++) {
+                Long id = orderService.createOrder(BenchmarkApplication.newOrderRequest(2)).getId();
+                orderUris.add(URI.create(base + "/" + id));
+            }
+            listUri = URI.create(base + "?page=0&size=20");
+            client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1)
+                               .connectTimeout(Duration.ofSeconds(10)).build();
+        }
+
+        @TearDown(Level.Trial)
+        public void stop() {
+            ctx.close();
+        }
+
+        int get(URI uri) throws IOException, InterruptedException {
+            HttpResponse<Void> response = client.send(HttpRequest.newBuilder(uri).GET().build(),
+                                                      HttpResponse.BodyHandlers.discarding());
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException(uri + " returned " + response.statusCode());
+            }
+            return response.statusCode();
+        }
+
+        URI randomOrderUri() {
+            return orderUris.get(ThreadLocalRandom.current().nextInt(orderUris.size()));
+        }
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(256)
+    public int dbBoundList(ServerState server) throws Exception {
+        return server.get(server.listUri);
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(8)
+    public int cachedGetById(ServerState server) throws Exception {
+        return server.get(server.randomOrderUri());
+    }
+}
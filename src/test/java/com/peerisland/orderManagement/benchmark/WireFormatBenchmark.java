@@ -0,0 +1,136 @@
+package com.peerisland.orderManagement.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.protobuf.ProtobufFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.peerisland.orderManagement.config.JacksonProtobufHttpMessageConverter;
+import com.peerisland.orderManagement.dto.OrderResponse;
+import com.peerisland.orderManagement.model.OrderStatus;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.GenericHttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.mock.http.MockHttpInputMessage;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encode and decode time of a 20-order page (3 items each, as returned by {@code GET /api/orders}) through the
+ * HTTP message converter of each wire format. Payload size is the {@code bytes} aux counter divided by
+ * {@code pages}. No application context: the converters are built the way WireFormatConfig builds them.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class WireFormatBenchmark {
+
+    private static final Type PAGE_TYPE = new TypeReference<List<OrderResponse>>() {}.getType();
+
+    @State(Scope.Benchmark)
+    public static class FormatState {
+
+        @Param({"json", "cbor", "smile", "protobuf"})
+        public String format;
+
+        GenericHttpMessageConverter<Object> converter;
+        List<OrderResponse> page;
+        byte[] encoded;
+
+        @Setup(Level.Trial)
+        public void setUp() throws IOException {
+            converter = converter(format);
+            page = page(20, 3);
+            encoded = encode(this);
+        }
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class PayloadCounters {
+
+        public long bytes;
+        public long pages;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            bytes = 0;
+            pages = 0;
+        }
+    }
+
+    @Benchmark
+    public byte[] encodePage(FormatState state, PayloadCounters counters) throws IOException {
+        byte[] body = encode(state);
+        counters.bytes += body.length;
+        counters.pages++;
+        return body;
+    }
+
+    @Benchmark
+    public Object decodePage(FormatState state) throws IOException {
+        return state.converter.read(PAGE_TYPE, null, new MockHttpInputMessage(state.encoded));
+    }
+
+    private static byte[] encode(FormatState state) throws IOException {
+        MockHttpOutputMessage out = new MockHttpOutputMessage();
+        state.converter.write(state.page, PAGE_TYPE, null, out);
+        return out.getBodyAsBytes();
+    }
+
+    private static GenericHttpMessageConverter<Object> converter(String format) {
+        // Boot's builder defaults that matter for the payload: ISO-8601 dates instead of timestamps
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        return switch (format) {
+            case "json" -> new MappingJackson2HttpMessageConverter(builder.build());
+            case "cbor" -> new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+            case "smile" -> new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+            case "protobuf" -> new JacksonProtobufHttpMessageConverter(builder.factory(new ProtobufFactory()).build());
+            default -> throw new IllegalArgumentException("Unknown format " + format);
+        };
+    }
+
+    private static List<OrderResponse> page(int orders, int itemsPerOrder) {
+        OffsetDateTime created = OffsetDateTime.of(2025, 1, 15, 10, 30, 0, 0, ZoneOffset.UTC);
+        List<OrderResponse> page = new ArrayList<>(orders);
+        for (int i = 0; i < orders; i++) {
+            OrderResponse order = new OrderResponse();
+            order.setId(1000L + i);
+            order.setClientRequestId("req-" + (1000 + i));
+            order.setCustomerName("Customer " + i);
+            order.setStatus(OrderStatus.values()[i % OrderStatus.values().length]);
+            order.setCreatedAt(created.plusMinutes(i));
+            order.setUpdatedAt(created.plusMinutes(i + 5));
+            order.setVersion((long) i % 4);
+            List<OrderResponse.Item> items = new ArrayList<>(itemsPerOrder);
+            long total = 0;
+            for (int j = 0; j < itemsPerOrder; j++) {
+                OrderResponse.Item item = new OrderResponse.Item();
+                item.setId(10_000L + i * itemsPerOrder + j);
+                item.setSku("SKU-" + j);
+                item.setName("Item " + j);
+                item.setQuantity(j + 1);
+                item.setPriceMinor(999 + 100L * j);
+                total += item.getQuantity() * item.getPriceMinor();
+                items.add(item);
+            }
+            order.setItems(items);
+            order.setTotalAmountMinor(total);
+            page.add(order);
+        }
+        return page;
+    }
+}
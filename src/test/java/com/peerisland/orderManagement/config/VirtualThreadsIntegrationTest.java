@@ -0,0 +1,43 @@
+package com.peerisland.orderManagement.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The {@code virtual} profile; only meaningful on a Java 21 runtime (build with -Pjava21).
+ */
+@SpringBootTest(properties = "orders.scheduler.cron=-")
+@ActiveProfiles("virtual")
+@EnabledForJreRange(min = JRE.JAVA_21)
+class VirtualThreadsIntegrationTest {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private WorkerThreads workerThreads;
+
+    @Test
+    void testVirtualProfile_LimitsJdbcToPoolSize() throws Exception {
+        assertThat(dataSource).isInstanceOf(ConcurrencyLimitedDataSource.class);
+        HikariDataSource pool = dataSource.unwrap(HikariDataSource.class);
+        assertThat(((ConcurrencyLimitedDataSource) dataSource).availablePermits()).isEqualTo(pool.getMaximumPoolSize());
+    }
+
+    @Test
+    void testVirtualProfile_WorkerPoolsUseVirtualThreads() throws Exception {
+        assertThat(workerThreads.isVirtual()).isTrue();
+        Thread worker = workerThreads.factory("test-worker-").newThread(() -> { });
+        assertThat(worker.getName()).startsWith("test-worker-");
+        assertThat(Thread.class.getMethod("isVirtual").invoke(worker)).isEqualTo(true);
+    }
+}
@@ -0,0 +1,175 @@
+package com.peerisland.orderManagement.config;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.protobuf.ProtobufFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.peerisland.orderManagement.dto.CreateOrderRequest;
+import com.peerisland.orderManagement.dto.OrderResponse;
+import com.peerisland.orderManagement.dto.OrderStatusHistoryDto;
+import com.peerisland.orderManagement.model.OrderStatus;
+import com.peerisland.orderManagement.service.OrderService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.http.MockHttpInputMessage;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Content negotiation of the binary formats over HTTP: responses in CBOR, Smile and protobuf decode to the
+ * same DTOs as JSON, and create requests are accepted in them.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+    "spring.datasource.url=jdbc:h2:mem:wire-format-test;DB_CLOSE_DELAY=-1",
+    "orders.scheduler.cron=-",
+    "orders.outbox.relay-enabled=false"
+})
+class WireFormatIntegrationTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private Jackson2ObjectMapperBuilder builder;
+
+    private JacksonProtobufHttpMessageConverter protobufConverter;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @BeforeEach
+    void setUp() {
+        protobufConverter = new JacksonProtobufHttpMessageConverter(builder.factory(new ProtobufFactory()).build());
+    }
+
+    @Test
+    void testGetOrder_InEachFormat_DecodesToSameResponse() throws Exception {
+        Long id = orderService.createOrder(request("Binary Customer")).getId();
+        OrderResponse json = decode(get("/api/orders/" + id, "application/json"),
+                                    new ObjectMapper().findAndRegisterModules(), OrderResponse.class);
+        assertThat(get("/api/orders/" + id, "*/*").headers().firstValue("Content-Type"))
+            .hasValueSatisfying(t -> assertThat(t).startsWith("application/json"));
+
+        for (String format : List.of("application/cbor", "application/x-jackson-smile")) {
+            HttpResponse<byte[]> response = get("/api/orders/" + id, format);
+            assertThat(response.headers().firstValue("Content-Type")).hasValueSatisfying(t -> assertThat(t).startsWith(format));
+            OrderResponse decoded = decode(response, mapperFor(format), OrderResponse.class);
+            assertThat(decoded).usingRecursiveComparison().isEqualTo(json);
+        }
+
+        HttpResponse<byte[]> protobuf = get("/api/orders/" + id, "application/x-protobuf");
+        OrderResponse decoded = (OrderResponse) protobufConverter.read(
+            OrderResponse.class, null, new MockHttpInputMessage(protobuf.body()));
+        assertThat(decoded).usingRecursiveComparison().isEqualTo(json);
+        assertThat(protobuf.body().length).isLessThan(get("/api/orders/" + id, "application/json").body().length / 2);
+    }
+
+    @Test
+    void testListsAndHistory_AsProtobuf() throws Exception {
+        Long id = orderService.createOrder(request("Protobuf Customer")).getId();
+        orderService.updateStatus(id, OrderStatus.PROCESSING);
+
+        HttpResponse<byte[]> page = get("/api/orders?page=0&size=5", "application/x-protobuf");
+        assertThat(page.statusCode()).isEqualTo(200);
+        @SuppressWarnings("unchecked")
+        List<OrderResponse> orders = (List<OrderResponse>) protobufConverter.read(
+            new TypeReference<List<OrderResponse>>() {}.getType(), null, new MockHttpInputMessage(page.body()));
+        assertThat(orders).hasSize(5);
+
+        HttpResponse<byte[]> history = get("/api/orders/" + id + "/history", "application/x-protobuf");
+        @SuppressWarnings("unchecked")
+        List<OrderStatusHistoryDto> rows = (List<OrderStatusHistoryDto>) protobufConverter.read(
+            new TypeReference<List<OrderStatusHistoryDto>>() {}.getType(), null, new MockHttpInputMessage(history.body()));
+        assertThat(rows).extracting(OrderStatusHistoryDto::newStatus).contains("PROCESSING");
+
+        // a Map body has no schema
+        assertThat(get("/api/orders/" + id + "/track", "application/x-protobuf").statusCode()).isEqualTo(406);
+    }
+
+    @Test
+    @ExtendWith(OutputCaptureExtension.class)
+    void testNegotiationFailures_AreClientErrorsWithoutErrorLogs(CapturedOutput output) throws Exception {
+        Long id = orderService.createOrder(request("Negotiation Customer")).getId();
+
+        assertThat(get("/api/orders/" + id + "/track", "application/x-protobuf").statusCode()).isEqualTo(406);
+
+        HttpResponse<byte[]> unsupported = client.send(
+            HttpRequest.newBuilder(uri("/api/orders")).header("Content-Type", "text/csv").header("Accept", "application/json")
+                       .POST(HttpRequest.BodyPublishers.ofString("customerName,sku", StandardCharsets.UTF_8)).build(),
+            HttpResponse.BodyHandlers.ofByteArray());
+        assertThat(unsupported.statusCode()).isEqualTo(415);
+        assertThat(unsupported.headers().firstValue("Accept")).hasValueSatisfying(
+            accept -> assertThat(accept).contains("application/json", "application/x-protobuf"));
+
+        assertThat(output.getOut()).doesNotContain("Unhandled exception").doesNotContain(" ERROR ");
+    }
+
+    @Test
+    void testCreateOrder_AcceptsBinaryRequestBodies() throws Exception {
+        for (String format : List.of("application/cbor", "application/x-jackson-smile")) {
+            byte[] body = mapperFor(format).writeValueAsBytes(request("Posted " + format));
+            HttpResponse<byte[]> response = post("/api/orders", format, body);
+            assertThat(response.statusCode()).isEqualTo(200);
+            assertThat(decode(response, mapperFor(format), OrderResponse.class).getCustomerName())
+                .isEqualTo("Posted " + format);
+        }
+
+        MockHttpOutputMessage out = new MockHttpOutputMessage();
+        protobufConverter.write(request("Posted protobuf"), CreateOrderRequest.class, null, out);
+        HttpResponse<byte[]> response = post("/api/orders", "application/x-protobuf", out.getBodyAsBytes());
+        assertThat(response.statusCode()).isEqualTo(200);
+        OrderResponse created = (OrderResponse) protobufConverter.read(
+            OrderResponse.class, null, new MockHttpInputMessage(response.body()));
+        assertThat(created.getCustomerName()).isEqualTo("Posted protobuf");
+        assertThat(created.getItems()).hasSize(1);
+    }
+
+    private ObjectMapper mapperFor(String format) {
+        return builder.factory(format.contains("cbor") ? new CBORFactory() : new SmileFactory()).build();
+    }
+
+    private static <T> T decode(HttpResponse<byte[]> response, ObjectMapper mapper, Class<T> type) throws Exception {
+        assertThat(response.statusCode()).isEqualTo(200);
+        return mapper.readValue(response.body(), type);
+    }
+
+    private HttpResponse<byte[]> get(String path, String accept) throws Exception {
+        return client.send(HttpRequest.newBuilder(uri(path)).header("Accept", accept).build(),
+                           HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    private HttpResponse<byte[]> post(String path, String format, byte[] body) throws Exception {
+        return client.send(HttpRequest.newBuilder(uri(path)).header("Content-Type", format).header("Accept", format)
+                                      .POST(HttpRequest.BodyPublishers.ofByteArray(body)).build(),
+                           HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private static CreateOrderRequest request(String customer) {
+        CreateOrderRequest req = new CreateOrderRequest();
+        req.setCustomerName(customer);
+        req.setItems(List.of(new CreateOrderRequest.Item("SKU-1", "Item", 2, 1000L)));
+        return req;
+    }
+}
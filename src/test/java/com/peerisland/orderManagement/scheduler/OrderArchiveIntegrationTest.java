@@ -0,0 +1,207 @@
+package com.peerisland.orderManagement.scheduler;
+
+import com.peerisland.orderManagement.dto.CreateOrderRequest;
+import com.peerisland.orderManagement.model.OrderStatus;
+import com.peerisland.orderManagement.service.LockLease;
+import com.peerisland.orderManagement.service.LockService;
+import com.peerisland.orderManagement.service.OrderResponseCache;
+import com.peerisland.orderManagement.service.OrderService;
+import com.peerisland.orderManagement.service.OrderStatsService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.TaskScheduler;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Old terminal orders move to the archive tables in chunks with their items and history, and stay readable by
+ * id (body, ETag, history) without changing the status totals. Live and recent orders stay hot.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+    "spring.datasource.url=jdbc:h2:mem:archive-test;DB_CLOSE_DELAY=-1",
+    "orders.scheduler.cron=-",
+    "orders.outbox.relay-enabled=false",
+    "orders.archive.cron=-",
+    "orders.archive.chunk-size=2",
+    "orders.archive.chunk-pause=0ms",
+    "orders.archive.min-age=30d",
+    "orders.stats.flush-interval=1h",
+    "orders.stats.reconcile-interval=1h"
+})
+class OrderArchiveIntegrationTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private OrderArchiveJob archiveJob;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderStatsService statsService;
+
+    @Autowired
+    private OrderResponseCache responseCache;
+
+    @Autowired
+    private LockService lockService;
+
+    @Autowired
+    private TaskScheduler taskScheduler;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Test
+    void testLongArchiveRun_DoesNotHoldUpOtherScheduledJobs() throws Exception {
+        CountDownLatch archiveRunning = new CountDownLatch(1);
+        CountDownLatch archiveDone = new CountDownLatch(1);
+        CountDownLatch otherJobRan = new CountDownLatch(1);
+        // a scheduler thread held for the whole test, as by a nightly run within its time budget
+        taskScheduler.schedule(() -> {
+            archiveRunning.countDown();
+            try {
+                archiveDone.await(30, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, Instant.now());
+        try {
+            assertThat(archiveRunning.await(5, TimeUnit.SECONDS)).isTrue();
+
+            taskScheduler.schedule(otherJobRan::countDown, Instant.now());
+
+            assertThat(otherJobRan.await(5, TimeUnit.SECONDS)).isTrue();
+        } finally {
+            archiveDone.countDown();
+        }
+    }
+
+    @Test
+    void testArchive_MovesOldTerminalOrdersInChunks_AndKeepsThemReadable() throws Exception {
+        List<Long> old = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            old.add(delivered());
+        }
+        Long oldCancelled = orderService.createOrder(request()).getId();
+        orderService.cancelOrder(oldCancelled);
+        old.add(oldCancelled);
+        Long oldPending = orderService.createOrder(request()).getId();
+        Long recentDelivered = delivered();
+        backdate(old, 60);
+        backdate(List.of(oldPending), 60);
+
+        statsService.reconcile();
+        Map<String, Object> statsBefore = totals();
+        HttpResponse<String> before = get("/api/orders/" + old.get(0));
+        long historyRows = jdbc.queryForObject("select count(*) from order_status_history where order_id = ?",
+                                               Long.class, old.get(0));
+
+        assertThat(archive()).isEqualTo(4);
+
+        for (Long id : old) {
+            assertThat(count("orders", "id", id)).isZero();
+            assertThat(count("order_items", "order_id", id)).isZero();
+            assertThat(count("order_status_history", "order_id", id)).isZero();
+            assertThat(count("orders_archive", "id", id)).isEqualTo(1);
+            assertThat(count("order_items_archive", "order_id", id)).isEqualTo(1);
+        }
+        assertThat(count("order_status_history_archive", "order_id", old.get(0))).isEqualTo(historyRows);
+        assertThat(count("orders", "id", oldPending)).isEqualTo(1);
+        assertThat(count("orders", "id", recentDelivered)).isEqualTo(1);
+
+        // read from the archive once the cached response is gone
+        responseCache.invalidateAfterCommit(old.get(0));
+        HttpResponse<String> after = get("/api/orders/" + old.get(0));
+        assertThat(after.statusCode()).isEqualTo(200);
+        assertThat(after.body()).isEqualTo(before.body());
+        assertThat(after.headers().firstValue("ETag")).isEqualTo(before.headers().firstValue("ETag"));
+        assertThat(orderService.getStatusHistory(old.get(0))).hasSize((int) historyRows);
+
+        HttpResponse<String> cancel = post("/api/orders/" + old.get(1) + "/cancel");
+        assertThat(cancel.statusCode()).isEqualTo(409);
+        assertThat(cancel.body()).contains("archived as DELIVERED");
+
+        statsService.reconcile();
+        assertThat(totals()).isEqualTo(statsBefore);
+
+        assertThat(archive()).isZero();
+    }
+
+    private int archive() {
+        LockLease lease = lockService.tryAcquireLease("order-archive-lock", Duration.ofSeconds(30)).orElseThrow();
+        try {
+            return archiveJob.archive(lease);
+        } finally {
+            lockService.releaseLease(lease);
+        }
+    }
+
+    private Long delivered() {
+        Long id = orderService.createOrder(request()).getId();
+        orderService.updateStatus(id, OrderStatus.PROCESSING);
+        orderService.updateStatus(id, OrderStatus.SHIPPED);
+        orderService.updateStatus(id, OrderStatus.DELIVERED);
+        return id;
+    }
+
+    private void backdate(List<Long> ids, int days) {
+        LocalDateTime then = LocalDateTime.now().minusDays(days);
+        for (Long id : ids) {
+            jdbc.update("update orders set created_at = ?, updated_at = ? where id = ?", then, then, id);
+        }
+    }
+
+    private long count(String table, String column, Long id) {
+        return jdbc.queryForObject("select count(*) from " + table + " where " + column + " = ?", Long.class, id);
+    }
+
+    private Map<String, Object> totals() {
+        Map<String, Object> totals = new HashMap<>();
+        for (Map<String, Object> row : jdbc.queryForList("select status, order_count, total_amount from order_status_stats")) {
+            totals.put((String) row.get("STATUS"),
+                       row.get("ORDER_COUNT") + "/" + ((BigDecimal) row.get("TOTAL_AMOUNT")).stripTrailingZeros());
+        }
+        return totals;
+    }
+
+    private static CreateOrderRequest request() {
+        CreateOrderRequest req = new CreateOrderRequest();
+        req.setCustomerName("Archive Customer");
+        req.setItems(List.of(new CreateOrderRequest.Item("SKU-A", "Item", 2, 1250L)));
+        return req;
+    }
+
+    private HttpResponse<String> get(String path) throws Exception {
+        return HttpClient.newHttpClient().send(
+            HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).GET().build(),
+            HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpResponse<String> post(String path) throws Exception {
+        return HttpClient.newHttpClient().send(
+            HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                       .POST(HttpRequest.BodyPublishers.noBody()).build(),
+            HttpResponse.BodyHandlers.ofString());
+    }
+}
@@ -0,0 +1,118 @@
+package com.peerisland.orderManagement.scheduler;
+
+import com.peerisland.orderManagement.config.SchedulerProperties;
+import com.peerisland.orderManagement.service.LockLease;
+import com.peerisland.orderManagement.service.LockService;
+import com.peerisland.orderManagement.service.OrderMetrics;
+import com.peerisland.orderManagement.service.OrderService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderStatusSchedulerTest {
+
+    @Mock
+    private OrderService orderService;
+
+    @Mock
+    private LockService lockService;
+
+    @Mock
+    private PendingOrderWorkers workers;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final OrderMetrics metrics = new OrderMetrics(registry);
+    private SchedulerProperties properties;
+    private OrderStatusScheduler scheduler;
+    private final LockLease lease = new LockLease("order-processing-lock", "node-1", 7, Instant.now().plusSeconds(30));
+
+    @BeforeEach
+    void setup() {
+        properties = new SchedulerProperties();
+        properties.setChunkSize(100);
+        scheduler = new OrderStatusScheduler(orderService, lockService, workers, properties, metrics);
+    }
+
+    @Test
+    void testDrain_KeepsProcessingUntilChunkComesBackShort() {
+        when(orderService.bumpPendingToProcessingBatch(100, lease)).thenReturn(100, 100, 40);
+        when(orderService.countPendingOrders()).thenReturn(0L);
+
+        DrainReport report = scheduler.drainPending(lease);
+
+        assertThat(report.chunks()).isEqualTo(3);
+        assertThat(report.processed()).isEqualTo(240);
+        assertThat(report.remainingBacklog()).isZero();
+        verify(orderService, times(3)).bumpPendingToProcessingBatch(100, lease);
+        assertThat(registry.get("orders.scheduler.batch.size").tag("mode", "lock").summary().count()).isEqualTo(3);
+        assertThat(registry.get("orders.scheduler.batch.size").tag("mode", "lock").summary().totalAmount()).isEqualTo(240);
+    }
+
+    @Test
+    void testDrain_StopsWhenTimeBudgetIsSpent() {
+        properties.setTimeBudget(Duration.ZERO);
+        when(orderService.bumpPendingToProcessingBatch(100, lease)).thenReturn(100);
+        when(orderService.countPendingOrders()).thenReturn(5_000L);
+
+        DrainReport report = scheduler.drainPending(lease);
+
+        assertThat(report.chunks()).isEqualTo(1);
+        assertThat(report.remainingBacklog()).isEqualTo(5_000L);
+    }
+
+    @Test
+    void testDrainDisabled_RunsSingleChunk() {
+        properties.setDrain(false);
+        when(orderService.bumpPendingToProcessingBatch(100, lease)).thenReturn(100);
+
+        DrainReport report = scheduler.drainPending(lease);
+
+        assertThat(report.chunks()).isEqualTo(1);
+        assertThat(report.processed()).isEqualTo(100);
+    }
+
+    @Test
+    void testProcessPendingOrders_SkipsWhenLockHeldElsewhere() {
+        when(lockService.tryAcquireLease(eq("order-processing-lock"), any())).thenReturn(Optional.empty());
+
+        scheduler.processPendingOrders();
+
+        verifyNoInteractions(orderService);
+        verify(lockService, never()).releaseLease(any());
+    }
+
+    @Test
+    void testProcessPendingOrders_FencesEveryChunkAndReleasesLease() {
+        when(lockService.tryAcquireLease(eq("order-processing-lock"), any())).thenReturn(Optional.of(lease));
+        when(orderService.bumpPendingToProcessingBatch(100, lease)).thenReturn(100, 10);
+
+        scheduler.processPendingOrders();
+
+        verify(orderService, times(2)).bumpPendingToProcessingBatch(100, lease);
+        verify(lockService).releaseLease(lease);
+    }
+
+    @Test
+    void testClaimMode_RunsWorkersWithoutGlobalLock() {
+        properties.setMode(SchedulerProperties.Mode.CLAIM);
+        when(workers.drain()).thenReturn(new DrainReport(2, 150, Duration.ofMillis(20), 0));
+
+        scheduler.processPendingOrders();
+
+        verify(workers).drain();
+        verifyNoInteractions(lockService);
+    }
+}
@@ -0,0 +1,217 @@
+package com.peerisland.orderManagement.scheduler;
+
+import com.peerisland.orderManagement.config.NodeIdentity;
+import com.peerisland.orderManagement.config.SchedulerProperties;
+import com.peerisland.orderManagement.config.WorkerThreads;
+import com.peerisland.orderManagement.dto.CreateOrderRequest;
+import com.peerisland.orderManagement.model.OrderStatus;
+import com.peerisland.orderManagement.repository.OrderRepository;
+import com.peerisland.orderManagement.service.OrderMetrics;
+import com.peerisland.orderManagement.service.OrderService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.AdditionalAnswers.delegatesTo;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+/**
+ * CLAIM mode with several workers on one database: concurrent claims skip the rows another claim holds instead
+ * of waiting for them, and no worker gives up while PENDING orders are left.
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:claim-workers-test;DB_CLOSE_DELAY=-1",
+    "orders.scheduler.cron=-",
+    "orders.outbox.relay-enabled=false",
+    "orders.stats.flush-interval=1h",
+    "orders.stats.reconcile-interval=1h"
+})
+class PendingOrderWorkersIntegrationTest {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private NodeIdentity node;
+
+    @Autowired
+    private WorkerThreads threads;
+
+    @Autowired
+    private OrderMetrics metrics;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @BeforeEach
+    void drainLeftovers() {
+        jdbc.update("update orders set status = 'PROCESSING', claimed_by = null, claim_expires_at = null "
+                        + "where status = 'PENDING'");
+    }
+
+    @Test
+    void testConcurrentClaims_SkipRowsHeldByAnOpenClaim() throws Exception {
+        createPending(10);
+        CountDownLatch firstClaimed = new CountDownLatch(1);
+        CountDownLatch secondDone = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            // the first claim keeps its transaction, and so its row locks, open until the second claim is done
+            Future<Integer> first = pool.submit(() -> transactionTemplate.execute(tx -> {
+                int claimed = orderService.claimPendingOrders("node-a-w1-1", 5, Duration.ofMinutes(1));
+                firstClaimed.countDown();
+                await(secondDone);
+                return claimed;
+            }));
+            Future<Integer> second = pool.submit(() -> {
+                await(firstClaimed);
+                try {
+                    return orderService.claimPendingOrders("node-b-w1-1", 5, Duration.ofMinutes(1));
+                } finally {
+                    secondDone.countDown();
+                }
+            });
+
+            assertThat(second.get(10, TimeUnit.SECONDS)).isEqualTo(5);
+            assertThat(first.get(10, TimeUnit.SECONDS)).isEqualTo(5);
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertThat(jdbc.queryForObject("select count(*) from orders where claimed_by = 'node-a-w1-1'", Long.class))
+            .isEqualTo(5);
+        assertThat(jdbc.queryForObject("select count(*) from orders where claimed_by = 'node-b-w1-1'", Long.class))
+            .isEqualTo(5);
+        assertThat(orderService.processClaimedOrders("node-a-w1-1")).isEqualTo(5);
+        assertThat(orderService.processClaimedOrders("node-b-w1-1")).isEqualTo(5);
+        assertThat(orderRepository.countByStatus(OrderStatus.PENDING)).isZero();
+    }
+
+    @Test
+    void testClaimablePendingRows_AreReadOldestFirstThroughTheStatusIndex() {
+        String claimable = "status = 'PENDING' and (claim_expires_at is null or claim_expires_at < current_timestamp)";
+        String plan = jdbc.queryForObject("explain select id from orders where " + claimable
+                                              + " and created_at <= (select max(w.created_at) from (select created_at "
+                                              + "from orders where " + claimable
+                                              + " order by status, created_at, id fetch first 20 rows only) w) "
+                                              + "fetch first 5 rows only for update skip locked", String.class);
+
+        // the window is read off the index without a sort, and the locking scan walks the same index by age
+        assertThat(plan).containsIgnoringCase("index sorted")
+                        .containsPattern("(?i)idx_orders_status_created: status = 'PENDING'\\s+and created_at <=");
+    }
+
+    @Test
+    void testClaims_TakeTheOldestPendingOrdersFirst() {
+        createPending(30);
+        // creation order reversed against id order, so neither id nor insertion order gives the oldest away
+        jdbc.update("update orders set created_at = dateadd('MINUTE', -id, current_timestamp) where status = 'PENDING'");
+        List<Long> oldest = jdbc.queryForList("select id from orders where status = 'PENDING' "
+                                                  + "order by created_at, id fetch first 10 rows only", Long.class);
+
+        assertThat(orderService.claimPendingOrders("node-a-w1-1", 5, Duration.ofMinutes(1))).isEqualTo(5);
+        assertThat(orderService.claimPendingOrders("node-a-w2-1", 5, Duration.ofMinutes(1))).isEqualTo(5);
+
+        assertThat(jdbc.queryForList("select id from orders where claimed_by = 'node-a-w1-1'", Long.class))
+            .containsExactlyInAnyOrderElementsOf(oldest.subList(0, 5));
+        assertThat(jdbc.queryForList("select id from orders where claimed_by = 'node-a-w2-1'", Long.class))
+            .containsExactlyInAnyOrderElementsOf(oldest.subList(5, 10));
+    }
+
+    @Test
+    void testLeavingPending_ReleasesTheClaim() {
+        createPending(3);
+        assertThat(orderService.claimPendingOrders("node-a-w1-1", 3, Duration.ofMinutes(1))).isEqualTo(3);
+        List<Long> claimed = jdbc.queryForList("select id from orders where claimed_by = 'node-a-w1-1' order by id",
+                                               Long.class);
+
+        orderService.cancelOrder(claimed.get(0));
+        orderService.updateStatus(claimed.get(1), OrderStatus.PROCESSING);
+        orderService.bumpPendingToProcessingBatch(10);
+
+        assertThat(jdbc.queryForObject("select count(*) from orders where claimed_by is not null "
+                                           + "or claim_expires_at is not null", Long.class)).isZero();
+    }
+
+    @Test
+    void testDrain_EveryWorkerKeepsClaimingUntilTheBacklogIsEmpty() {
+        createPending(60);
+
+        // rows claimed per worker, recorded around the real service
+        Map<String, List<Integer>> claims = new ConcurrentHashMap<>();
+        OrderService recording = mock(OrderService.class, delegatesTo(orderService));
+        doAnswer(inv -> {
+            int claimed = orderService.claimPendingOrders(inv.getArgument(0), inv.getArgument(1), inv.getArgument(2));
+            String worker = inv.<String>getArgument(0).replaceAll("-\\d+$", "");
+            claims.computeIfAbsent(worker, w -> new CopyOnWriteArrayList<>()).add(claimed);
+            return claimed;
+        }).when(recording).claimPendingOrders(anyString(), anyInt(), any(Duration.class));
+
+        SchedulerProperties properties = new SchedulerProperties();
+        properties.setWorkers(3);
+        properties.setChunkSize(5);
+        properties.setChunkPause(Duration.ofMillis(20));
+        PendingOrderWorkers workers = new PendingOrderWorkers(recording, properties, node, threads, metrics);
+        DrainReport report;
+        try {
+            report = workers.drain();
+        } finally {
+            workers.destroy();
+        }
+
+        assertThat(report.processed()).isEqualTo(60);
+        assertThat(report.remainingBacklog()).isZero();
+        assertThat(claims).hasSize(3);
+        claims.forEach((worker, sizes) -> {
+            // several chunks each, and only an empty claim on an empty backlog ends a worker
+            assertThat(sizes.stream().filter(n -> n > 0).count()).as(worker).isGreaterThan(1);
+            assertThat(sizes.get(sizes.size() - 1)).as(worker).isZero();
+        });
+        assertThat(claims.values().stream().flatMap(List::stream).mapToInt(Integer::intValue).sum()).isEqualTo(60);
+    }
+
+    private void createPending(int count) {
+        for (int i = 0; i < count; i++) {
+            CreateOrderRequest req = new CreateOrderRequest();
+            req.setCustomerName("Worker Customer " + i);
+            req.setItems(List.of(new CreateOrderRequest.Item("SKU-" + i, "Item", 1, 1000L)));
+            orderService.createOrder(req);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            if (!latch.await(10, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("timed out waiting for the other claim");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
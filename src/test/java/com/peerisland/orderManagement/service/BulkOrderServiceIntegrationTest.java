@@ -0,0 +1,152 @@
+package com.peerisland.orderManagement.service;
+
+import com.peerisland.orderManagement.dto.BatchCreateResponse;
+import com.peerisland.orderManagement.dto.BatchOrderResult.Outcome;
+import com.peerisland.orderManagement.dto.CreateOrderRequest;
+import com.peerisland.orderManagement.model.OrderEntity;
+import com.peerisland.orderManagement.repository.OrderRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.EntityStatistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Not @Transactional: bulk chunks commit in their own transactions, so created orders are removed afterwards.
+ */
+@SpringBootTest(properties = {
+    "spring.jpa.properties.hibernate.generate_statistics=true",
+    // the relay thread polls the outbox; keep its statements out of the counts
+    "orders.outbox.relay-enabled=false"
+})
+class BulkOrderServiceIntegrationTest {
+
+    @Autowired
+    private BulkOrderService bulkOrderService;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    private final List<Long> createdIds = new ArrayList<>();
+    private String prefix;
+
+    @BeforeEach
+    void setup() {
+        prefix = "BULK-" + UUID.randomUUID() + "-";
+    }
+
+    @AfterEach
+    void cleanup() {
+        orderRepository.deleteAllById(createdIds);
+    }
+
+    @Test
+    void testCreateOrders_ReportsOutcomePerEntry() {
+        Long existingId = orderService.createOrder(request(prefix + "existing", "Existing")).getId();
+        createdIds.add(existingId);
+
+        CreateOrderRequest invalid = request(prefix + "invalid", " ");
+        List<CreateOrderRequest> batch = List.of(
+            request(prefix + "a", "Alice"),
+            request(prefix + "existing", "Existing again"),
+            invalid,
+            request(prefix + "a", "Alice retry"),
+            request(null, "No key"));
+
+        BatchCreateResponse resp = track(bulkOrderService.createOrders(batch));
+
+        assertThat(resp.results()).extracting(r -> r.outcome())
+                                  .containsExactly(Outcome.CREATED, Outcome.DUPLICATE, Outcome.REJECTED,
+                                                   Outcome.DUPLICATE, Outcome.CREATED);
+        assertThat(resp.results().get(1).orderId()).isEqualTo(existingId);
+        assertThat(resp.results().get(3).orderId()).isEqualTo(resp.results().get(0).orderId());
+        assertThat(resp.results().get(2).errors()).contains("customerName is required");
+        assertThat(resp.created()).isEqualTo(2);
+        assertThat(resp.duplicates()).isEqualTo(2);
+        assertThat(resp.rejected()).isEqualTo(1);
+        assertThat(orderService.getById(resp.results().get(0).orderId()).getItems()).hasSize(2);
+    }
+
+    @Test
+    void testCreateOrders_FailingChunkFallsBackToSingleInserts() {
+        // passes validation but does not fit the customer_name column, so its chunk fails in the database
+        CreateOrderRequest tooLong = request(prefix + "long", "x".repeat(300));
+        List<CreateOrderRequest> batch = List.of(
+            request(prefix + "1", "One"), tooLong, request(prefix + "2", "Two"));
+
+        BatchCreateResponse resp = track(bulkOrderService.createOrders(batch));
+
+        assertThat(resp.results()).extracting(r -> r.outcome())
+                                  .containsExactly(Outcome.CREATED, Outcome.REJECTED, Outcome.CREATED);
+        assertThat(orderRepository.findByClientRequestId(prefix + "1")).isPresent();
+        assertThat(orderRepository.findByClientRequestId(prefix + "long")).isEmpty();
+    }
+
+    @Test
+    void testCreateOrders_BlankKeysAreNoKeys_AndStayInTheChunkInsert() {
+        EntityStatistics orderStats = entityManagerFactory.unwrap(SessionFactory.class).getStatistics()
+                                                          .getEntityStatistics(OrderEntity.class.getName());
+        long insertsBefore = orderStats.getInsertCount();
+
+        BatchCreateResponse resp = track(bulkOrderService.createOrders(
+            List.of(request("", "Blank"), request("  ", "Spaces"))));
+
+        assertThat(resp.results()).extracting(r -> r.outcome()).containsExactly(Outcome.CREATED, Outcome.CREATED);
+        assertThat(resp.results()).extracting(r -> r.clientRequestId()).containsOnlyNulls();
+        // each order inserted once, by the chunk: a failed chunk and its one-by-one retry would insert them twice
+        assertThat(orderStats.getInsertCount() - insertsBefore).isEqualTo(2);
+        assertThat(jdbc.queryForObject("select count(*) from orders where id in (?, ?) and client_request_id is null",
+                                       Long.class, createdIds.get(0), createdIds.get(1))).isEqualTo(2);
+        assertThat(jdbc.queryForObject("select count(*) from idempotency_keys where trim(idempotency_key) = ''",
+                                       Long.class)).isZero();
+    }
+
+    @Test
+    void testCreateOrders_RejectsOversizedBatch() {
+        List<CreateOrderRequest> batch = new ArrayList<>();
+        for (int i = 0; i <= 10_000; i++) {
+            batch.add(request(null, "Too many"));
+        }
+        assertThatThrownBy(() -> bulkOrderService.createOrders(batch))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private BatchCreateResponse track(BatchCreateResponse resp) {
+        resp.results().stream()
+            .filter(r -> r.outcome() == Outcome.CREATED)
+            .map(r -> r.orderId())
+            .filter(Objects::nonNull)
+            .forEach(createdIds::add);
+        return resp;
+    }
+
+    private static CreateOrderRequest request(String clientRequestId, String customer) {
+        CreateOrderRequest req = new CreateOrderRequest();
+        req.setClientRequestId(clientRequestId);
+        req.setCustomerName(customer);
+        req.setItems(List.of(new CreateOrderRequest.Item("SKU-1", "Book", 2, 1250L),
+                             new CreateOrderRequest.Item("SKU-2", "Pen", 1, 150L)));
+        return req;
+    }
+}
@@ -0,0 +1,113 @@
+package com.peerisland.orderManagement.service;
+
+import com.peerisland.orderManagement.dto.CreateOrderRequest;
+import com.peerisland.orderManagement.repository.IdempotencyKeyRepository;
+import com.peerisland.orderManagement.repository.OrderRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Not @Transactional: the key conflict has to be raised by a committed first create.
+ */
+@SpringBootTest(properties = {
+    "spring.jpa.properties.hibernate.generate_statistics=true",
+    // the relay thread polls the outbox; keep its statements out of the counts
+    "orders.outbox.relay-enabled=false"
+})
+class IdempotencyIntegrationTest {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    @Autowired
+    private IdempotencyKeyRepository keyRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<Long> createdIds = new ArrayList<>();
+    private String key;
+
+    @BeforeEach
+    void setup() {
+        key = "IDEM-" + UUID.randomUUID();
+    }
+
+    @AfterEach
+    void cleanup() {
+        keyRepository.deleteAllById(List.of(key, key + "-expired"));
+        orderRepository.deleteAllById(createdIds);
+    }
+
+    @Test
+    void testRetry_IsAnsweredFromMemoryWithoutStatements() {
+        Long id = orderService.createOrder(request(key)).getId();
+        createdIds.add(id);
+        orderService.getById(id);
+
+        Statistics stats = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        stats.clear();
+
+        assertThat(orderService.createOrder(request(key)).getId()).isEqualTo(id);
+        assertThat(stats.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    void testRetry_AfterCacheLoss_LosesKeyInsertAndReturnsFirstOrder() {
+        Long id = orderService.createOrder(request(key)).getId();
+        createdIds.add(id);
+        long before = orderRepository.count();
+
+        idempotencyService.forget(key);
+        Long retried = orderService.createOrder(request(key)).getId();
+
+        assertThat(retried).isEqualTo(id);
+        // the retry's order insert was rolled back with the failed key insert
+        assertThat(orderRepository.count()).isEqualTo(before);
+        assertThat(keyRepository.findOrderId(key)).contains(id);
+    }
+
+    @Test
+    void testPurge_RemovesExpiredKeysOnly() {
+        Long id = orderService.createOrder(request(key)).getId();
+        createdIds.add(id);
+        jdbcTemplate.update("insert into idempotency_keys (idempotency_key, order_id, created_at, expires_at) "
+                                + "values (?, ?, dateadd('HOUR', -2, current_timestamp), dateadd('MINUTE', -1, current_timestamp))",
+                            key + "-expired", id);
+
+        idempotencyService.purgeExpired();
+
+        assertThat(keyRepository.existsById(key + "-expired")).isFalse();
+        assertThat(keyRepository.existsById(key)).isTrue();
+    }
+
+    private static CreateOrderRequest request(String clientRequestId) {
+        CreateOrderRequest req = new CreateOrderRequest();
+        req.setClientRequestId(clientRequestId);
+        req.setCustomerName("Idempotent");
+        req.setItems(List.of(new CreateOrderRequest.Item("SKU-I", "Item", 1, 500L)));
+        return req;
+    }
+}
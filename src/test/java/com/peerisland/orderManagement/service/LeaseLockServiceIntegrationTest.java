@@ -0,0 +1,126 @@
+package com.peerisland.orderManagement.service;
+
+import com.peerisland.orderManagement.config.NodeIdentity;
+import com.peerisland.orderManagement.config.SchedulerProperties;
+import com.peerisland.orderManagement.exception.LockLostException;
+import com.peerisland.orderManagement.repository.SchedulerLockRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+class LeaseLockServiceIntegrationTest {
+
+    @Autowired
+    private SchedulerLockRepository schedulerLockRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final OrderMetrics metrics = new OrderMetrics(registry);
+
+    private LeaseLockServiceImpl nodeA;
+    private LeaseLockServiceImpl nodeB;
+    private String lockName;
+
+    @BeforeEach
+    void setup() {
+        nodeA = new LeaseLockServiceImpl(schedulerLockRepository, node("node-a"), metrics);
+        nodeB = new LeaseLockServiceImpl(schedulerLockRepository, node("node-b"), metrics);
+        lockName = "test-lock-" + UUID.randomUUID();
+    }
+
+    @AfterEach
+    void tearDown() {
+        nodeA.destroy();
+        nodeB.destroy();
+    }
+
+    @Test
+    void testLiveLease_CannotBeAcquiredByAnotherOwner() {
+        var lease = nodeA.tryAcquireLease(lockName, Duration.ofSeconds(30));
+
+        assertThat(lease).isPresent();
+        assertThat(nodeB.tryAcquireLease(lockName, Duration.ofSeconds(30))).isEmpty();
+        fenced(() -> nodeA.checkFence(lease.get()));
+        assertThat(registry.get("orders.lock.acquire").tags("lock", lockName, "outcome", "acquired").timer().count()).isEqualTo(1);
+        assertThat(registry.get("orders.lock.acquire").tags("lock", lockName, "outcome", "held").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void testLiveLease_IsRefusedToASecondCallerOnTheSameNode() {
+        var first = nodeA.tryAcquireLease(lockName, Duration.ofSeconds(30)).orElseThrow();
+
+        assertThat(nodeA.tryAcquireLease(lockName, Duration.ofSeconds(30))).isEmpty();
+        fenced(() -> nodeA.checkFence(first));
+        assertThat(first.isLost()).isFalse();
+        assertThat(schedulerLockRepository.findFencingToken(lockName, "node-a")).contains(first.getFencingToken());
+    }
+
+    @Test
+    void testHeldLease_InsertIsSkippedWithoutAKeyViolation() {
+        nodeA.tryAcquireLease(lockName, Duration.ofSeconds(30)).orElseThrow();
+        Instant now = Instant.now();
+
+        // a standby node's attempt: no exception, so nothing is logged and no enclosing transaction is aborted
+        assertThat(schedulerLockRepository.insertLease(lockName, "node-b", now, now.plusSeconds(30))).isZero();
+        assertThat(schedulerLockRepository.findFencingToken(lockName, "node-a")).contains(1L);
+    }
+
+    @Test
+    void testTakeover_BumpsTokenAndFencesOffOldHolder() throws InterruptedException {
+        var stale = nodeA.tryAcquireLease(lockName, Duration.ofMillis(300)).orElseThrow();
+        nodeA.destroy(); // node A stops heartbeating, e.g. a long GC pause or a network partition
+        Thread.sleep(500);
+
+        var current = nodeB.tryAcquireLease(lockName, Duration.ofSeconds(30)).orElseThrow();
+
+        assertThat(current.getFencingToken()).isGreaterThan(stale.getFencingToken());
+        assertThatThrownBy(() -> fenced(() -> nodeA.checkFence(stale))).isInstanceOf(LockLostException.class);
+        assertThat(stale.isLost()).isTrue();
+        assertThat(registry.get("orders.lock.lost").tag("lock", lockName).counter().count()).isEqualTo(1);
+        fenced(() -> nodeB.checkFence(current));
+    }
+
+    @Test
+    void testRelease_LetsNextOwnerInWithHigherToken() {
+        var first = nodeA.tryAcquireLease(lockName, Duration.ofSeconds(30)).orElseThrow();
+        nodeA.releaseLease(first);
+
+        var second = nodeB.tryAcquireLease(lockName, Duration.ofSeconds(30)).orElseThrow();
+
+        assertThat(second.getFencingToken()).isEqualTo(first.getFencingToken() + 1);
+    }
+
+    @Test
+    void testHeartbeat_KeepsShortLeaseAlive() throws InterruptedException {
+        var lease = nodeA.tryAcquireLease(lockName, Duration.ofMillis(300)).orElseThrow();
+        Thread.sleep(1_000);
+
+        assertThat(nodeB.tryAcquireLease(lockName, Duration.ofSeconds(30))).isEmpty();
+        assertThat(lease.isLost()).isFalse();
+    }
+
+    private void fenced(Runnable check) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> check.run());
+    }
+
+    private static NodeIdentity node(String id) {
+        SchedulerProperties properties = new SchedulerProperties();
+        properties.setNodeId(id);
+        return new NodeIdentity(properties);
+    }
+}
@@ -0,0 +1,119 @@
+package com.peerisland.orderManagement.service;
+
+import com.peerisland.orderManagement.model.OrderEntity;
+import com.peerisland.orderManagement.model.OrderItemEntity;
+import com.peerisland.orderManagement.model.OrderStatus;
+import com.peerisland.orderManagement.repository.OrderRepository;
+import com.peerisland.orderManagement.repository.OrderStatusHistoryRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+    "spring.jpa.properties.hibernate.generate_statistics=true",
+    // the relay thread polls the outbox; keep its statements out of the counts
+    "orders.outbox.relay-enabled=false"
+})
+@Transactional
+class OrderBatchTransitionIntegrationTest {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderStatusHistoryRepository oshRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void testBump_MovesWholeChunkInConstantStatements() {
+        List<OrderEntity> created = orderRepository.saveAllAndFlush(pendingOrders(25));
+        long pending = orderRepository.countByStatus(OrderStatus.PENDING);
+
+        Statistics stats = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        stats.clear();
+
+        int moved = orderService.bumpPendingToProcessingBatch(1_000);
+
+        // select ids (FOR UPDATE) + INSERT ... SELECT history + INSERT ... SELECT events + guarded UPDATE
+        assertThat(stats.getPrepareStatementCount()).isEqualTo(4);
+        assertThat(moved).isEqualTo(pending);
+        assertThat(orderRepository.countByStatus(OrderStatus.PENDING)).isZero();
+
+        var history = oshRepository.findByOrderIdOrderByChangedAtAsc(created.get(0).getId());
+        assertThat(history).hasSize(1);
+        assertThat(history.get(0).getPreviousStatus()).isEqualTo("PENDING");
+        assertThat(history.get(0).getNewStatus()).isEqualTo("PROCESSING");
+        assertThat(history.get(0).getChangedBy()).isEqualTo("SCHEDULER");
+    }
+
+    @Test
+    void testBump_RespectsChunkSize() {
+        orderRepository.saveAllAndFlush(pendingOrders(10));
+        long pending = orderRepository.countByStatus(OrderStatus.PENDING);
+
+        int moved = orderService.bumpPendingToProcessingBatch(4);
+
+        assertThat(moved).isEqualTo(4);
+        assertThat(orderRepository.countByStatus(OrderStatus.PENDING)).isEqualTo(pending - 4);
+    }
+
+    @Test
+    void testClaims_AreDisjointAcrossWorkers() {
+        orderRepository.saveAllAndFlush(pendingOrders(10));
+        long pending = orderRepository.countByStatus(OrderStatus.PENDING);
+
+        int first = orderService.claimPendingOrders("node-a-w1-1", 6, Duration.ofMinutes(1));
+        int second = orderService.claimPendingOrders("node-b-w1-1", 1_000, Duration.ofMinutes(1));
+
+        assertThat(first).isEqualTo(6);
+        assertThat(first + second).isEqualTo(pending);
+        assertThat(orderService.processClaimedOrders("node-a-w1-1")).isEqualTo(6);
+        assertThat(orderService.processClaimedOrders("node-b-w1-1")).isEqualTo(second);
+        assertThat(orderRepository.countByStatus(OrderStatus.PENDING)).isZero();
+    }
+
+    @Test
+    void testExpiredClaim_IsRecoveredByAnotherWorker() {
+        orderRepository.saveAllAndFlush(pendingOrders(3));
+        long pending = orderRepository.countByStatus(OrderStatus.PENDING);
+
+        // Worker A claims and "crashes": its lease is already expired
+        orderService.claimPendingOrders("crashed-w1-1", 1_000, Duration.ofSeconds(-1));
+        int recovered = orderService.claimPendingOrders("healthy-w1-1", 1_000, Duration.ofMinutes(1));
+
+        assertThat(recovered).isEqualTo(pending);
+        assertThat(orderService.processClaimedOrders("crashed-w1-1")).isZero();
+        assertThat(orderService.processClaimedOrders("healthy-w1-1")).isEqualTo(pending);
+    }
+
+    private static List<OrderEntity> pendingOrders(int count) {
+        List<OrderEntity> orders = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            OrderEntity order = new OrderEntity();
+            order.setCustomerName("Batch Customer " + i);
+            OrderItemEntity item = new OrderItemEntity();
+            item.setSku("SKU-" + i);
+            item.setName("Item " + i);
+            item.setQuantity(1);
+            item.setPriceMinor(1000);
+            order.addItem(item);
+            orders.add(order);
+        }
+        return orders;
+    }
+}
@@ -0,0 +1,187 @@
+package com.peerisland.orderManagement.service;
+
+import com.peerisland.orderManagement.dto.CreateOrderRequest;
+import com.peerisland.orderManagement.model.OrderStatus;
+import com.peerisland.orderManagement.repository.OrderRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * ETags and conditional requests over HTTP, and a scheduler move racing an API update.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+    "spring.datasource.url=jdbc:h2:mem:conditional-test;DB_CLOSE_DELAY=-1",
+    "orders.scheduler.cron=-",
+    "orders.outbox.relay-enabled=false"
+})
+class OrderConditionalRequestIntegrationTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepo;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @Test
+    void testGet_ReturnsVersionEtag_AndNotModifiedWhileUnchanged() throws Exception {
+        Long id = orderService.createOrder(request()).getId();
+
+        HttpResponse<String> first = send(get("/api/orders/" + id));
+        String etag = first.headers().firstValue("ETag").orElseThrow();
+        assertThat(first.statusCode()).isEqualTo(200);
+        assertThat(etag).isEqualTo("\"0\"");
+        assertThat(first.body()).contains("\"version\":0");
+
+        HttpResponse<String> revalidated = send(get("/api/orders/" + id).header("If-None-Match", etag));
+        assertThat(revalidated.statusCode()).isEqualTo(304);
+        assertThat(revalidated.body()).isEmpty();
+
+        orderService.updateStatus(id, OrderStatus.PROCESSING);
+
+        HttpResponse<String> changed = send(get("/api/orders/" + id).header("If-None-Match", etag));
+        assertThat(changed.statusCode()).isEqualTo(200);
+        assertThat(changed.headers().firstValue("ETag")).contains("\"1\"");
+    }
+
+    @Test
+    void testGet_SeesChangesMadeOnAnotherNode() throws Exception {
+        Long id = orderService.createOrder(request()).getId();
+        String etag = send(get("/api/orders/" + id)).headers().firstValue("ETag").orElseThrow();
+        String trackTag = send(get("/api/orders/" + id + "/track")).headers().firstValue("ETag").orElseThrow();
+
+        // another node's write: it does not evict this node's cached response
+        jdbc.update("update orders set status = 'PROCESSING', version = version + 1 where id = ?", id);
+
+        HttpResponse<String> changed = send(get("/api/orders/" + id).header("If-None-Match", etag));
+        assertThat(changed.statusCode()).isEqualTo(200);
+        assertThat(changed.headers().firstValue("ETag")).contains("\"1\"");
+        assertThat(changed.body()).contains("\"status\":\"PROCESSING\"");
+        HttpResponse<String> tracked = send(get("/api/orders/" + id + "/track").header("If-None-Match", trackTag));
+        assertThat(tracked.statusCode()).isEqualTo(200);
+        assertThat(tracked.body()).contains("\"status\":\"PROCESSING\"");
+    }
+
+    @Test
+    void testTrackAndHistory_EtagChangesWithStatus() throws Exception {
+        Long id = orderService.createOrder(request()).getId();
+
+        String trackTag = send(get("/api/orders/" + id + "/track")).headers().firstValue("ETag").orElseThrow();
+        String historyTag = send(get("/api/orders/" + id + "/history")).headers().firstValue("ETag").orElseThrow();
+        assertThat(send(get("/api/orders/" + id + "/track").header("If-None-Match", trackTag)).statusCode()).isEqualTo(304);
+        assertThat(send(get("/api/orders/" + id + "/history").header("If-None-Match", historyTag)).statusCode()).isEqualTo(304);
+
+        orderService.updateStatus(id, OrderStatus.PROCESSING);
+
+        assertThat(send(get("/api/orders/" + id + "/track").header("If-None-Match", trackTag)).statusCode()).isEqualTo(200);
+        assertThat(send(get("/api/orders/" + id + "/history").header("If-None-Match", historyTag)).statusCode()).isEqualTo(200);
+    }
+
+    @Test
+    void testUpdateStatus_IfMatchStaleAfterSchedulerMove_Returns412() throws Exception {
+        Long id = orderService.createOrder(request()).getId();
+        String etag = send(get("/api/orders/" + id)).headers().firstValue("ETag").orElseThrow();
+
+        // the scheduler moves the order between the client's read and its write
+        orderService.bumpPendingToProcessingBatch(100);
+
+        HttpResponse<String> stale = send(putStatus(id, "CANCELLED").header("If-Match", etag));
+        assertThat(stale.statusCode()).isEqualTo(412);
+        assertThat(orderService.getById(id).getStatus()).isEqualTo(OrderStatus.PROCESSING);
+
+        String current = send(get("/api/orders/" + id)).headers().firstValue("ETag").orElseThrow();
+        HttpResponse<String> fresh = send(putStatus(id, "SHIPPED").header("If-Match", current));
+        assertThat(fresh.statusCode()).isEqualTo(200);
+        assertThat(fresh.headers().firstValue("ETag")).contains("\"2\"");
+    }
+
+    @Test
+    void testCancel_IfMatchMalformed_Returns412_AndWildcardIsUnconditional() throws Exception {
+        Long id = orderService.createOrder(request()).getId();
+
+        HttpResponse<String> weak = send(HttpRequest.newBuilder(uri("/api/orders/" + id)).DELETE()
+                                                    .header("If-Match", "W/\"0\"").build());
+        assertThat(weak.statusCode()).isEqualTo(412);
+
+        HttpResponse<String> posted = send(HttpRequest.newBuilder(uri("/api/orders/" + id + "/cancel"))
+                                                      .POST(HttpRequest.BodyPublishers.noBody())
+                                                      .header("If-Match", "\"7\"").build());
+        assertThat(posted.statusCode()).isEqualTo(412);
+
+        HttpResponse<String> any = send(HttpRequest.newBuilder(uri("/api/orders/" + id)).DELETE()
+                                                   .header("If-Match", "*").build());
+        assertThat(any.statusCode()).isEqualTo(200);
+        assertThat(orderService.getById(id).getStatus()).isEqualTo(OrderStatus.CANCELLED);
+    }
+
+    @Test
+    void testCancel_SchedulerMovesOrderAfterRead_IsConflictNotLostUpdate() {
+        Long id = orderService.createOrder(request()).getId();
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+
+        // the cancel has read the PENDING order when the scheduler commits its move
+        assertThatThrownBy(() -> tx.executeWithoutResult(status -> {
+            orderRepo.findById(id).orElseThrow();
+            CompletableFuture.runAsync(() -> orderService.bumpPendingToProcessingBatch(100)).join();
+            orderService.cancelOrder(id, 0L);
+        })).isInstanceOf(ObjectOptimisticLockingFailureException.class);
+
+        assertThat(orderService.getById(id).getStatus()).isEqualTo(OrderStatus.PROCESSING);
+        assertThat(orderService.getStatusHistory(id)).hasSize(1);
+    }
+
+    private HttpRequest.Builder get(String path) {
+        return HttpRequest.newBuilder(uri(path)).GET();
+    }
+
+    private HttpRequest.Builder putStatus(Long id, String status) {
+        return HttpRequest.newBuilder(uri("/api/orders/" + id + "/status"))
+                          .header("Content-Type", "application/json")
+                          .PUT(HttpRequest.BodyPublishers.ofString("{\"status\":\"" + status + "\"}"));
+    }
+
+    private HttpResponse<String> send(HttpRequest.Builder request) throws Exception {
+        return send(request.build());
+    }
+
+    private HttpResponse<String> send(HttpRequest request) throws Exception {
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private static CreateOrderRequest request() {
+        CreateOrderRequest req = new CreateOrderRequest();
+        req.setCustomerName("Conditional Customer");
+        req.setItems(List.of(new CreateOrderRequest.Item("SKU-1", "Item", 1, 1000L)));
+        return req;
+    }
+}
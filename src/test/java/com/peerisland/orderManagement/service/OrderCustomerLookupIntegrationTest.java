@@ -0,0 +1,124 @@
+package com.peerisland.orderManagement.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.peerisland.orderManagement.dto.CreateOrderRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * GET /api/orders?customer= pages through exactly one customer's orders in creation order, from the covering
+ * customer index, with items only on request.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+    "spring.datasource.url=jdbc:h2:mem:customer-lookup-test;DB_CLOSE_DELAY=-1",
+    "orders.scheduler.cron=-",
+    "orders.outbox.relay-enabled=false"
+})
+class OrderCustomerLookupIntegrationTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Test
+    void testListByCustomer_PagesThroughOnlyThatCustomer() throws Exception {
+        List<Long> expected = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            expected.add(orderService.createOrder(request("Alice Lookup")).getId());
+            orderService.createOrder(request("Bob Lookup"));
+        }
+
+        List<Long> seen = new ArrayList<>();
+        String cursor = "";
+        int pages = 0;
+        do {
+            JsonNode page = getJson("/api/orders?customer=" + encode("Alice Lookup") + "&size=2&cursor=" + cursor);
+            for (JsonNode order : page.get("items")) {
+                seen.add(order.get("id").asLong());
+                assertThat(order.has("items")).isFalse();
+                assertThat(order.get("totalAmount").decimalValue()).isEqualByComparingTo("25.00");
+            }
+            cursor = page.get("nextCursor").isNull() ? null : page.get("nextCursor").asText();
+            pages++;
+        } while (cursor != null);
+
+        assertThat(seen).isEqualTo(expected);
+        assertThat(pages).isEqualTo(3);
+    }
+
+    @Test
+    void testListByCustomer_ItemsOnRequest() throws Exception {
+        Long id = orderService.createOrder(request("Carol Lookup")).getId();
+
+        JsonNode order = getJson("/api/orders?customer=" + encode("Carol Lookup") + "&items=true").get("items").get(0);
+
+        assertThat(order.get("id").asLong()).isEqualTo(id);
+        assertThat(order.get("items")).hasSize(1);
+        assertThat(order.get("items").get(0).get("sku").asText()).isEqualTo("SKU-A");
+    }
+
+    @Test
+    void testListByCustomer_BlankCustomerIsBadRequest() throws Exception {
+        assertThat(get("/api/orders?customer=%20").statusCode()).isEqualTo(400);
+    }
+
+    @Test
+    void testListByCustomer_SizeOutOfRangeIsBadRequest() throws Exception {
+        assertThat(get("/api/orders?customer=Alice&size=0").statusCode()).isEqualTo(400);
+        assertThat(get("/api/orders?customer=Alice&size=" + (OrderService.MAX_PAGE_SIZE + 1)).statusCode()).isEqualTo(400);
+    }
+
+    @Test
+    void testCustomerQuery_UsesCoveringIndex() {
+        String plan = jdbc.queryForObject("explain select id, status, total_amount, created_at from orders "
+                                              + "where customer_name = 'X' order by created_at, id", String.class);
+
+        assertThat(plan).containsIgnoringCase("idx_orders_customer_created");
+    }
+
+    private static CreateOrderRequest request(String customer) {
+        CreateOrderRequest req = new CreateOrderRequest();
+        req.setCustomerName(customer);
+        req.setItems(List.of(new CreateOrderRequest.Item("SKU-A", "Item", 2, 1250L)));
+        return req;
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    private JsonNode getJson(String path) throws Exception {
+        HttpResponse<String> response = get(path);
+        assertThat(response.statusCode()).isEqualTo(200);
+        return objectMapper.readTree(response.body());
+    }
+
+    private HttpResponse<String> get(String path) throws Exception {
+        return HttpClient.newHttpClient().send(
+            HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).GET().build(),
+            HttpResponse.BodyHandlers.ofString());
+    }
+}
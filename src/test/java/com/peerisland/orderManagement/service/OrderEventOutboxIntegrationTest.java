@@ -0,0 +1,178 @@
+package com.peerisland.orderManagement.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.peerisland.orderManagement.dto.CreateOrderRequest;
+import com.peerisland.orderManagement.dto.OrderChangeEvent;
+import com.peerisland.orderManagement.model.OrderEventType;
+import com.peerisland.orderManagement.model.OrderStatus;
+import com.peerisland.orderManagement.repository.OrderEventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Own database (no other context's relay thread touches it) and the relay thread off: the test drives
+ * {@link OrderEventRelay#relayBatch()} itself, on the test thread so application events are recorded.
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:outbox-test;DB_CLOSE_DELAY=-1",
+    "orders.scheduler.cron=-",
+    "orders.outbox.relay-enabled=false",
+    "orders.outbox.file-sink.enabled=true",
+    "orders.outbox.file-sink.path=target/outbox-test/order-events.ndjson"
+})
+@RecordApplicationEvents
+class OrderEventOutboxIntegrationTest {
+
+    private static final Path SINK_FILE = Path.of("target/outbox-test/order-events.ndjson");
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderEventRelay relay;
+
+    @Autowired
+    private OrderEventRepository eventRepository;
+
+    @Autowired
+    private FailingSink failingSink;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ApplicationEvents applicationEvents;
+
+    @TestConfiguration
+    static class SinkConfig {
+        @Bean
+        FailingSink failingSink() {
+            return new FailingSink();
+        }
+    }
+
+    static class FailingSink implements OrderEventSink {
+        final AtomicBoolean failing = new AtomicBoolean();
+
+        @Override
+        public void publish(List<OrderChangeEvent> events) {
+            if (failing.get()) {
+                throw new IllegalStateException("sink unavailable");
+            }
+        }
+    }
+
+    @BeforeEach
+    void drainOutbox() {
+        failingSink.failing.set(false);
+        while (relay.relayBatch() > 0) {
+            // publish whatever earlier tests (or the seed data) left behind
+        }
+    }
+
+    @Test
+    void testLifecycleChanges_AreRelayedInOrderToEverySink() throws Exception {
+        Long id = orderService.createOrder(request()).getId();
+        orderService.updateStatus(id, OrderStatus.PROCESSING);
+        Long cancelled = orderService.createOrder(request()).getId();
+        orderService.cancelOrder(cancelled);
+        Long bumped = orderService.createOrder(request()).getId();
+        orderService.bumpPendingToProcessingBatch(1_000);
+        long linesBefore = Files.exists(SINK_FILE) ? Files.readAllLines(SINK_FILE).size() : 0;
+        applicationEvents.clear();
+
+        int relayed = relay.relayBatch();
+
+        List<OrderChangeEvent> events = applicationEvents.stream(OrderChangeEvent.class).toList();
+        assertThat(events).hasSize(relayed);
+        assertThat(events).extracting(OrderChangeEvent::eventId).isSorted();
+        assertThat(events).filteredOn(e -> e.orderId().equals(id))
+                          .extracting(OrderChangeEvent::type, OrderChangeEvent::newStatus)
+                          .containsExactly(tuple(OrderEventType.ORDER_CREATED, "PENDING"),
+                                           tuple(OrderEventType.STATUS_CHANGED, "PROCESSING"));
+        assertThat(events).filteredOn(e -> e.orderId().equals(cancelled)).last()
+                          .extracting(OrderChangeEvent::newStatus).isEqualTo("CANCELLED");
+        assertThat(events).filteredOn(e -> e.orderId().equals(bumped)).last()
+                          .extracting(OrderChangeEvent::changedBy).isEqualTo("SCHEDULER");
+
+        List<String> lines = Files.readAllLines(SINK_FILE);
+        assertThat(lines).hasSize((int) linesBefore + relayed);
+        OrderChangeEvent lastLine = objectMapper.readValue(lines.get(lines.size() - 1), OrderChangeEvent.class);
+        assertThat(lastLine).isEqualTo(events.get(events.size() - 1));
+
+        // checkpointed: nothing left to publish
+        assertThat(eventRepository.existsByPublishedAtIsNull()).isFalse();
+        assertThat(relay.relayBatch()).isZero();
+        assertThat(relay.stats().published()).isGreaterThanOrEqualTo(relayed);
+    }
+
+    @Test
+    void testEventsOfOneOrder_AreRelayedInTheOrderTheyHappened_WhicheverPathWroteThem() {
+        // JPA save, INSERT ... SELECT taking the column default, JPA save again: as when nodes write in turn
+        Long id = orderService.createOrder(request()).getId();
+        orderService.bumpPendingToProcessingBatch(1_000);
+        orderService.updateStatus(id, OrderStatus.SHIPPED);
+        applicationEvents.clear();
+
+        relay.relayBatch();
+
+        assertThat(applicationEvents.stream(OrderChangeEvent.class)).filteredOn(e -> e.orderId().equals(id))
+                                                                   .extracting(OrderChangeEvent::newStatus)
+                                                                   .containsExactly("PENDING", "PROCESSING", "SHIPPED");
+    }
+
+    @Test
+    void testRolledBackChange_LeavesNoEvent() {
+        Long id = orderService.createOrder(request()).getId();
+        relay.relayBatch();
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(tx -> {
+            orderService.updateStatus(id, OrderStatus.PROCESSING);
+            tx.setRollbackOnly();
+        });
+
+        assertThat(eventRepository.existsByPublishedAtIsNull()).isFalse();
+    }
+
+    @Test
+    void testSinkFailure_LeavesBatchUnpublishedForRetry() {
+        Long id = orderService.createOrder(request()).getId();
+        failingSink.failing.set(true);
+
+        assertThatThrownBy(() -> relay.relayBatch()).isInstanceOf(IllegalStateException.class);
+        assertThat(eventRepository.countByPublishedAtIsNull()).isEqualTo(1);
+
+        failingSink.failing.set(false);
+        applicationEvents.clear();
+        assertThat(relay.relayBatch()).isEqualTo(1);
+        assertThat(applicationEvents.stream(OrderChangeEvent.class)).extracting(OrderChangeEvent::orderId).containsExactly(id);
+        assertThat(eventRepository.findAll()).allMatch(e -> e.getPublishedAt() != null);
+    }
+
+    private static CreateOrderRequest request() {
+        CreateOrderRequest req = new CreateOrderRequest();
+        req.setCustomerName("Outbox Customer");
+        req.setItems(List.of(new CreateOrderRequest.Item("SKU-1", "Item", 1, 1000L)));
+        return req;
+    }
+}
@@ -0,0 +1,95 @@
+package com.peerisland.orderManagement.service;
+
+import com.peerisland.orderManagement.dto.OrderResponse;
+import com.peerisland.orderManagement.model.OrderEntity;
+import com.peerisland.orderManagement.model.OrderItemEntity;
+import com.peerisland.orderManagement.model.OrderStatus;
+import com.peerisland.orderManagement.repository.OrderRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.OffsetDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+    "spring.jpa.properties.hibernate.generate_statistics=true",
+    // the relay thread polls the outbox; keep its statements out of the counts
+    "orders.outbox.relay-enabled=false"
+})
+@Transactional
+class OrderExportIntegrationTest {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void testExport_StreamsEveryMatchingOrderWithItems() {
+        // more than one chunk, so the session is cleared mid-stream
+        int count = OrderRepository.EXPORT_FETCH_SIZE + 20;
+        OffsetDateTime from = OffsetDateTime.now().plusYears(1).truncatedTo(ChronoUnit.SECONDS);
+        List<OrderEntity> orders = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            orders.add(order(from.plusSeconds(i), i % 2 == 0 ? OrderStatus.DELIVERED : OrderStatus.PENDING));
+        }
+        orderRepository.saveAllAndFlush(orders);
+        entityManager.clear();
+
+        Session session = entityManager.unwrap(Session.class);
+        List<Long> ids = new ArrayList<>();
+        int[] maxManaged = {0};
+        long exported = orderService.exportOrders(null, from, null, o -> {
+            assertThat(o.getItems()).hasSize(1);
+            ids.add(o.getId());
+            maxManaged[0] = Math.max(maxManaged[0], session.getStatistics().getEntityCount());
+        });
+
+        assertThat(exported).isEqualTo(count);
+        assertThat(ids).hasSize(count).doesNotHaveDuplicates();
+        // one chunk of orders plus their items, never the whole export
+        assertThat(maxManaged[0]).isLessThanOrEqualTo(OrderRepository.EXPORT_FETCH_SIZE * 2);
+    }
+
+    @Test
+    void testExport_FiltersByStatusAndRange() {
+        OffsetDateTime from = OffsetDateTime.now().plusYears(2).truncatedTo(ChronoUnit.SECONDS);
+        orderRepository.saveAllAndFlush(List.of(
+            order(from, OrderStatus.DELIVERED),
+            order(from.plusSeconds(1), OrderStatus.PENDING),
+            order(from.plusSeconds(2), OrderStatus.DELIVERED),
+            order(from.plusSeconds(3), OrderStatus.DELIVERED)));
+        entityManager.clear();
+
+        List<OrderResponse> out = new ArrayList<>();
+        orderService.exportOrders(OrderStatus.DELIVERED, from, from.plusSeconds(3), out::add);
+
+        assertThat(out).hasSize(2).allMatch(o -> o.getStatus() == OrderStatus.DELIVERED);
+    }
+
+    private static OrderEntity order(OffsetDateTime createdAt, OrderStatus status) {
+        OrderEntity o = new OrderEntity();
+        o.setCustomerName("Export");
+        o.setStatus(status);
+        o.setCreatedAt(createdAt);
+        OrderItemEntity item = new OrderItemEntity();
+        item.setSku("SKU-E");
+        item.setName("Export item");
+        item.setQuantity(1);
+        item.setPriceMinor(300);
+        o.addItem(item);
+        return o;
+    }
+}
@@ -0,0 +1,132 @@
+package com.peerisland.orderManagement.service;
+
+import com.peerisland.orderManagement.dto.CursorPage;
+import com.peerisland.orderManagement.dto.OrderResponse;
+import com.peerisland.orderManagement.model.OrderEntity;
+import com.peerisland.orderManagement.model.OrderItemEntity;
+import com.peerisland.orderManagement.model.OrderStatus;
+import com.peerisland.orderManagement.repository.OrderRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = {
+    "spring.jpa.properties.hibernate.generate_statistics=true",
+    // the relay thread polls the outbox; keep its statements out of the counts
+    "orders.outbox.relay-enabled=false"
+})
+@Transactional
+class OrderKeysetPaginationIntegrationTest {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void testCursor_WalksEveryOrderOnceInCreationOrder() {
+        // several orders share a timestamp so the id tiebreak is exercised
+        OffsetDateTime base = OffsetDateTime.now().minusDays(1);
+        List<OrderEntity> orders = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            orders.add(order(base.plusSeconds(i / 3), OrderStatus.PENDING));
+        }
+        orderRepository.saveAllAndFlush(orders);
+        // read back what the database stored (timestamp precision) rather than the managed instances
+        entityManager.clear();
+        long total = orderRepository.count();
+
+        List<Long> seen = new ArrayList<>();
+        String cursor = "";
+        int pages = 0;
+        do {
+            CursorPage<OrderResponse> page = orderService.listAfter(cursor, 5, null);
+            page.items().forEach(o -> seen.add(o.getId()));
+            cursor = page.nextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertThat(seen).hasSize((int) total).doesNotHaveDuplicates();
+        assertThat(pages).isEqualTo((int) Math.ceil(total / 5.0));
+    }
+
+    @Test
+    void testCursor_StatusFilter() {
+        OffsetDateTime base = OffsetDateTime.now().plusDays(1);
+        orderRepository.saveAllAndFlush(List.of(
+            order(base, OrderStatus.SHIPPED),
+            order(base.plusSeconds(1), OrderStatus.PENDING),
+            order(base.plusSeconds(2), OrderStatus.SHIPPED),
+            order(base.plusSeconds(3), OrderStatus.SHIPPED)));
+        entityManager.clear();
+        long shipped = orderRepository.countByStatus(OrderStatus.SHIPPED);
+
+        CursorPage<OrderResponse> first = orderService.listAfter(null, (int) shipped - 1, OrderStatus.SHIPPED);
+        CursorPage<OrderResponse> second = orderService.listAfter(first.nextCursor(), 10, OrderStatus.SHIPPED);
+
+        assertThat(first.items()).allMatch(o -> o.getStatus() == OrderStatus.SHIPPED);
+        assertThat(second.items()).hasSize(1).allMatch(o -> o.getStatus() == OrderStatus.SHIPPED);
+        assertThat(second.nextCursor()).isNull();
+    }
+
+    @Test
+    void testCursor_InvalidTokenRejected() {
+        assertThatThrownBy(() -> orderService.listAfter("not-a-cursor", 10, null))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void testCursor_SizeOutOfRangeRejected() {
+        assertThatThrownBy(() -> orderService.listAfter(null, 0, null))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> orderService.listAfter(null, OrderService.MAX_PAGE_SIZE + 1, null))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThat(orderService.listAfter(null, OrderService.MAX_PAGE_SIZE, null).items()).isNotEmpty();
+    }
+
+    @Test
+    void testCursor_SeekUsesIndexes() {
+        String plan = jdbcTemplate.queryForObject(
+            "explain select id from orders where created_at >= current_timestamp "
+                + "and (created_at > current_timestamp or id > 5) order by created_at, id fetch first 51 rows only",
+            String.class);
+        String statusPlan = jdbcTemplate.queryForObject(
+            "explain select id from orders where status = 'PENDING' and created_at >= current_timestamp "
+                + "and (created_at > current_timestamp or id > 5) order by created_at, id fetch first 51 rows only",
+            String.class);
+
+        assertThat(plan).containsIgnoringCase("IDX_ORDERS_CREATED_ID");
+        assertThat(statusPlan).containsIgnoringCase("IDX_ORDERS_STATUS_CREATED");
+    }
+
+    private static OrderEntity order(OffsetDateTime createdAt, OrderStatus status) {
+        OrderEntity o = new OrderEntity();
+        o.setCustomerName("Keyset");
+        o.setStatus(status);
+        o.setCreatedAt(createdAt);
+        OrderItemEntity item = new OrderItemEntity();
+        item.setSku("SKU-K");
+        item.setName("Keyset item");
+        item.setQuantity(1);
+        item.setPriceMinor(100);
+        o.addItem(item);
+        return o;
+    }
+}
@@ -0,0 +1,148 @@
+package com.peerisland.orderManagement.service;
+
+import com.peerisland.orderManagement.dto.OrderResponse;
+import com.peerisland.orderManagement.model.OrderEntity;
+import com.peerisland.orderManagement.model.OrderItemEntity;
+import com.peerisland.orderManagement.model.OrderStatus;
+import com.peerisland.orderManagement.repository.OrderRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Guards against N+1 item loads: a page of orders and all of their items must load in two statements.
+ * The customer listing reads no items unless asked; the SKU search loads like the listings.
+ */
+@SpringBootTest(properties = {
+    "spring.jpa.properties.hibernate.generate_statistics=true",
+    // the relay thread polls the outbox and the stats flush re-reads its table; keep their statements out of the counts
+    "orders.outbox.relay-enabled=false",
+    "orders.stats.flush-interval=1h",
+    "orders.stats.reconcile-interval=1h"
+})
+@Transactional
+class OrderListQueryCountIntegrationTest {
+
+    private static final int PAGE = 60;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics stats;
+
+    @BeforeEach
+    void seed() {
+        List<OrderEntity> orders = new ArrayList<>();
+        for (int i = 0; i < PAGE; i++) {
+            OrderEntity o = new OrderEntity();
+            o.setCustomerName("N+1 " + i % 2);
+            o.setStatus(OrderStatus.SHIPPED);
+            for (int j = 0; j < 3; j++) {
+                OrderItemEntity item = new OrderItemEntity();
+                item.setSku("SKU-" + j);
+                item.setName("Item " + j);
+                item.setQuantity(1);
+                item.setPriceMinor(200);
+                o.addItem(item);
+            }
+            orders.add(o);
+        }
+        orderRepository.saveAllAndFlush(orders);
+        entityManager.clear();
+
+        stats = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        stats.clear();
+    }
+
+    @Test
+    void testListAll_LoadsPageAndItemsInTwoStatements() {
+        List<OrderResponse> page = orderService.listAll(0, PAGE, OrderStatus.SHIPPED);
+
+        assertThat(page).hasSize(PAGE);
+        assertThat(page).allSatisfy(o -> assertThat(o.getItems()).isNotEmpty());
+        assertThat(stats.getPrepareStatementCount()).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    void testListByCursor_LoadsPageAndItemsInTwoStatements() {
+        var page = orderService.listAfter(null, PAGE, OrderStatus.SHIPPED);
+
+        assertThat(page.items()).hasSize(PAGE);
+        assertThat(page.items()).allSatisfy(o -> assertThat(o.getItems()).isNotEmpty());
+        assertThat(stats.getPrepareStatementCount()).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    void testListByCustomer_OneStatementWithoutItems() {
+        var page = orderService.listByCustomer("N+1 0", null, PAGE, false);
+
+        assertThat(page.items()).hasSize(PAGE / 2);
+        assertThat(page.items()).allSatisfy(o -> assertThat(o.items()).isNull());
+        assertThat(stats.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(stats.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void testListByCustomer_LoadsItemsInOneMoreStatement() {
+        var page = orderService.listByCustomer("N+1 0", null, PAGE, true);
+
+        assertThat(page.items()).hasSize(PAGE / 2);
+        assertThat(page.items()).allSatisfy(o -> assertThat(o.items()).hasSize(3));
+        assertThat(stats.getPrepareStatementCount()).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    void testSearchBySku_LoadsPageAndItemsInTwoStatements() {
+        var page = orderService.searchBySku(List.of("SKU-1", "SKU-2"), OrderStatus.SHIPPED, null, PAGE);
+
+        assertThat(page.items()).hasSize(PAGE);
+        assertThat(page.items()).allSatisfy(o -> assertThat(o.getItems()).isNotEmpty());
+        assertThat(stats.getPrepareStatementCount()).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    void testSearchBySku_LargestPageStillLoadsInTwoStatements() {
+        List<OrderEntity> orders = new ArrayList<>();
+        for (int i = 0; i <= OrderService.MAX_PAGE_SIZE; i++) {
+            OrderEntity o = new OrderEntity();
+            o.setCustomerName("N+1 max");
+            OrderItemEntity item = new OrderItemEntity();
+            item.setSku("SKU-MAX");
+            item.setName("Item");
+            item.setQuantity(1);
+            item.setPriceMinor(200);
+            o.addItem(item);
+            orders.add(o);
+        }
+        orderRepository.saveAllAndFlush(orders);
+        entityManager.clear();
+        stats.clear();
+
+        var page = orderService.searchBySku(List.of("SKU-MAX"), null, null, OrderService.MAX_PAGE_SIZE);
+
+        assertThat(page.items()).hasSize(OrderService.MAX_PAGE_SIZE);
+        assertThat(page.nextCursor()).isNotNull();
+        assertThat(page.items()).allSatisfy(o -> assertThat(o.getItems()).hasSize(1));
+        assertThat(stats.getPrepareStatementCount()).isLessThanOrEqualTo(2);
+    }
+}
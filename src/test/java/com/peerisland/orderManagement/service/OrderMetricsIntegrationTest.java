@@ -0,0 +1,63 @@
+package com.peerisland.orderManagement.service;
+
+import com.peerisland.orderManagement.dto.CreateOrderRequest;
+import com.peerisland.orderManagement.model.OrderStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The Prometheus scrape exposes the order pipeline meters (metrics export is off in tests unless
+ * {@link AutoConfigureObservability} turns it on).
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "orders.scheduler.cron=-")
+@AutoConfigureObservability
+class OrderMetricsIntegrationTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private OrderService orderService;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @Test
+    void testPrometheusScrape_ExposesOrderPipelineMetrics() throws Exception {
+        Long id = orderService.createOrder(request()).getId();
+        orderService.updateStatus(id, OrderStatus.PROCESSING);
+        assertThat(get("/api/orders/" + id).statusCode()).isEqualTo(200);
+
+        HttpResponse<String> scrape = get("/actuator/prometheus");
+
+        assertThat(scrape.statusCode()).isEqualTo(200);
+        assertThat(scrape.body())
+            .containsPattern("orders_service_seconds_bucket\\{.*method=\"updateStatus\"")
+            .containsPattern("orders_status_transitions_total\\{.*from=\"PENDING\".*to=\"PROCESSING\"")
+            .containsPattern("http_server_requests_seconds_bucket\\{.*uri=\"/api/orders/\\{id\\}\"")
+            .containsPattern("cache_gets_total\\{.*cache=\"order-responses\"")
+            .containsPattern("(?m)^orders_pending_orders\\{.*} \\d");
+    }
+
+    private HttpResponse<String> get(String path) throws Exception {
+        return client.send(HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).build(),
+                           HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static CreateOrderRequest request() {
+        CreateOrderRequest req = new CreateOrderRequest();
+        req.setCustomerName("Metrics Customer");
+        req.setItems(List.of(new CreateOrderRequest.Item("SKU-1", "Item", 1, 1000L)));
+        return req;
+    }
+}
@@ -0,0 +1,91 @@
+package com.peerisland.orderManagement.service;
+
+import com.peerisland.orderManagement.dto.CreateOrderRequest;
+import com.peerisland.orderManagement.dto.OrderResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Amounts are exact from the request body to the DECIMAL columns and back: no double rounding in totals, and
+ * prices finer than a cent are rejected rather than rounded.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+    "spring.datasource.url=jdbc:h2:mem:money-test;DB_CLOSE_DELAY=-1",
+    "orders.scheduler.cron=-",
+    "orders.outbox.relay-enabled=false"
+})
+class OrderMoneyIntegrationTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Test
+    void testCreate_TotalsAreExactDecimals() throws Exception {
+        // 0.1 * 3 + 0.2 is 0.5000000000000001 in double arithmetic
+        HttpResponse<String> response = post("""
+            {"customerName": "Cent Customer",
+             "items": [{"sku": "A", "name": "A", "quantity": 3, "price": 0.10},
+                       {"sku": "B", "name": "B", "quantity": 1, "price": "0.2"}]}""");
+
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.body()).contains("\"totalAmount\":0.50", "\"price\":0.10", "\"price\":0.20");
+        Long id = Long.valueOf(response.body().replaceAll("(?s).*?\"id\":(\\d+).*", "$1"));
+        assertThat(jdbc.queryForObject("select total_amount from orders where id = ?", BigDecimal.class, id))
+            .isEqualByComparingTo("0.50");
+    }
+
+    @Test
+    void testCreate_RejectsSubCentPrices() throws Exception {
+        HttpResponse<String> response = post("""
+            {"customerName": "Sub-cent Customer",
+             "items": [{"sku": "A", "name": "A", "quantity": 1, "price": 1.005}]}""");
+
+        assertThat(response.statusCode()).isEqualTo(400);
+        assertThat(response.body()).contains("decimal places");
+    }
+
+    @Test
+    void testManyItems_TotalMatchesSqlSum() {
+        List<CreateOrderRequest.Item> items = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            items.add(new CreateOrderRequest.Item("SKU-" + i, "Item", 1 + i % 3, 1L + i));
+        }
+        CreateOrderRequest req = new CreateOrderRequest();
+        req.setCustomerName("Many Items");
+        req.setItems(items);
+
+        OrderResponse created = orderService.createOrder(req);
+
+        BigDecimal lines = jdbc.queryForObject("select sum(price * quantity) from order_items where order_id = ?",
+                                               BigDecimal.class, created.getId());
+        assertThat(BigDecimal.valueOf(created.getTotalAmountMinor(), 2)).isEqualByComparingTo(lines);
+        assertThat(orderService.getById(created.getId()).getTotalAmountMinor()).isEqualTo(created.getTotalAmountMinor());
+    }
+
+    private HttpResponse<String> post(String json) throws Exception {
+        return HttpClient.newHttpClient().send(
+            HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/orders"))
+                       .header("Content-Type", "application/json")
+                       .POST(HttpRequest.BodyPublishers.ofString(json)).build(),
+            HttpResponse.BodyHandlers.ofString());
+    }
+}
@@ -4,15 +4,23 @@ import com.peerisland.orderManagement.dto.CreateOrderRequest;
 import com.peerisland.orderManagement.dto.OrderResponse;
 import com.peerisland.orderManagement.dto.OrderStatusHistoryDto;
 import com.peerisland.orderManagement.exception.NotFoundException;
+import com.peerisland.orderManagement.exception.PreconditionFailedException;
+import com.peerisland.orderManagement.config.OrderCacheProperties;
+import com.peerisland.orderManagement.config.OrderWriteProperties;
 import com.peerisland.orderManagement.model.*;
+import com.peerisland.orderManagement.repository.OrderEventRepository;
+import com.peerisland.orderManagement.repository.OrderItemRepository;
 import com.peerisland.orderManagement.repository.OrderRepository;
 import com.peerisland.orderManagement.repository.OrderStatusHistoryRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.time.OffsetDateTime;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.util.*;
 
@@ -26,9 +34,41 @@ class OrderServiceTest {
     @Mock
     private OrderRepository orderRepo;
 
+    @Mock
+    private OrderItemRepository itemRepo;
+
     @Mock
     private OrderStatusHistoryRepository oshRepo;
 
+    @Mock
+    private OrderEventRepository eventRepo;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private IdempotencyService idempotency;
+
+    @Mock
+    private StatusHistoryPipeline historyPipeline;
+
+    @Mock
+    private OrderStatsService stats;
+
+    @Mock
+    private OrderArchiveService archive;
+
+    @Spy
+    private OrderResponseCache responseCache = new OrderResponseCache(new OrderCacheProperties());
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    private OrderMetrics metrics = new OrderMetrics(meterRegistry);
+
+    @Spy
+    private OrderWriteGate writeGate = new OrderWriteGate(new OrderWriteProperties(), new OrderMetrics(meterRegistry));
+
     @InjectMocks
     private OrderService orderService;
 
@@ -45,14 +85,20 @@ class OrderServiceTest {
         sampleOrder.setUpdatedAt(OffsetDateTime.now());
     }
 
+    private static OrderEntity pendingOrder() {
+        OrderEntity order = new OrderEntity();
+        order.setId(1L);
+        order.setStatus(OrderStatus.PENDING);
+        return order;
+    }
+
     @Test
     void testCreateOrder_NewOrder_Success() {
         CreateOrderRequest req = new CreateOrderRequest();
         req.setClientRequestId("REQ-123");
         req.setCustomerName("Alice");
-        req.setItems(List.of(new CreateOrderRequest.Item("SKU1", "Laptop", 1, 999.99d)));
+        req.setItems(List.of(new CreateOrderRequest.Item("SKU1", "Laptop", 1, 99999L)));
 
-        when(orderRepo.findByClientRequestId("REQ-123")).thenReturn(Optional.empty());
         when(orderRepo.save(any(OrderEntity.class))).thenAnswer(inv -> {
             OrderEntity e = inv.getArgument(0);
             e.setId(10L);
@@ -64,11 +110,31 @@ class OrderServiceTest {
         assertThat(resp.getId()).isEqualTo(10L);
         assertThat(resp.getCustomerName()).isEqualTo("Alice");
         verify(orderRepo, times(1)).save(any(OrderEntity.class));
+        // insert-first: the key is claimed, never looked up
+        verify(idempotency).register("REQ-123", 10L);
+        verify(idempotency).remember("REQ-123", 10L);
+        verify(eventRepo).save(argThat(e -> e.getEventType() == OrderEventType.ORDER_CREATED && e.getOrderId() == 10L));
+        verify(orderRepo, never()).findByClientRequestId(any());
+    }
+
+    @Test
+    void testNewOrder_AddsUpItems_AndStampsUpdatedAtOnce() {
+        CreateOrderRequest req = new CreateOrderRequest();
+        req.setCustomerName("Alice");
+        req.setItems(List.of(new CreateOrderRequest.Item("SKU1", "Laptop", 1, 99999L),
+                             new CreateOrderRequest.Item("SKU2", "Mouse", 2, 1999L),
+                             new CreateOrderRequest.Item("SKU3", "Cable", 3, 499L)));
+
+        OrderEntity order = OrderService.newOrder(req);
+
+        assertThat(order.getTotalAmountMinor()).isEqualTo(99999L + 2 * 1999L + 3 * 499L);
+        assertThat(order.getUpdatedAt()).isSameAs(order.getCreatedAt());
     }
 
     @Test
     void testCreateOrder_Idempotent_ReturnsExisting() {
-        when(orderRepo.findByClientRequestId("REQ-1")).thenReturn(Optional.of(sampleOrder));
+        when(idempotency.cachedOrderId("REQ-1")).thenReturn(Optional.of(1L));
+        when(orderRepo.findById(1L)).thenReturn(Optional.of(sampleOrder));
 
         CreateOrderRequest req = new CreateOrderRequest();
         req.setClientRequestId("REQ-1");
@@ -80,6 +146,28 @@ class OrderServiceTest {
         verify(orderRepo, never()).save(any());
     }
 
+    @Test
+    void testCreateOrder_KeyConflict_ReturnsExisting() {
+        CreateOrderRequest req = new CreateOrderRequest();
+        req.setClientRequestId("REQ-1");
+        req.setCustomerName("John Doe");
+        req.setItems(List.of(new CreateOrderRequest.Item("SKU1", "Laptop", 1, 99999L)));
+
+        when(orderRepo.save(any(OrderEntity.class))).thenAnswer(inv -> {
+            OrderEntity e = inv.getArgument(0);
+            e.setId(11L);
+            return e;
+        });
+        doThrow(new DuplicateKeyException("idempotency_keys")).when(idempotency).register("REQ-1", 11L);
+        when(idempotency.resolve("REQ-1")).thenReturn(Optional.of(1L));
+        when(orderRepo.findById(1L)).thenReturn(Optional.of(sampleOrder));
+
+        OrderResponse resp = orderService.createOrder(req);
+
+        assertThat(resp.getId()).isEqualTo(1L);
+        verify(idempotency, never()).remember(any(), any());
+    }
+
     @Test
     void testGetById_Found() {
         when(orderRepo.findById(1L)).thenReturn(Optional.of(sampleOrder));
@@ -90,6 +178,31 @@ class OrderServiceTest {
         verify(orderRepo, times(1)).findById(1L);
     }
 
+    @Test
+    void testGetById_SecondReadServedFromCache() {
+        when(orderRepo.findById(1L)).thenReturn(Optional.of(sampleOrder));
+
+        orderService.getById(1L);
+        OrderResponse resp = orderService.getById(1L);
+
+        assertThat(resp.getId()).isEqualTo(1L);
+        verify(orderRepo, times(1)).findById(1L);
+        assertThat(orderService.cacheStats().hits()).isEqualTo(1);
+        assertThat(orderService.cacheStats().misses()).isEqualTo(1);
+    }
+
+    @Test
+    void testUpdateStatus_InvalidatesCachedOrder() {
+        when(orderRepo.findById(1L)).thenReturn(Optional.of(sampleOrder));
+        when(orderRepo.saveAndFlush(any(OrderEntity.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        assertThat(orderService.getById(1L).getStatus()).isEqualTo(OrderStatus.PENDING);
+        orderService.updateStatus(1L, OrderStatus.PROCESSING);
+
+        assertThat(orderService.getById(1L).getStatus()).isEqualTo(OrderStatus.PROCESSING);
+        verify(responseCache).invalidateAfterCommit(1L);
+    }
+
     @Test
     void testGetById_NotFound_ThrowsException() {
         when(orderRepo.findById(99L)).thenReturn(Optional.empty());
@@ -101,13 +214,13 @@ class OrderServiceTest {
     @Test
     void testCancelOrder_WhenPending_Success() {
         when(orderRepo.findById(1L)).thenReturn(Optional.of(sampleOrder));
-        when(orderRepo.save(any(OrderEntity.class))).thenReturn(sampleOrder);
+        when(orderRepo.saveAndFlush(any(OrderEntity.class))).thenReturn(sampleOrder);
         when(oshRepo.save(any(OrderStatusHistoryEntity.class))).thenReturn(new OrderStatusHistoryEntity());
 
         OrderResponse resp = orderService.cancelOrder(1L);
 
         assertThat(resp.getStatus()).isEqualTo(OrderStatus.CANCELLED);
-        verify(orderRepo).save(any(OrderEntity.class));
+        verify(orderRepo).saveAndFlush(any(OrderEntity.class));
         verify(oshRepo).save(any(OrderStatusHistoryEntity.class));
     }
 
@@ -123,23 +236,55 @@ class OrderServiceTest {
 
     @Test
     void testCancelOrder_OptimisticLockingFailure() {
-        when(orderRepo.findById(1L)).thenReturn(Optional.of(sampleOrder));
-        when(orderRepo.save(any(OrderEntity.class)))
+        when(orderRepo.findById(1L)).thenAnswer(inv -> Optional.of(pendingOrder()));
+        when(orderRepo.saveAndFlush(any(OrderEntity.class)))
             .thenThrow(new ObjectOptimisticLockingFailureException(OrderEntity.class, 1L));
 
         assertThatThrownBy(() -> orderService.cancelOrder(1L))
             .isInstanceOf(ObjectOptimisticLockingFailureException.class);
+        assertThat(meterRegistry.get("orders.writes.conflicts").tags("outcome", "exhausted").counter().count())
+            .isEqualTo(1);
+    }
+
+    @Test
+    void testCancelOrder_ConflictOnce_IsRetriedInNewAttempt() {
+        // every attempt reads the order afresh, as a new transaction would
+        when(orderRepo.findById(1L)).thenAnswer(inv -> Optional.of(pendingOrder()));
+        when(orderRepo.saveAndFlush(any(OrderEntity.class)))
+            .thenThrow(new ObjectOptimisticLockingFailureException(OrderEntity.class, 1L))
+            .thenAnswer(inv -> inv.getArgument(0));
+
+        OrderResponse resp = orderService.cancelOrder(1L);
+
+        assertThat(resp.getStatus()).isEqualTo(OrderStatus.CANCELLED);
+        verify(orderRepo, times(2)).saveAndFlush(any(OrderEntity.class));
+        assertThat(meterRegistry.get("orders.writes.conflicts").tags("operation", "cancel", "outcome", "retried")
+                                .counter().count()).isEqualTo(1);
     }
 
     @Test
     void testUpdateStatus_ValidTransition_Success() {
         when(orderRepo.findById(1L)).thenReturn(Optional.of(sampleOrder));
-        when(orderRepo.save(any(OrderEntity.class))).thenReturn(sampleOrder);
+        when(orderRepo.saveAndFlush(any(OrderEntity.class))).thenReturn(sampleOrder);
 
         OrderResponse resp = orderService.updateStatus(1L, OrderStatus.PROCESSING);
 
         assertThat(resp.getStatus()).isEqualTo(OrderStatus.PROCESSING);
         verify(oshRepo).save(any(OrderStatusHistoryEntity.class));
+        verify(eventRepo).save(argThat(e -> e.getEventType() == OrderEventType.STATUS_CHANGED
+            && "PENDING".equals(e.getPreviousStatus()) && "PROCESSING".equals(e.getNewStatus())));
+        assertThat(meterRegistry.get("orders.status.transitions").tags("from", "PENDING", "to", "PROCESSING")
+                                .counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void testUpdateStatus_StaleExpectedVersion_ThrowsPreconditionFailed() {
+        when(orderRepo.findById(1L)).thenReturn(Optional.of(sampleOrder));
+
+        assertThatThrownBy(() -> orderService.updateStatus(1L, OrderStatus.PROCESSING, 3L))
+            .isInstanceOf(PreconditionFailedException.class);
+        verify(orderRepo, never()).saveAndFlush(any());
+        verify(eventRepo, never()).save(any());
     }
 
     @Test
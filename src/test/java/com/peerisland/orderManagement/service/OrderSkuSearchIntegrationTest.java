@@ -0,0 +1,128 @@
+package com.peerisland.orderManagement.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.peerisland.orderManagement.dto.CreateOrderRequest;
+import com.peerisland.orderManagement.model.OrderStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * GET /api/orders/search finds every order holding one of the SKUs, once, through the (sku, order_id) index,
+ * paged and with all of its items.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+    "spring.datasource.url=jdbc:h2:mem:sku-search-test;DB_CLOSE_DELAY=-1",
+    "orders.scheduler.cron=-",
+    "orders.outbox.relay-enabled=false"
+})
+class OrderSkuSearchIntegrationTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Test
+    void testSearch_PagesThroughOrdersWithAnyOfTheSkus() throws Exception {
+        Long both = create("RECALL-A", "RECALL-B", "OTHER-1");
+        Long onlyA = create("RECALL-A");
+        create("OTHER-1");
+        Long onlyB = create("OTHER-2", "RECALL-B");
+
+        List<Long> seen = new ArrayList<>();
+        String cursor = "";
+        do {
+            JsonNode page = getJson("/api/orders/search?sku=RECALL-A,RECALL-B&size=2&cursor=" + cursor);
+            for (JsonNode order : page.get("items")) {
+                seen.add(order.get("id").asLong());
+                if (order.get("id").asLong() == both) {
+                    assertThat(order.get("items")).hasSize(3);
+                }
+            }
+            cursor = page.get("nextCursor").isNull() ? null : page.get("nextCursor").asText();
+        } while (cursor != null);
+
+        assertThat(seen).containsExactly(both, onlyA, onlyB);
+    }
+
+    @Test
+    void testSearch_FiltersByStatus() throws Exception {
+        Long open = create("STATUS-SKU");
+        Long cancelled = create("STATUS-SKU");
+        orderService.cancelOrder(cancelled);
+
+        JsonNode page = getJson("/api/orders/search?sku=STATUS-SKU&sku=UNKNOWN&status=" + OrderStatus.PENDING);
+
+        assertThat(page.get("items")).hasSize(1);
+        assertThat(page.get("items").get(0).get("id").asLong()).isEqualTo(open);
+    }
+
+    @Test
+    void testSearch_RejectsMissingOrTooManySkus() throws Exception {
+        String tooMany = IntStream.rangeClosed(0, OrderService.MAX_SEARCH_SKUS)
+                                  .mapToObj(i -> "SKU-" + i)
+                                  .collect(Collectors.joining(","));
+
+        assertThat(get("/api/orders/search?sku=%20").statusCode()).isEqualTo(400);
+        assertThat(get("/api/orders/search?sku=" + tooMany).statusCode()).isEqualTo(400);
+    }
+
+    @Test
+    void testSearch_RejectsSizeOutOfRange() throws Exception {
+        assertThat(get("/api/orders/search?sku=SKU-A&size=0").statusCode()).isEqualTo(400);
+        assertThat(get("/api/orders/search?sku=SKU-A&size=" + (OrderService.MAX_PAGE_SIZE + 1)).statusCode())
+            .isEqualTo(400);
+        assertThat(get("/api/orders/search?sku=SKU-A&size=1000000").statusCode()).isEqualTo(400);
+        assertThat(get("/api/orders/search?sku=SKU-A&size=" + OrderService.MAX_PAGE_SIZE).statusCode()).isEqualTo(200);
+    }
+
+    @Test
+    void testSkuLookup_UsesSkuIndex() {
+        String plan = jdbc.queryForObject("explain select distinct order_id from order_items where sku in ('A', 'B')",
+                                          String.class);
+
+        assertThat(plan).containsIgnoringCase("idx_order_items_sku_order");
+    }
+
+    private Long create(String... skus) {
+        CreateOrderRequest req = new CreateOrderRequest();
+        req.setCustomerName("Sku Search");
+        req.setItems(Arrays.stream(skus).map(sku -> new CreateOrderRequest.Item(sku, "Item", 1, 500L)).toList());
+        return orderService.createOrder(req).getId();
+    }
+
+    private JsonNode getJson(String path) throws Exception {
+        HttpResponse<String> response = get(path);
+        assertThat(response.statusCode()).isEqualTo(200);
+        return objectMapper.readTree(response.body());
+    }
+
+    private HttpResponse<String> get(String path) throws Exception {
+        return HttpClient.newHttpClient().send(
+            HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).GET().build(),
+            HttpResponse.BodyHandlers.ofString());
+    }
+}
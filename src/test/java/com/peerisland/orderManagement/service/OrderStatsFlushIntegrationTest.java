@@ -0,0 +1,81 @@
+package com.peerisland.orderManagement.service;
+
+import com.peerisland.orderManagement.dto.CreateOrderRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.TaskScheduler;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The stats flush keeps its interval while a long job holds the @Scheduled pool (one thread here), so other
+ * nodes see this node's changes within {@code flush-interval}.
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:stats-flush-test;DB_CLOSE_DELAY=-1",
+    "spring.task.scheduling.pool.size=1",
+    "orders.scheduler.cron=-",
+    "orders.archive.cron=-",
+    "orders.outbox.relay-enabled=false",
+    "orders.stats.flush-interval=100ms",
+    "orders.stats.reconcile-interval=1h"
+})
+class OrderStatsFlushIntegrationTest {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private TaskScheduler taskScheduler;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Test
+    void testFlush_KeepsRunningDuringALongScheduledJob() throws Exception {
+        CountDownLatch jobRunning = new CountDownLatch(1);
+        CountDownLatch jobDone = new CountDownLatch(1);
+        // holds the only scheduler thread, as a drain within its 4 minute budget would
+        taskScheduler.schedule(() -> {
+            jobRunning.countDown();
+            try {
+                jobDone.await(30, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, Instant.now());
+        try {
+            assertThat(jobRunning.await(5, TimeUnit.SECONDS)).isTrue();
+            long before = persistedPending();
+
+            orderService.createOrder(request());
+
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (persistedPending() == before && System.nanoTime() < deadline) {
+                Thread.sleep(50);
+            }
+            assertThat(persistedPending()).isEqualTo(before + 1);
+            assertThat(jobDone.getCount()).isEqualTo(1);
+        } finally {
+            jobDone.countDown();
+        }
+    }
+
+    private long persistedPending() {
+        return jdbc.queryForObject("select order_count from order_status_stats where status = 'PENDING'", Long.class);
+    }
+
+    private static CreateOrderRequest request() {
+        CreateOrderRequest req = new CreateOrderRequest();
+        req.setCustomerName("Stats Flush Customer");
+        req.setItems(List.of(new CreateOrderRequest.Item("SKU-1", "Item", 1, 1000L)));
+        return req;
+    }
+}
@@ -0,0 +1,130 @@
+package com.peerisland.orderManagement.service;
+
+import com.peerisland.orderManagement.dto.CreateOrderRequest;
+import com.peerisland.orderManagement.dto.OrderStatsResponse;
+import com.peerisland.orderManagement.model.OrderStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The incrementally maintained totals always match a full GROUP BY over orders: before a flush (from memory),
+ * after it (from order_status_stats), and after a reconcile repaired drift.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+    "spring.datasource.url=jdbc:h2:mem:stats-test;DB_CLOSE_DELAY=-1",
+    "orders.scheduler.cron=-",
+    "orders.outbox.relay-enabled=false",
+    // flushed and reconciled by the tests themselves
+    "orders.stats.flush-interval=1h",
+    "orders.stats.reconcile-interval=1h"
+})
+class OrderStatsIntegrationTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private BulkOrderService bulkOrderService;
+
+    @Autowired
+    private OrderStatsService statsService;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Test
+    void testStats_FollowCreatesAndTransitions_BeforeAndAfterFlush() {
+        Long shipped = orderService.createOrder(request(2, 1250)).getId();
+        Long cancelled = orderService.createOrder(request(1, 4000)).getId();
+        bulkOrderService.createOrders(List.of(request(3, 125), request(1, 9999)));
+        orderService.updateStatus(shipped, OrderStatus.PROCESSING);
+        orderService.updateStatus(shipped, OrderStatus.SHIPPED);
+        orderService.cancelOrder(cancelled);
+        orderService.bumpPendingToProcessingBatch(1);
+
+        assertMatchesOrdersTable(statsService.stats());
+
+        statsService.flush();
+
+        assertMatchesOrdersTable(statsService.stats());
+        assertThat(persisted()).isEqualTo(actual());
+    }
+
+    @Test
+    void testReconcile_RepairsDrift() {
+        statsService.flush();
+        jdbc.update("update order_status_stats set order_count = order_count + 7, total_amount = 0 "
+                        + "where status = 'DELIVERED'");
+        statsService.flush();
+        assertThat(persisted()).isNotEqualTo(actual());
+
+        statsService.reconcile();
+
+        assertThat(persisted()).isEqualTo(actual());
+        assertMatchesOrdersTable(statsService.stats());
+        assertThat(statsService.stats().reconciledAt()).isNotNull();
+    }
+
+    @Test
+    void testStatsEndpoint() throws Exception {
+        HttpResponse<String> response = HttpClient.newHttpClient().send(
+            HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/orders/stats")).build(),
+            HttpResponse.BodyHandlers.ofString());
+
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.body()).contains("\"byStatus\"", "\"PENDING\"", "\"totalOrders\"", "\"totalAmount\"");
+    }
+
+    private void assertMatchesOrdersTable(OrderStatsResponse stats) {
+        Map<String, List<Object>> served = new HashMap<>();
+        stats.byStatus().forEach((status, totals) -> {
+            if (totals.count() != 0 || totals.totalAmount().signum() != 0) {
+                served.put(status, List.of(totals.count(), totals.totalAmount()));
+            }
+        });
+        assertThat(served).isEqualTo(actual());
+        assertThat(stats.totalOrders()).isEqualTo(jdbc.queryForObject("select count(*) from orders", Long.class));
+    }
+
+    private Map<String, List<Object>> actual() {
+        Map<String, List<Object>> totals = new HashMap<>();
+        jdbc.query("select status, count(*), sum(total_amount) from orders group by status",
+                   rs -> {
+                       totals.put(rs.getString(1), List.of(rs.getLong(2), rs.getBigDecimal(3).setScale(2)));
+                   });
+        return totals;
+    }
+
+    private Map<String, List<Object>> persisted() {
+        Map<String, List<Object>> totals = new HashMap<>();
+        jdbc.query("select status, order_count, total_amount from order_status_stats "
+                       + "where order_count <> 0 or total_amount <> 0",
+                   rs -> {
+                       totals.put(rs.getString(1), List.of(rs.getLong(2), rs.getBigDecimal(3).setScale(2)));
+                   });
+        return totals;
+    }
+
+    private static CreateOrderRequest request(int quantity, long priceMinor) {
+        CreateOrderRequest req = new CreateOrderRequest();
+        req.setCustomerName("Stats Customer");
+        req.setItems(List.of(new CreateOrderRequest.Item("SKU-1", "Item", quantity, priceMinor)));
+        return req;
+    }
+}
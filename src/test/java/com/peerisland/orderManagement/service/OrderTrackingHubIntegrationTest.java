@@ -0,0 +1,58 @@
+package com.peerisland.orderManagement.service;
+
+import com.peerisland.orderManagement.dto.CreateOrderRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The hub's follow position over published events, polled by hand (relay off, no scheduled polls).
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:tracking-hub-test;DB_CLOSE_DELAY=-1",
+    "orders.scheduler.cron=-",
+    "orders.outbox.relay-enabled=false",
+    "orders.tracking.poll-interval=1h"
+})
+class OrderTrackingHubIntegrationTest {
+
+    @Autowired
+    private OrderTrackingHub hub;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Test
+    void testPoll_PagesThroughMoreThanOnePageOfEventsWithTheSameStamp() {
+        Long id = orderService.createOrder(request()).getId();
+        assertThat(hub.subscribe(id)).isPresent();
+
+        // one batch of 2500 events under a single stamp; five of them, all past the first page, for the subscriber
+        Timestamp stamp = Timestamp.valueOf(LocalDateTime.now());
+        jdbc.update("insert into order_events (order_id, event_type, previous_status, new_status, changed_by, "
+                        + "occurred_at, published_at) "
+                        + "select case when mod(x, 300) = 0 and x > 1000 then ? else -x end, 'STATUS_CHANGED', "
+                        + "'PENDING', 'PROCESSING', 'test', ?, ? from system_range(1, 2500) order by x",
+                    id, stamp, stamp);
+
+        assertThat(hub.poll()).isEqualTo(5);
+        assertThat(hub.poll()).isZero();
+    }
+
+    private static CreateOrderRequest request() {
+        CreateOrderRequest req = new CreateOrderRequest();
+        req.setCustomerName("Tracking Customer");
+        req.setItems(List.of(new CreateOrderRequest.Item("SKU-T", "Item", 1, 1000L)));
+        return req;
+    }
+}
@@ -0,0 +1,111 @@
+package com.peerisland.orderManagement.service;
+
+import com.peerisland.orderManagement.dto.CreateOrderRequest;
+import com.peerisland.orderManagement.model.OrderStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * End to end over a real connection: outbox relay -> tracking hub -> SSE stream.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+    "spring.datasource.url=jdbc:h2:mem:tracking-test;DB_CLOSE_DELAY=-1",
+    "orders.scheduler.cron=-",
+    "orders.outbox.poll-interval=20ms",
+    "orders.tracking.poll-interval=20ms"
+})
+class OrderTrackingStreamIntegrationTest {
+
+    private static final String END = "<end of stream>";
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private OrderService orderService;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @Test
+    void testStream_SendsSnapshotThenEachTransitionAndEndsWhenDelivered() throws Exception {
+        Long id = orderService.createOrder(request()).getId();
+        BlockingQueue<String> lines = open(id);
+
+        assertThat(nextEvent(lines)).startsWith("snapshot ").contains("\"status\":\"PENDING\"");
+
+        orderService.updateStatus(id, OrderStatus.PROCESSING);
+        assertThat(nextEvent(lines)).startsWith("status ").contains("\"newStatus\":\"PROCESSING\"");
+
+        orderService.updateStatus(id, OrderStatus.SHIPPED);
+        orderService.updateStatus(id, OrderStatus.DELIVERED);
+        assertThat(nextEvent(lines)).contains("\"newStatus\":\"SHIPPED\"");
+        assertThat(nextEvent(lines)).contains("\"newStatus\":\"DELIVERED\"");
+        assertThat(nextEvent(lines)).isEqualTo(END);
+    }
+
+    @Test
+    void testStream_UnknownOrderIs404() throws Exception {
+        HttpResponse<Void> response = client.send(streamRequest(Long.MAX_VALUE), HttpResponse.BodyHandlers.discarding());
+
+        assertThat(response.statusCode()).isEqualTo(404);
+    }
+
+    private BlockingQueue<String> open(Long id) {
+        BlockingQueue<String> lines = new LinkedBlockingQueue<>();
+        client.sendAsync(streamRequest(id), HttpResponse.BodyHandlers.ofLines())
+              .thenAccept(response -> {
+                  response.body().forEach(lines::add);
+                  lines.add(END);
+              });
+        return lines;
+    }
+
+    private HttpRequest streamRequest(Long id) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/orders/" + id + "/track/stream"))
+                          .header("Accept", "text/event-stream")
+                          .timeout(Duration.ofSeconds(30))
+                          .build();
+    }
+
+    /** "name data" of the next event, skipping heartbeats; END once the server closed the stream. */
+    private static String nextEvent(BlockingQueue<String> lines) throws InterruptedException {
+        String name = null;
+        List<String> data = new ArrayList<>();
+        while (true) {
+            String line = lines.poll(10, TimeUnit.SECONDS);
+            assertThat(line).as("next SSE line").isNotNull();
+            if (line.equals(END)) {
+                return END;
+            }
+            if (line.startsWith("event:")) {
+                name = line.substring("event:".length());
+            } else if (line.startsWith("data:")) {
+                data.add(line.substring("data:".length()));
+            } else if (line.isEmpty() && name != null) {
+                return name + " " + String.join("\n", data);
+            }
+        }
+    }
+
+    private static CreateOrderRequest request() {
+        CreateOrderRequest req = new CreateOrderRequest();
+        req.setCustomerName("Tracking Customer");
+        req.setItems(List.of(new CreateOrderRequest.Item("SKU-1", "Item", 1, 1000L)));
+        return req;
+    }
+}
@@ -0,0 +1,151 @@
+package com.peerisland.orderManagement.service;
+
+import com.peerisland.orderManagement.config.OrderWriteProperties;
+import com.peerisland.orderManagement.model.OrderStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OrderWriteGateTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final OrderWriteProperties properties = new OrderWriteProperties();
+    private OrderWriteGate gate;
+    private ExecutorService pool;
+
+    @BeforeEach
+    void setup() {
+        properties.setRetryBackoff(Duration.ofMillis(1));
+        properties.setLockTimeout(Duration.ofMillis(200));
+        gate = new OrderWriteGate(properties, new OrderMetrics(meterRegistry));
+        pool = Executors.newFixedThreadPool(2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    void testDuplicateWriteWhileInFlight_IsCoalesced() throws Exception {
+        OrderWriteGate.OrderWrite cancel = new OrderWriteGate.OrderWrite(1L, "cancel", OrderStatus.CANCELLED, null);
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger runs = new AtomicInteger();
+
+        Future<String> first = pool.submit(() -> gate.execute(cancel, () -> {
+            runs.incrementAndGet();
+            running.countDown();
+            await(release);
+            return "cancelled";
+        }));
+        assertThat(running.await(5, TimeUnit.SECONDS)).isTrue();
+        Future<String> duplicate = pool.submit(() -> gate.execute(cancel, () -> {
+            runs.incrementAndGet();
+            return "again";
+        }));
+        waitForCoalesced();
+        release.countDown();
+
+        assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo("cancelled");
+        assertThat(duplicate.get(5, TimeUnit.SECONDS)).isEqualTo("cancelled");
+        assertThat(runs).hasValue(1);
+
+        // once finished, the same write runs again
+        assertThat(gate.execute(cancel, () -> "later")).isEqualTo("later");
+    }
+
+    @Test
+    void testDifferentWritesToSameOrder_RunOneAtATime() throws Exception {
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger active = new AtomicInteger();
+        AtomicInteger maxActive = new AtomicInteger();
+
+        Future<?> processing = pool.submit(() -> gate.execute(
+            new OrderWriteGate.OrderWrite(1L, "updateStatus", OrderStatus.PROCESSING, null), () -> {
+                maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+                running.countDown();
+                await(release);
+                return active.decrementAndGet();
+            }));
+        assertThat(running.await(5, TimeUnit.SECONDS)).isTrue();
+        Future<?> cancel = pool.submit(() -> gate.execute(
+            new OrderWriteGate.OrderWrite(1L, "cancel", OrderStatus.CANCELLED, null), () -> {
+                maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+                return active.decrementAndGet();
+            }));
+        Thread.sleep(50);
+        release.countDown();
+
+        processing.get(5, TimeUnit.SECONDS);
+        cancel.get(5, TimeUnit.SECONDS);
+        assertThat(maxActive).hasValue(1);
+    }
+
+    @Test
+    void testConflicts_RetriedUpToMaxAttempts_ThenThrown() {
+        OrderWriteGate.OrderWrite update = new OrderWriteGate.OrderWrite(1L, "updateStatus", OrderStatus.SHIPPED, null);
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThatThrownBy(() -> gate.execute(update, () -> {
+            attempts.incrementAndGet();
+            throw new ObjectOptimisticLockingFailureException("orders", 1L);
+        })).isInstanceOf(ObjectOptimisticLockingFailureException.class);
+
+        assertThat(attempts).hasValue(properties.getMaxAttempts());
+        assertThat(meterRegistry.get("orders.writes.conflicts").tags("outcome", "retried").counter().count())
+            .isEqualTo(properties.getMaxAttempts() - 1);
+        assertThat(meterRegistry.get("orders.writes.conflicts").tags("outcome", "exhausted").counter().count())
+            .isEqualTo(1);
+    }
+
+    @Test
+    void testStripeBusyPastLockTimeout_ThrowsCannotAcquireLock() throws Exception {
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<?> holder = pool.submit(() -> gate.execute(
+            new OrderWriteGate.OrderWrite(1L, "updateStatus", OrderStatus.PROCESSING, null), () -> {
+                running.countDown();
+                await(release);
+                return null;
+            }));
+        assertThat(running.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThatThrownBy(() -> gate.execute(new OrderWriteGate.OrderWrite(1L, "cancel", OrderStatus.CANCELLED, null),
+                                              () -> "never"))
+            .isInstanceOf(CannotAcquireLockException.class);
+
+        release.countDown();
+        holder.get(5, TimeUnit.SECONDS);
+    }
+
+    private void waitForCoalesced() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.find("orders.writes.coalesced").counter() == null && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.peerisland.orderManagement.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.peerisland.orderManagement.dto.CreateOrderRequest;
+import com.peerisland.orderManagement.model.OrderStatus;
+import com.peerisland.orderManagement.repository.OrderStatusHistoryRepository;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Not @Transactional: history is only queued after the status change commits.
+ */
+@SpringBootTest(properties = {
+    "orders.history.write-behind=true",
+    "orders.history.flush-interval=20ms",
+    "orders.history.spill-dir=target/history-spill-test"
+})
+class StatusHistoryPipelineIntegrationTest {
+
+    private static final Path SPILL_DIR = Path.of("target/history-spill-test");
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private StatusHistoryPipeline pipeline;
+
+    @Autowired
+    private OrderStatusHistoryRepository oshRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // segments an aborted earlier run left behind point at orders of another in-memory database
+    @BeforeAll
+    static void clearSpillDir() throws IOException {
+        if (Files.isDirectory(SPILL_DIR)) {
+            try (Stream<Path> segments = Files.list(SPILL_DIR)) {
+                for (Path segment : segments.toList()) {
+                    Files.delete(segment);
+                }
+            }
+        }
+    }
+
+    @Test
+    void testStatusChange_HistoryIsWrittenBehind() throws Exception {
+        Long id = orderService.createOrder(request()).getId();
+
+        orderService.updateStatus(id, OrderStatus.PROCESSING);
+        orderService.updateStatus(id, OrderStatus.SHIPPED);
+
+        awaitHistory(id, 2);
+        var history = oshRepository.findByOrderIdOrderByChangedAtAsc(id);
+        assertThat(history).extracting(h -> h.getNewStatus()).containsExactly("PROCESSING", "SHIPPED");
+        assertThat(jdbcTemplate.queryForObject(
+            "select count(*) from order_status_history where order_id = ? and record_id is not null", Long.class, id))
+            .isEqualTo(2L);
+    }
+
+    @Test
+    void testReplay_WritesLeftoverSegmentsOnceAndDeletesThem() throws Exception {
+        Long id = orderService.createOrder(request()).getId();
+        var stored = new StatusHistoryPipeline.HistoryRecord(UUID.randomUUID().toString(), id, "PENDING",
+                                                             "PROCESSING", "SYSTEM", LocalDateTime.now());
+        var missing = new StatusHistoryPipeline.HistoryRecord(UUID.randomUUID().toString(), id, "PROCESSING",
+                                                              "SHIPPED", "SYSTEM", LocalDateTime.now());
+        pipeline.submit(stored);
+        awaitHistory(id, 1);
+
+        // a crash left both records in a segment, only the first had reached the table
+        Files.createDirectories(SPILL_DIR);
+        Path segment = SPILL_DIR.resolve("history-0000000000000000001.log");
+        Files.write(segment, List.of(objectMapper.writeValueAsString(stored),
+                                     objectMapper.writeValueAsString(missing),
+                                     "{\"recordId\":\"torn"));
+
+        assertThat(pipeline.replaySpill()).isEqualTo(2);
+
+        assertThat(oshRepository.findByOrderIdOrderByChangedAtAsc(id))
+            .extracting(h -> h.getNewStatus()).containsExactly("PROCESSING", "SHIPPED");
+        assertThat(segment).doesNotExist();
+    }
+
+    @Test
+    void testFailedFlush_IsRetriedWithoutARestart() throws Exception {
+        Long id = orderService.createOrder(request()).getId();
+        var record = new StatusHistoryPipeline.HistoryRecord(UUID.randomUUID().toString(), id, "PENDING",
+                                                             "PROCESSING", "SYSTEM", LocalDateTime.now());
+
+        // the table is unavailable for a few flushes
+        jdbcTemplate.execute("alter table order_status_history rename to order_status_history_down");
+        try {
+            pipeline.submit(record);
+            Thread.sleep(200);
+        } finally {
+            jdbcTemplate.execute("alter table order_status_history_down rename to order_status_history");
+        }
+
+        awaitHistory(id, 1);
+        assertThat(oshRepository.findByOrderIdOrderByChangedAtAsc(id))
+            .extracting(h -> h.getNewStatus()).containsExactly("PROCESSING");
+    }
+
+    private void awaitHistory(Long orderId, int expected) throws InterruptedException {
+        for (int i = 0; i < 250 && oshRepository.findByOrderIdOrderByChangedAtAsc(orderId).size() < expected; i++) {
+            Thread.sleep(20);
+        }
+    }
+
+    private static CreateOrderRequest request() {
+        CreateOrderRequest req = new CreateOrderRequest();
+        req.setCustomerName("Write-behind");
+        req.setItems(List.of(new CreateOrderRequest.Item("SKU-H", "Item", 1, 500L)));
+        return req;
+    }
+}